@@ -1,18 +1,22 @@
 package com.ktb.chatapp.config;
 
 import com.ktb.chatapp.util.BannedWordChecker;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Set;
 import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.Resource;
 
+@Slf4j
 @Configuration
 public class BannedWordConfig {
 
@@ -29,12 +33,37 @@ public class BannedWordConfig {
 
     @Bean
     public BannedWordChecker bannedWordChecker() {
+        Set<String> words = loadWords(bannedWordResource(), bannedWordLocation);
+
+        BannedWordChecker checker = new BannedWordChecker(words);
+        log.info("Banned word matcher compiled - words: {}, location: {}",
+                checker.size(), bannedWordLocation);
+        return checker;
+    }
+
+    /**
+     * 사전 파일 변경을 주기적으로 감지하여 요청 경로 밖에서 매처를 다시 컴파일한다.
+     * reload-interval이 0 이하이면 감시하지 않는다.
+     */
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public BannedWordReloader bannedWordReloader(
+            BannedWordChecker bannedWordChecker,
+            MeterRegistry meterRegistry,
+            @Value("${chatapp.banned-word.reload-interval:30s}") Duration reloadInterval) {
+        return new BannedWordReloader(
+                bannedWordChecker, bannedWordResource(), reloadInterval, meterRegistry);
+    }
+
+    private Resource bannedWordResource() {
         Resource resource = applicationContext.getResource(bannedWordLocation);
         if (!resource.exists()) {
             throw new IllegalStateException(
                     "Banned word resource not found at " + bannedWordLocation);
         }
+        return resource;
+    }
 
+    static Set<String> loadWords(Resource resource, String location) {
         Set<String> words;
         try (BufferedReader reader =
                 new BufferedReader(
@@ -46,14 +75,13 @@ public class BannedWordConfig {
                             .collect(Collectors.toUnmodifiableSet());
         } catch (IOException e) {
             throw new IllegalStateException(
-                    "Failed to load banned words from " + bannedWordLocation, e);
+                    "Failed to load banned words from " + location, e);
         }
 
         if (words.isEmpty()) {
             throw new IllegalStateException(
-                    "Banned word dictionary at " + bannedWordLocation + " must not be empty.");
+                    "Banned word dictionary at " + location + " must not be empty.");
         }
-
-        return new BannedWordChecker(words);
+        return words;
     }
 }
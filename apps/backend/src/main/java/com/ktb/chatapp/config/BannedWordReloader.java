@@ -0,0 +1,108 @@
+package com.ktb.chatapp.config;
+
+import com.ktb.chatapp.util.BannedWordChecker;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+
+/**
+ * 금칙어 사전 리로더.
+ * 전용 스레드에서 사전 리소스의 수정 시각을 폴링하고, 변경되면 새 매처를 컴파일해
+ * BannedWordChecker에 원자적으로 교체한다. 메시지 처리 스레드는 이 과정에서 대기하지 않는다.
+ */
+@Slf4j
+public class BannedWordReloader {
+
+    private final BannedWordChecker checker;
+    private final Resource resource;
+    private final Duration interval;
+    private ScheduledExecutorService scheduler;
+    private long lastModified;
+
+    public BannedWordReloader(
+            BannedWordChecker checker,
+            Resource resource,
+            Duration interval,
+            MeterRegistry meterRegistry) {
+        this.checker = checker;
+        this.resource = resource;
+        this.interval = interval;
+        this.lastModified = readLastModified();
+
+        Gauge.builder("banned_word.dictionary.version", checker, BannedWordChecker::version)
+                .description("Version of the currently active banned word dictionary")
+                .register(meterRegistry);
+        Gauge.builder("banned_word.dictionary.words", checker, BannedWordChecker::size)
+                .description("Number of words in the active banned word dictionary")
+                .register(meterRegistry);
+        Gauge.builder("banned_word.dictionary.last_build", checker,
+                        c -> c.builtAt().toEpochMilli() / 1000.0)
+                .description("Epoch seconds when the active banned word dictionary was compiled")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    public void start() {
+        if (interval == null || interval.isZero() || interval.isNegative()) {
+            log.info("Banned word dictionary reload disabled");
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "banned-word-reloader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(
+                this::reloadIfModified, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+        log.info("Banned word dictionary reload enabled - interval: {}", interval);
+    }
+
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * 리소스가 변경되었으면 사전을 다시 로드한다.
+     *
+     * @return 사전을 교체했으면 true
+     */
+    boolean reloadIfModified() {
+        try {
+            long current = readLastModified();
+            if (current <= 0 || current == lastModified) {
+                return false;
+            }
+
+            // 실패해도 같은 파일을 매 주기 다시 시도하며 오류를 반복 기록하지 않도록 먼저 기록한다
+            lastModified = current;
+            Set<String> words = BannedWordConfig.loadWords(resource, resource.getDescription());
+            long version = checker.reload(words);
+            log.info("Banned word dictionary reloaded - version: {}, words: {}",
+                    version, checker.size());
+            return true;
+        } catch (Exception e) {
+            // 잘못된 사전이 올라와도 기존 사전으로 계속 검사한다
+            log.error("Banned word dictionary reload failed - keeping version {}",
+                    checker.version(), e);
+            return false;
+        }
+    }
+
+    private long readLastModified() {
+        try {
+            return resource.lastModified();
+        } catch (IOException e) {
+            log.debug("Cannot read lastModified of {}", resource.getDescription(), e);
+            return -1L;
+        }
+    }
+}
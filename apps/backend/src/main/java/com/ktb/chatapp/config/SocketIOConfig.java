@@ -5,12 +5,19 @@ import com.corundumstudio.socketio.SocketConfig;
 import com.corundumstudio.socketio.SocketIOServer;
 import com.corundumstudio.socketio.annotation.SpringAnnotationScanner;
 import com.corundumstudio.socketio.namespace.Namespace;
-import com.corundumstudio.socketio.protocol.JacksonJsonSupport;
 import com.corundumstudio.socketio.store.MemoryStoreFactory;
+import com.corundumstudio.socketio.store.StoreFactory;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.ktb.chatapp.websocket.socketio.ChatDataStore;
 import com.ktb.chatapp.websocket.socketio.LocalChatDataStore;
+import com.ktb.chatapp.websocket.socketio.NodeLocalRedissonStoreFactory;
+import com.ktb.chatapp.websocket.socketio.RedissonChatDataStore;
+import com.ktb.chatapp.websocket.socketio.broadcast.PreEncodedJsonSupport;
+import java.time.Duration;
 import lombok.extern.slf4j.Slf4j;
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.config.Config;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -33,7 +40,8 @@ public class SocketIOConfig {
     private Integer port;
 
     @Bean(initMethod = "start", destroyMethod = "stop")
-    public SocketIOServer socketIOServer(AuthTokenListener authTokenListener) {
+    public SocketIOServer socketIOServer(AuthTokenListener authTokenListener, StoreFactory storeFactory,
+                                         PreEncodedJsonSupport jsonSupport) {
         com.corundumstudio.socketio.Configuration config = new com.corundumstudio.socketio.Configuration();
         config.setHostname(host);
         config.setPort(port);
@@ -53,8 +61,8 @@ public class SocketIOConfig {
         config.setPingInterval(25000);
         config.setUpgradeTimeout(10000);
 
-        config.setJsonSupport(new JacksonJsonSupport(new JavaTimeModule()));
-        config.setStoreFactory(new MemoryStoreFactory()); // 단일노드 전용
+        config.setJsonSupport(jsonSupport);
+        config.setStoreFactory(storeFactory);
 
         log.info("Socket.IO server configured on {}:{} with {} boss threads and {} worker threads",
                  host, port, config.getBossThreads(), config.getWorkerThreads());
@@ -64,6 +72,15 @@ public class SocketIOConfig {
         return socketIOServer;
     }
     
+    /**
+     * 패킷 JSON 인코딩. 방 브로드캐스트는 페이로드를 한 번 인코딩한 EncodedPayload로 보내고,
+     * 수신자 채널마다 바이트 복사만 한다.
+     */
+    @Bean
+    public PreEncodedJsonSupport socketIOJsonSupport() {
+        return new PreEncodedJsonSupport(new JavaTimeModule());
+    }
+
     /**
      * SpringAnnotationScanner는 BeanPostProcessor로서
      * ApplicationContext 초기화 초기에 등록되고,
@@ -78,8 +95,48 @@ public class SocketIOConfig {
     
     // 인메모리 저장소, 단일 노드 환경에서만 사용
     @Bean
-    @ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
+    @ConditionalOnProperty(name = "socketio.store.type", havingValue = "memory", matchIfMissing = true)
     public ChatDataStore chatDataStore() {
         return new LocalChatDataStore();
     }
+
+    @Bean
+    @ConditionalOnProperty(name = "socketio.store.type", havingValue = "memory", matchIfMissing = true)
+    public StoreFactory memoryStoreFactory() {
+        return new MemoryStoreFactory(); // 단일노드 전용
+    }
+
+    /**
+     * 다중 노드용 Redis 클라이언트.
+     * 접속 사용자/참여 방 저장소와 Socket.IO 방 브로드캐스트 중계에 함께 사용한다.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "socketio.store.type", havingValue = "redis")
+    public RedissonClient redissonClient(
+            @Value("${spring.data.redis.host:localhost}") String redisHost,
+            @Value("${spring.data.redis.port:6379}") int redisPort,
+            @Value("${spring.data.redis.password:}") String redisPassword) {
+        Config redissonConfig = new Config();
+        redissonConfig.useSingleServer()
+                .setAddress("redis://" + redisHost + ":" + redisPort)
+                .setPassword(redisPassword.isBlank() ? null : redisPassword);
+        log.info("Socket.IO shared store configured on Redis {}:{}", redisHost, redisPort);
+        return Redisson.create(redissonConfig);
+    }
+
+    // Redis 저장소, 모든 노드가 접속 사용자와 참여 방 정보를 공유
+    @Bean
+    @ConditionalOnProperty(name = "socketio.store.type", havingValue = "redis")
+    public ChatDataStore redissonChatDataStore(
+            RedissonClient redissonClient,
+            @Value("${socketio.store.redis.key-ttl:10m}") Duration keyTtl,
+            @Value("${socketio.store.redis.size-reconcile-interval:5m}") Duration reconcileInterval) {
+        return new RedissonChatDataStore(redissonClient, keyTtl, reconcileInterval);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "socketio.store.type", havingValue = "redis")
+    public StoreFactory redissonStoreFactory(RedissonClient redissonClient) {
+        return new NodeLocalRedissonStoreFactory(redissonClient);
+    }
 }
@@ -3,8 +3,13 @@ package com.ktb.chatapp.dto;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 
-// 최초는 limit 개수만 조회, 이후에는 before 메시지 ID 기준으로 이전 메시지 조회
-public record FetchMessagesRequest(String roomId, Integer limit, Long before) {
+// 최초는 limit 개수만 조회, 이후에는 이전 응답의 nextCursor(또는 before 타임스탬프) 기준으로 이전 메시지 조회
+public record FetchMessagesRequest(String roomId, Integer limit, Long before, String cursor) {
+
+    public FetchMessagesRequest(String roomId, Integer limit, Long before) {
+        this(roomId, limit, before, null);
+    }
+
     public int limit(int defaultLimit) {
         return limit != null && limit > 0 ? limit : defaultLimit;
     }
@@ -18,4 +23,13 @@ public record FetchMessagesRequest(String roomId, Integer limit, Long before) {
         }
         return defaultBeforeTime;
     }
+
+    public boolean hasCursor() {
+        return cursor != null && !cursor.isBlank();
+    }
+
+    // 커서와 기준 시각이 모두 없으면 가장 최근 페이지 조회다
+    public boolean isFirstPage() {
+        return !hasCursor() && (before == null || before <= 0);
+    }
 }
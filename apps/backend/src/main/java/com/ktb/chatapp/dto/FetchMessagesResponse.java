@@ -14,6 +14,8 @@ import java.util.List;
 public class FetchMessagesResponse {
     private List<MessageResponse> messages;
     private boolean hasMore;
+    // 다음(더 오래된) 페이지 요청에 그대로 전달하는 커서, 더 없으면 null
+    private String nextCursor;
     
     public long firstMessageTimestamp() {
         return messages.getFirst().getTimestamp();
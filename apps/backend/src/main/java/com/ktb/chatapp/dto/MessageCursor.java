@@ -0,0 +1,49 @@
+package com.ktb.chatapp.dto;
+
+import com.ktb.chatapp.model.Message;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+
+/**
+ * 메시지 기록 seek 커서.
+ * (timestamp, _id) 쌍으로 마지막으로 받은 메시지 위치를 가리키며,
+ * 클라이언트에는 내용을 해석할 필요 없는 불투명 문자열로 전달한다.
+ */
+public record MessageCursor(long timestamp, String messageId) {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    public static MessageCursor from(Message message) {
+        return new MessageCursor(message.toTimestampMillis(), message.getId());
+    }
+
+    /**
+     * @throws IllegalArgumentException 커서 형식이 올바르지 않은 경우
+     */
+    public static MessageCursor decode(String cursor) {
+        try {
+            String decoded = new String(DECODER.decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(':');
+            if (separator <= 0 || separator == decoded.length() - 1) {
+                throw new IllegalArgumentException("Invalid message cursor");
+            }
+            return new MessageCursor(
+                    Long.parseLong(decoded.substring(0, separator)),
+                    decoded.substring(separator + 1));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("유효하지 않은 커서입니다.", e);
+        }
+    }
+
+    public String encode() {
+        return ENCODER.encodeToString((timestamp + ":" + messageId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDateTime timestampAsLocalDateTime() {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneId.systemDefault());
+    }
+}
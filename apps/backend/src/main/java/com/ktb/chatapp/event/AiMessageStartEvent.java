@@ -5,6 +5,7 @@ import org.springframework.context.ApplicationEvent;
 
 /**
  * AI 메시지 스트리밍 시작 이벤트
+ * queuePosition은 0이면 바로 시작, 1 이상이면 방 대기열에서의 순번이다.
  */
 @Getter
 public class AiMessageStartEvent extends ApplicationEvent {
@@ -13,12 +14,15 @@ public class AiMessageStartEvent extends ApplicationEvent {
     private final String messageId;
     private final String aiType;
     private final long startTime;
+    private final int queuePosition;
     
-    public AiMessageStartEvent(Object source, String roomId, String messageId, String aiType, long timestamp) {
+    public AiMessageStartEvent(Object source, String roomId, String messageId, String aiType, long timestamp,
+                               int queuePosition) {
         super(source);
         this.roomId = roomId;
         this.messageId = messageId;
         this.aiType = aiType;
         this.startTime = timestamp;
+        this.queuePosition = queuePosition;
     }
 }
@@ -31,7 +31,7 @@ import java.util.Set;
 @Document(collection = "messages")
 @CompoundIndexes({
     @CompoundIndex(name = "readers_userId_idx", def = "{'readers.userId': 1}"),
-    @CompoundIndex(name = "room_isDeleted_timestamp_idx", def = "{'room': 1, 'isDeleted': 1, 'timestamp': -1}")
+    @CompoundIndex(name = "room_isDeleted_timestamp_id_idx", def = "{'room': 1, 'isDeleted': 1, 'timestamp': -1, '_id': -1}")
 })
 public class Message {
 
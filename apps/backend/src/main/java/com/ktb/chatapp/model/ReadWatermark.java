@@ -0,0 +1,44 @@
+package com.ktb.chatapp.model;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+/**
+ * 방/사용자별 읽음 위치(워터마크).
+ * lastReadAt 이하의 timestamp를 가진 메시지는 해당 사용자가 읽은 것으로 본다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "read_watermarks")
+@CompoundIndexes({
+    @CompoundIndex(name = "room_userId_idx", def = "{'room': 1, 'userId': 1}", unique = true)
+})
+public class ReadWatermark {
+
+    @Id
+    private String id;
+
+    // Mongo 문서 필드명 "room" 사용
+    @Field("room")
+    private String roomId;
+
+    private String userId;
+
+    // 마지막으로 읽은 메시지 ID와 그 메시지의 timestamp
+    private String lastReadMessageId;
+
+    private LocalDateTime lastReadAt;
+
+    // 워터마크가 마지막으로 전진한 시각 (readers 응답의 readAt으로 사용)
+    private LocalDateTime updatedAt;
+}
@@ -2,16 +2,33 @@ package com.ktb.chatapp.repository;
 
 import com.ktb.chatapp.model.Message;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.Update;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface MessageRepository extends MongoRepository<Message, String> {
-    Page<Message> findByRoomIdAndIsDeletedAndTimestampBefore(String roomId, Boolean isDeleted, LocalDateTime timestamp, Pageable pageable);
+public interface MessageRepository extends MongoRepository<Message, String>, MessageRepositoryCustom {
+    /**
+     * before 시각 이전 메시지를 최신순으로 조회 (count 쿼리 없음)
+     */
+    @Query(value = "{ 'room': ?0, 'isDeleted': false, 'timestamp': { $lt: ?1 } }",
+            sort = "{ 'timestamp': -1, '_id': -1 }")
+    List<Message> findRecentBefore(String roomId, LocalDateTime before, Limit limit);
+
+    /**
+     * (timestamp, _id) 커서보다 앞선 메시지를 최신순으로 조회 (count 쿼리 없음)
+     * timestamp가 같은 메시지는 _id로 순서를 정해 누락/중복이 없다.
+     */
+    @Query(value = "{ 'room': ?0, 'isDeleted': false, $or: [ "
+            + "{ 'timestamp': { $lt: ?1 } }, "
+            + "{ 'timestamp': ?1, '_id': { $lt: ?2 } } ] }",
+            sort = "{ 'timestamp': -1, '_id': -1 }")
+    List<Message> findPageBeforeCursor(String roomId, LocalDateTime timestamp, Object messageId, Limit limit);
     /**
      * 특정 시간 이후의 메시지 수 카운트 (삭제되지 않은 메시지만)
      * 최근 N분간 메시지 수를 조회할 때 사용
@@ -23,4 +40,26 @@ public interface MessageRepository extends MongoRepository<Message, String> {
      * fileId로 메시지 조회 (파일 권한 검증용)
      */
     Optional<Message> findByFileId(String fileId);
+
+    /**
+     * 메시지가 속한 방 조회 (방 레인 선택용, room만 읽는다)
+     */
+    @Query(value = "{'_id': ?0}", fields = "{'room': 1}")
+    Optional<Message> findRoomById(String messageId);
+
+    /**
+     * 읽음 위치 계산용 조회 (방과 timestamp만 읽는다)
+     */
+    @Query(value = "{'_id': {'$in': ?0}}", fields = "{'room': 1, 'timestamp': 1}")
+    List<Message> findReadPositionsByIdIn(Collection<String> messageIds);
+
+    /**
+     * 아직 읽지 않은 메시지에만 읽음 정보를 추가 (서버 측 updateMulti 1회)
+     * 이미 읽은 메시지는 필터에서 제외되어 문서가 변경되지 않는다.
+     *
+     * @return 실제로 변경된 메시지 수
+     */
+    @Query("{'_id': {'$in': ?0}, 'readers.userId': {'$ne': ?1}}")
+    @Update("{'$push': {'readers': {'userId': ?1, 'readAt': ?2}}}")
+    long addReaderToUnreadMessages(Collection<String> messageIds, String userId, LocalDateTime readAt);
 }
@@ -0,0 +1,21 @@
+package com.ktb.chatapp.repository;
+
+import com.ktb.chatapp.model.Message;
+import java.util.Optional;
+
+public interface MessageRepositoryCustom {
+
+    /**
+     * 리액션에 사용자를 원자적으로 추가한다 ($addToSet). 문서 전체를 다시 쓰지 않으므로 동시 리액션이 유실되지 않는다.
+     *
+     * @return 변경 후 메시지 (없으면 empty)
+     */
+    Optional<Message> addReaction(String messageId, String reaction, String userId);
+
+    /**
+     * 리액션에서 사용자를 원자적으로 제거한다 ($pull). 비게 된 리액션 키는 지운다.
+     *
+     * @return 변경 후 메시지 (없으면 empty)
+     */
+    Optional<Message> removeReaction(String messageId, String reaction, String userId);
+}
@@ -0,0 +1,60 @@
+package com.ktb.chatapp.repository;
+
+import com.ktb.chatapp.model.Message;
+import java.util.Optional;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+@RequiredArgsConstructor
+public class MessageRepositoryImpl implements MessageRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Optional<Message> addReaction(String messageId, String reaction, String userId) {
+        return Optional.ofNullable(mongoTemplate.findAndModify(
+                byId(messageId),
+                new Update().addToSet(reactionPath(reaction), userId),
+                FindAndModifyOptions.options().returnNew(true),
+                Message.class));
+    }
+
+    @Override
+    public Optional<Message> removeReaction(String messageId, String reaction, String userId) {
+        String path = reactionPath(reaction);
+        Message message = mongoTemplate.findAndModify(
+                byId(messageId),
+                new Update().pull(path, userId),
+                FindAndModifyOptions.options().returnNew(true),
+                Message.class);
+        if (message == null) {
+            return Optional.empty();
+        }
+        // Message.removeReaction과 같이 빈 키를 남기지 않는다 (그 사이 추가됐으면 조건에 걸리지 않는다)
+        mongoTemplate.updateFirst(
+                byId(messageId).addCriteria(Criteria.where(path).size(0)),
+                new Update().unset(path),
+                Message.class);
+        if (message.getReactions() != null) {
+            message.getReactions().values().removeIf(Set::isEmpty);
+        }
+        return Optional.of(message);
+    }
+
+    private static Query byId(String messageId) {
+        return Query.query(Criteria.where("_id").is(messageId));
+    }
+
+    // 리액션은 필드 경로의 일부가 되므로 경로 구분자와 연산자 접두어를 허용하지 않는다
+    private static String reactionPath(String reaction) {
+        if (reaction == null || reaction.isBlank() || reaction.contains(".") || reaction.startsWith("$")) {
+            throw new IllegalArgumentException("Invalid reaction: " + reaction);
+        }
+        return "reactions." + reaction;
+    }
+}
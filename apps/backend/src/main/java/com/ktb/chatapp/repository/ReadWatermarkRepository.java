@@ -0,0 +1,13 @@
+package com.ktb.chatapp.repository;
+
+import com.ktb.chatapp.model.ReadWatermark;
+import java.util.List;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ReadWatermarkRepository
+        extends MongoRepository<ReadWatermark, String>, ReadWatermarkRepositoryCustom {
+
+    List<ReadWatermark> findByRoomId(String roomId);
+}
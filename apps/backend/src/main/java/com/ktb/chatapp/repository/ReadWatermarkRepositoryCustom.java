@@ -0,0 +1,16 @@
+package com.ktb.chatapp.repository;
+
+import com.ktb.chatapp.model.ReadWatermark;
+import java.time.LocalDateTime;
+
+public interface ReadWatermarkRepositoryCustom {
+
+    /**
+     * 워터마크를 앞으로만 이동한다 (없으면 생성).
+     * 저장된 lastReadAt이 이미 같거나 앞서 있으면 변경하지 않는다.
+     *
+     * @return 변경 전 워터마크 (새로 생성했으면 null)
+     */
+    ReadWatermark advance(
+            String roomId, String userId, String messageId, LocalDateTime lastReadAt, LocalDateTime readAt);
+}
@@ -0,0 +1,41 @@
+package com.ktb.chatapp.repository;
+
+import com.ktb.chatapp.model.ReadWatermark;
+import java.time.LocalDateTime;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+@RequiredArgsConstructor
+class ReadWatermarkRepositoryImpl implements ReadWatermarkRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public ReadWatermark advance(
+            String roomId, String userId, String messageId, LocalDateTime lastReadAt, LocalDateTime readAt) {
+        Query behind = Query.query(Criteria.where("roomId").is(roomId)
+                .and("userId").is(userId)
+                .orOperator(
+                        Criteria.where("lastReadAt").lt(lastReadAt),
+                        Criteria.where("lastReadAt").exists(false)));
+        Update update = new Update()
+                .set("lastReadMessageId", messageId)
+                .set("lastReadAt", lastReadAt)
+                .set("updatedAt", readAt);
+
+        try {
+            return mongoTemplate.findAndModify(
+                    behind, update, FindAndModifyOptions.options().upsert(true).returnNew(false), ReadWatermark.class);
+        } catch (DuplicateKeyException e) {
+            // 이미 같거나 앞선 워터마크가 있어 필터에 걸리지 않고 upsert가 충돌한 경우
+            return mongoTemplate.findOne(
+                    Query.query(Criteria.where("roomId").is(roomId).and("userId").is(userId)),
+                    ReadWatermark.class);
+        }
+    }
+}
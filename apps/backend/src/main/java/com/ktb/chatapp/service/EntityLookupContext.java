@@ -0,0 +1,59 @@
+package com.ktb.chatapp.service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * 소켓 이벤트 1건을 처리하는 동안 조회한 엔티티를 보관하는 컨텍스트.
+ * 같은 이벤트 안에서 핸들러와 서비스가 동일한 문서를 반복 조회하지 않도록 공유한다.
+ * 이벤트 단위로 생성하고 버리며, 한 스레드에서만 사용한다.
+ */
+public final class EntityLookupContext {
+
+    private final Map<Key, Optional<?>> entries = new HashMap<>();
+    private int loadCount;
+
+    /**
+     * 캐시된 결과가 있으면 반환하고, 없으면 loader로 한 번 조회한 뒤 보관한다.
+     * 조회 결과가 비어 있는 경우도 보관하여 재조회하지 않는다.
+     *
+     * @param type 엔티티 타입
+     * @param key 조회 키 (ID 또는 userId 등 loader가 받는 값)
+     * @param loader 저장소 조회 함수
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Optional<T> find(Class<T> type, String key, Function<String, Optional<T>> loader) {
+        Key cacheKey = new Key(type, key);
+        Optional<?> cached = entries.get(cacheKey);
+        if (cached != null) {
+            return (Optional<T>) cached;
+        }
+        Optional<T> loaded = loader.apply(key);
+        loadCount++;
+        entries.put(cacheKey, loaded);
+        return loaded;
+    }
+
+    /**
+     * 저장 등으로 갱신된 엔티티를 컨텍스트에 반영한다.
+     */
+    public <T> void put(Class<T> type, String key, T entity) {
+        entries.put(new Key(type, key), Optional.ofNullable(entity));
+    }
+
+    public void evict(Class<?> type, String key) {
+        entries.remove(new Key(type, key));
+    }
+
+    /**
+     * 이 컨텍스트를 통해 실제 저장소까지 간 조회 횟수
+     */
+    public int loadCount() {
+        return loadCount;
+    }
+
+    private record Key(Class<?> type, String key) {
+    }
+}
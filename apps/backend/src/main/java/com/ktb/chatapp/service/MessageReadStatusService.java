@@ -1,8 +1,7 @@
 package com.ktb.chatapp.service;
 
 import com.ktb.chatapp.model.Message;
-import com.ktb.chatapp.repository.MessageRepository;
-import java.time.LocalDateTime;
+import com.ktb.chatapp.service.readstatus.ReadStatusStore;
 import java.util.ArrayList;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
@@ -17,43 +16,61 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class MessageReadStatusService {
 
-    private final MessageRepository messageRepository;
+    private final ReadStatusStore readStatusStore;
+    private final MessageWriteBehindQueue messageWriteBehindQueue;
 
     /**
      * 메시지 읽음 상태 업데이트
+     * 아직 저장되지 않은 메시지(write-behind)는 저장이 끝난 뒤 반영한다.
      *
      * @param messageIds 읽음 상태를 업데이트할 메시지 리스트
      * @param userId 읽은 사용자 ID
+     * @return 새로 읽음 처리된 메시지 수 (이미 읽은 메시지는 제외)
      */
-    public void updateReadStatus(List<String> messageIds, String userId) {
+    public long updateReadStatus(List<String> messageIds, String userId) {
         if (messageIds.isEmpty()) {
-            return;
+            return 0;
         }
-        
-        Message.MessageReader readerInfo = Message.MessageReader.builder()
-                .userId(userId)
-                .readAt(LocalDateTime.now())
-                .build();
-        
-        try {
-            List<Message> messagesToUpdate = messageRepository.findAllById(messageIds);
-            for (Message message : messagesToUpdate) {
-                if (message.getReaders() == null) {
-                    message.setReaders(new ArrayList<>());
-                }
-                boolean alreadyRead = message.getReaders().stream()
-                        .anyMatch(r -> r.getUserId().equals(userId));
-                if (!alreadyRead) {
-                    message.getReaders().add(readerInfo);
-                }
-                messageRepository.save(message);
+
+        List<String> persisted = new ArrayList<>(messageIds.size());
+        for (String messageId : messageIds) {
+            if (!messageWriteBehindQueue.runAfterPersist(messageId,
+                    () -> markAsRead(List.of(messageId), userId))) {
+                persisted.add(messageId);
             }
+        }
+        if (persisted.size() < messageIds.size()) {
+            log.debug("Read status deferred for {} unsaved messages by user {}",
+                    messageIds.size() - persisted.size(), userId);
+        }
+        return persisted.isEmpty() ? 0 : markAsRead(persisted, userId);
+    }
+
+    private long markAsRead(List<String> messageIds, String userId) {
+        try {
+            long modified = readStatusStore.markAsRead(messageIds, userId);
             
-            log.debug("Read status updated for {} messages by user {}",
-                    messagesToUpdate.size(), userId);
+            log.debug("Read status updated for {}/{} messages by user {}",
+                    modified, messageIds.size(), userId);
+            return modified;
 
         } catch (Exception e) {
             log.error("Read status update error for user {}", userId, e);
+            return 0;
+        }
+    }
+
+    /**
+     * 조회한 메시지의 readers를 읽음 상태 저장 방식에 맞게 채운다
+     *
+     * @param roomId 메시지가 속한 방 ID
+     * @param messages 응답으로 변환할 메시지 목록
+     */
+    public void populateReaders(String roomId, List<Message> messages) {
+        try {
+            readStatusStore.populateReaders(roomId, messages);
+        } catch (Exception e) {
+            log.error("Read status lookup error for room {}", roomId, e);
         }
     }
 }
@@ -0,0 +1,447 @@
+package com.ktb.chatapp.service;
+
+import com.ktb.chatapp.model.Message;
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.model.InsertManyOptions;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 채팅 메시지 write-behind 큐 (broadcast-before-ack 모드).
+ * 활성화하면 ChatMessageHandler가 ObjectId를 직접 부여하고 브로드캐스트한 뒤 이 큐에 넘긴다.
+ * 전용 스레드가 큐를 micro-batch로 비우며 insertMany(unordered)로 저장한다.
+ *
+ * 큐가 가득 차면 기다리지 않고 거절하여(RejectedExecutionException) 호출자가 부하를 덜어내게 한다.
+ * 저장 실패는 지수 백오프로 재시도하고, 끝내 실패한 문서는 dead-letter 파일에 한 줄씩 JSON으로 남긴다.
+ * ID를 미리 부여하므로 재시도 중 발생한 중복 키 오류는 이미 저장된 것으로 본다.
+ *
+ * 저장 전 메시지의 변경(리액션)은 아직 쓰지 않은 문서에 바로 반영하고,
+ * 쓰는 중이면 저장이 끝난 뒤 DB 작업으로 다시 적용한다 (읽음 처리도 같은 방식으로 미룬다).
+ */
+@Slf4j
+@Component
+public class MessageWriteBehindQueue {
+
+    private static final long RETRY_BACKOFF_MILLIS = 100;
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration linger;
+    private final int maxRetries;
+    private final Path deadLetterFile;
+
+    private final BlockingQueue<Pending> queue;
+    // 저장 전 메시지 조회(읽음/리액션)와 방별 미저장 여부 확인용
+    private final Map<String, Pending> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Integer> inFlightByRoom = new ConcurrentHashMap<>();
+
+    private volatile boolean running;
+    private Thread writer;
+
+    private final DistributionSummary batchSizeSummary;
+    private final Timer persistLagTimer;
+    private final Counter retryCounter;
+    private final Counter deadLetterCounter;
+    private final Counter rejectedCounter;
+    private final Counter deferredCounter;
+
+    public MessageWriteBehindQueue(
+            MongoTemplate mongoTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${chatapp.message.write-behind.enabled:false}") boolean enabled,
+            @Value("${chatapp.message.write-behind.capacity:10000}") int capacity,
+            @Value("${chatapp.message.write-behind.batch-size:200}") int batchSize,
+            @Value("${chatapp.message.write-behind.linger:20ms}") Duration linger,
+            @Value("${chatapp.message.write-behind.max-retries:3}") int maxRetries,
+            @Value("${chatapp.message.write-behind.dead-letter-file:logs/message-dead-letter.jsonl}") String deadLetterFile) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+        this.batchSize = Math.max(1, batchSize);
+        this.linger = linger;
+        this.maxRetries = Math.max(0, maxRetries);
+        this.deadLetterFile = Path.of(deadLetterFile);
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+
+        Gauge.builder("message.persist.queue.depth", queue, BlockingQueue::size)
+                .description("Chat messages waiting for write-behind persistence")
+                .register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("message.persist.batch.size")
+                .description("Chat messages per insertMany batch")
+                .register(meterRegistry);
+        this.persistLagTimer = Timer.builder("message.persist.lag")
+                .description("Time from broadcast to durable write")
+                .register(meterRegistry);
+        this.retryCounter = Counter.builder("message.persist.retries")
+                .description("Write-behind batch retries")
+                .register(meterRegistry);
+        this.deadLetterCounter = Counter.builder("message.persist.dead_lettered")
+                .description("Chat messages written to the dead-letter file")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("message.persist.rejected")
+                .description("Chat messages rejected because the write-behind queue was full")
+                .register(meterRegistry);
+        this.deferredCounter = Counter.builder("message.persist.deferred_updates")
+                .description("Updates to unsaved messages re-applied after their write")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::drainLoop, "message-write-behind");
+        writer.setDaemon(true);
+        writer.start();
+        log.info("Message write-behind queue started - capacity: {}, batchSize: {}, linger: {}",
+                queue.remainingCapacity(), batchSize, linger);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (writer != null) {
+            try {
+                writer.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // 시간 안에 비우지 못한 항목은 호출 스레드에서 마저 저장한다
+        List<Pending> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            persistBatch(remaining);
+        }
+        log.info("Message write-behind queue stopped");
+    }
+
+    /**
+     * 메시지에 ID를 부여하고 저장을 예약한다.
+     *
+     * @return ID가 부여된 메시지 (브로드캐스트에 그대로 사용)
+     * @throws RejectedExecutionException 큐가 가득 찬 경우 (메시지는 저장되지 않는다)
+     */
+    public Message enqueue(Message message) {
+        if (message.getId() == null) {
+            message.setId(new ObjectId().toHexString());
+        }
+        // 변환 없이 삽입하므로 auditing이 적용되지 않는다
+        if (message.getTimestamp() == null) {
+            message.setTimestamp(LocalDateTime.now());
+        }
+
+        // 호출 스레드에서 문서로 변환해 두어 이후 Message 변경이 저장 내용에 섞이지 않게 한다
+        Document document = new Document();
+        mongoTemplate.getConverter().write(message, document);
+        Pending pending = new Pending(message.getId(), message.getRoomId(), document, System.nanoTime());
+
+        track(pending);
+        // 이벤트 처리 스레드에서 기다리거나 동기 저장하지 않는다
+        if (!queue.offer(pending)) {
+            untrack(pending);
+            rejectedCounter.increment();
+            log.warn("Message write-behind queue full - rejecting message {}", message.getId());
+            throw new RejectedExecutionException("Message write-behind queue is full");
+        }
+        return message;
+    }
+
+    /**
+     * 아직 저장되지 않은 메시지를 조회한다. 호출마다 새 인스턴스를 반환한다.
+     */
+    public Optional<Message> findPending(String messageId) {
+        Pending pending = messageId != null ? inFlight.get(messageId) : null;
+        Document document = pending != null ? pending.currentDocument() : null;
+        return document != null
+                ? Optional.of(mongoTemplate.getConverter().read(Message.class, document))
+                : Optional.empty();
+    }
+
+    /**
+     * 저장 대기 중인 메시지를 변경한다.
+     * 아직 쓰기 전이면 저장할 문서를 바꾸고, 쓰는 중이면 메모리 사본만 바꾼 뒤
+     * 저장이 끝나면 afterPersist로 DB에 같은 변경을 적용한다.
+     *
+     * @return 변경된 메시지. 대기 중이 아니면 empty (호출자가 DB에 직접 반영한다)
+     */
+    public Optional<Message> updatePending(String messageId, Consumer<Message> update, Runnable afterPersist) {
+        Pending pending = messageId != null ? inFlight.get(messageId) : null;
+        if (pending == null) {
+            return Optional.empty();
+        }
+        synchronized (pending) {
+            if (pending.state == State.PERSISTED) {
+                return Optional.empty();
+            }
+            Message message = mongoTemplate.getConverter().read(Message.class, pending.document);
+            update.accept(message);
+            // 쓰기 중인 문서 인스턴스는 건드리지 않고 새 문서로 교체한다
+            Document document = new Document();
+            mongoTemplate.getConverter().write(message, document);
+            pending.document = document;
+            if (pending.state == State.WRITING) {
+                pending.afterPersist.add(afterPersist);
+                deferredCounter.increment();
+            }
+            return Optional.of(message);
+        }
+    }
+
+    /**
+     * 메시지가 아직 저장되지 않았으면 저장이 끝난 뒤 action을 실행하도록 미룬다.
+     * 저장에 끝내 실패한 메시지의 작업은 버린다.
+     *
+     * @return 미뤘으면 true, 이미 저장되었거나 대기 중이 아니면 false (호출자가 바로 실행한다)
+     */
+    public boolean runAfterPersist(String messageId, Runnable action) {
+        Pending pending = messageId != null ? inFlight.get(messageId) : null;
+        if (pending == null) {
+            return false;
+        }
+        synchronized (pending) {
+            if (pending.state == State.PERSISTED) {
+                return false;
+            }
+            pending.afterPersist.add(action);
+        }
+        deferredCounter.increment();
+        return true;
+    }
+
+    /**
+     * 방에 아직 저장되지 않은 메시지가 있는지 확인한다.
+     */
+    public boolean hasPending(String roomId) {
+        return roomId != null && inFlightByRoom.containsKey(roomId);
+    }
+
+    private void drainLoop() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(linger.toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                persistBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Message write-behind loop failed", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void persistBatch(List<Pending> batch) {
+        batchSizeSummary.record(batch.size());
+        batch.forEach(Pending::claim);
+        List<Pending> remaining = new ArrayList<>(batch);
+        for (int attempt = 0; ; attempt++) {
+            List<Pending> failed;
+            Exception failure = null;
+            try {
+                failed = insert(remaining);
+            } catch (Exception e) {
+                failed = remaining;
+                failure = e;
+            }
+            Set<Pending> failedSet = Collections.newSetFromMap(new IdentityHashMap<>());
+            failedSet.addAll(failed);
+            remaining.stream().filter(pending -> !failedSet.contains(pending)).forEach(this::complete);
+            remaining = failed;
+
+            if (remaining.isEmpty()) {
+                return;
+            }
+            if (attempt >= maxRetries) {
+                deadLetter(remaining, failure);
+                return;
+            }
+            retryCounter.increment();
+            log.warn("Message batch persist failed - retrying {} messages (attempt {}/{})",
+                    remaining.size(), attempt + 1, maxRetries, failure);
+            if (!sleep(RETRY_BACKOFF_MILLIS << attempt)) {
+                deadLetter(remaining, failure);
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return 재시도가 필요한 메시지 (중복 키는 이미 저장된 것으로 보고 제외한다)
+     */
+    private List<Pending> insert(List<Pending> batch) {
+        List<Document> documents = batch.stream().map(Pending::writing).toList();
+        try {
+            mongoTemplate.getCollection(mongoTemplate.getCollectionName(Message.class))
+                    .insertMany(documents, new InsertManyOptions().ordered(false));
+            return List.of();
+        } catch (MongoBulkWriteException e) {
+            Set<Integer> failedIndexes = e.getWriteErrors().stream()
+                    .filter(error -> ErrorCategory.fromErrorCode(error.getCode()) != ErrorCategory.DUPLICATE_KEY)
+                    .map(BulkWriteError::getIndex)
+                    .collect(Collectors.toSet());
+            List<Pending> failed = new ArrayList<>(failedIndexes.size());
+            for (int i = 0; i < batch.size(); i++) {
+                if (failedIndexes.contains(i)) {
+                    failed.add(batch.get(i));
+                }
+            }
+            return failed;
+        }
+    }
+
+    private void complete(Pending pending) {
+        persistLagTimer.record(System.nanoTime() - pending.enqueuedAtNanos, TimeUnit.NANOSECONDS);
+        List<Runnable> deferred = pending.finish();
+        untrack(pending);
+        for (Runnable action : deferred) {
+            try {
+                action.run();
+            } catch (Exception e) {
+                log.error("Deferred update failed for message {}", pending.messageId, e);
+            }
+        }
+    }
+
+    private void deadLetter(List<Pending> failed, Exception cause) {
+        log.error("Dead-lettering {} messages after {} retries - file: {}",
+                failed.size(), maxRetries, deadLetterFile, cause);
+        String lines = failed.stream()
+                .map(pending -> pending.writing().toJson())
+                .collect(Collectors.joining(System.lineSeparator(), "", System.lineSeparator()));
+        try {
+            if (deadLetterFile.getParent() != null) {
+                Files.createDirectories(deadLetterFile.getParent());
+            }
+            Files.writeString(deadLetterFile, lines, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            // 파일에도 남기지 못하면 로그가 마지막 기록이다
+            log.error("Failed to write dead-letter file {} - messages: {}", deadLetterFile, lines, e);
+        }
+        deadLetterCounter.increment(failed.size());
+        for (Pending pending : failed) {
+            int dropped = pending.finish().size();
+            if (dropped > 0) {
+                log.warn("Dropping {} deferred updates of dead-lettered message {}", dropped, pending.messageId);
+            }
+            untrack(pending);
+        }
+    }
+
+    private void track(Pending pending) {
+        inFlight.put(pending.messageId, pending);
+        if (pending.roomId != null) {
+            inFlightByRoom.merge(pending.roomId, 1, Integer::sum);
+        }
+    }
+
+    private void untrack(Pending pending) {
+        inFlight.remove(pending.messageId);
+        if (pending.roomId != null) {
+            inFlightByRoom.computeIfPresent(pending.roomId, (roomId, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private enum State { QUEUED, WRITING, PERSISTED }
+
+    /**
+     * 저장 대기 항목. document, state, afterPersist는 이 객체의 모니터로 보호한다.
+     */
+    private static final class Pending {
+        private final String messageId;
+        private final String roomId;
+        private final long enqueuedAtNanos;
+        private Document document;
+        private Document writing;
+        private State state = State.QUEUED;
+        private final List<Runnable> afterPersist = new ArrayList<>(0);
+
+        private Pending(String messageId, String roomId, Document document, long enqueuedAtNanos) {
+            this.messageId = messageId;
+            this.roomId = roomId;
+            this.document = document;
+            this.enqueuedAtNanos = enqueuedAtNanos;
+        }
+
+        // 처음 쓰기 시작할 때의 문서를 고정한다. 재시도도 같은 문서를 쓴다
+        synchronized void claim() {
+            if (state == State.QUEUED) {
+                state = State.WRITING;
+                writing = document;
+            }
+        }
+
+        synchronized Document writing() {
+            return writing != null ? writing : document;
+        }
+
+        synchronized Document currentDocument() {
+            return state != State.PERSISTED ? document : null;
+        }
+
+        synchronized List<Runnable> finish() {
+            state = State.PERSISTED;
+            List<Runnable> deferred = List.copyOf(afterPersist);
+            afterPersist.clear();
+            return deferred;
+        }
+    }
+}
@@ -41,6 +41,15 @@ public class RateLimitService {
     
     @Transactional
     public RateLimitCheckResult checkRateLimit(String _clientId, int maxRequests, Duration window) {
+        return checkRateLimit(_clientId, maxRequests, window, new EntityLookupContext());
+    }
+
+    /**
+     * 이벤트 단위 조회 컨텍스트를 공유하는 요청 제한 검사
+     */
+    @Transactional
+    public RateLimitCheckResult checkRateLimit(
+            String _clientId, int maxRequests, Duration window, EntityLookupContext lookups) {
         String actualClientId = hostName + ":" + _clientId;
         long windowSeconds = Math.max(1L, window.getSeconds());
         Instant now = Instant.now();
@@ -48,7 +57,8 @@ public class RateLimitService {
         Instant expiresAt = now.plus(window);
 
         try {
-            RateLimit rateLimit = rateLimitStore.findByClientId(actualClientId).orElse(null);
+            RateLimit rateLimit = lookups.find(RateLimit.class, actualClientId, rateLimitStore::findByClientId)
+                    .orElse(null);
             int currentCount = rateLimit != null ? rateLimit.getCount() : 0;
 
             if (rateLimit != null && currentCount >= maxRequests) {
@@ -69,7 +79,7 @@ public class RateLimitService {
             } else {
                 rateLimit.setCount(currentCount + 1);
             }
-            rateLimitStore.save(rateLimit);
+            lookups.put(RateLimit.class, actualClientId, rateLimitStore.save(rateLimit));
 
             int newCount = currentCount + 1;
             int remaining = Math.max(0, maxRequests - newCount);
@@ -0,0 +1,207 @@
+package com.ktb.chatapp.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 읽음 처리 write-behind 버퍼.
+ * (방, 사용자)별로 메시지 ID를 모아 중복을 제거한 뒤 주기적으로 또는 임계치 도달 시
+ * MessageReadStatusService로 일괄 반영한다. Socket.IO 워커 스레드는 메모리에만 기록한다.
+ *
+ * 비활성화하면 enqueue가 즉시 동기 반영한다. 종료 시 남은 항목을 모두 반영하고,
+ * 종료 후에 들어온 항목은 호출 스레드에서 바로 반영한다.
+ */
+@Slf4j
+@Component
+public class ReadReceiptBuffer {
+
+    private final MessageReadStatusService messageReadStatusService;
+    private final boolean enabled;
+    private final Duration flushInterval;
+    private final int maxPending;
+
+    private Map<Key, Set<String>> pending = new HashMap<>();
+    private int pendingCount;
+
+    // 주기 flush, 임계치 flush, 종료 flush가 겹치지 않도록 직렬화한다
+    private final ReentrantLock flushLock = new ReentrantLock();
+    // start() 전에는 null. 그 사이 기록된 항목은 첫 주기 flush가 반영한다
+    private volatile ScheduledExecutorService scheduler;
+
+    private final Timer flushTimer;
+    private final Counter flushedCounter;
+    private final Counter coalescedCounter;
+
+    public ReadReceiptBuffer(
+            MessageReadStatusService messageReadStatusService,
+            MeterRegistry meterRegistry,
+            @Value("${chatapp.read-receipt.buffer.enabled:true}") boolean enabled,
+            @Value("${chatapp.read-receipt.buffer.flush-interval:200ms}") Duration flushInterval,
+            @Value("${chatapp.read-receipt.buffer.max-pending:1000}") int maxPending) {
+        this.messageReadStatusService = messageReadStatusService;
+        this.enabled = enabled;
+        this.flushInterval = flushInterval;
+        this.maxPending = maxPending;
+
+        Gauge.builder("read_receipt.buffer.pending", this, ReadReceiptBuffer::pendingCount)
+                .description("Buffered (user, message) read receipts waiting for flush")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("read_receipt.buffer.flush.time")
+                .description("Read receipt buffer flush latency")
+                .register(meterRegistry);
+        this.flushedCounter = Counter.builder("read_receipt.buffer.flushed")
+                .description("Read receipts written by buffer flushes")
+                .register(meterRegistry);
+        this.coalescedCounter = Counter.builder("read_receipt.buffer.coalesced")
+                .description("Duplicate read receipts dropped before flush")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            log.info("Read receipt buffer disabled - writing read receipts synchronously");
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "read-receipt-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = Math.max(1L, flushInterval.toMillis());
+        scheduler.scheduleWithFixedDelay(this::flushQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        log.info("Read receipt buffer started - flushInterval: {}, maxPending: {}", flushInterval, maxPending);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            try {
+                if (!scheduler.awaitTermination(5, TimeUnit.SECONDS)) {
+                    scheduler.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                scheduler.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+        int drained = flush();
+        log.info("Read receipt buffer stopped - drained {} pending receipts", drained);
+    }
+
+    /**
+     * 읽음 처리를 버퍼에 기록한다.
+     *
+     * @param roomId 메시지가 속한 방 ID
+     * @param userId 읽은 사용자 ID
+     * @param messageIds 읽은 메시지 ID 목록
+     */
+    public void enqueue(String roomId, String userId, Collection<String> messageIds) {
+        if (messageIds == null || messageIds.isEmpty()) {
+            return;
+        }
+        if (!enabled) {
+            messageReadStatusService.updateReadStatus(new ArrayList<>(messageIds), userId);
+            return;
+        }
+
+        boolean flushNow;
+        int duplicates = 0;
+        synchronized (this) {
+            Set<String> ids = pending.computeIfAbsent(new Key(roomId, userId), key -> new LinkedHashSet<>());
+            for (String messageId : messageIds) {
+                if (ids.add(messageId)) {
+                    pendingCount++;
+                } else {
+                    duplicates++;
+                }
+            }
+            flushNow = pendingCount >= maxPending;
+        }
+        if (duplicates > 0) {
+            coalescedCounter.increment(duplicates);
+        }
+        ScheduledExecutorService current = scheduler;
+        if (current == null) {
+            return;
+        }
+        // stop()의 마지막 flush 이후에 기록됐을 수 있으므로 종료됐으면 직접 반영한다
+        if (current.isShutdown()) {
+            flush();
+        } else if (flushNow) {
+            try {
+                current.execute(this::flushQuietly);
+            } catch (RejectedExecutionException e) {
+                flush();
+            }
+        }
+    }
+
+    /**
+     * 버퍼에 쌓인 읽음 처리를 반영한다.
+     *
+     * @return 반영 요청한 (사용자, 메시지) 쌍의 수
+     */
+    int flush() {
+        flushLock.lock();
+        try {
+            Map<Key, Set<String>> batch;
+            int batchCount;
+            synchronized (this) {
+                if (pendingCount == 0) {
+                    return 0;
+                }
+                batch = pending;
+                batchCount = pendingCount;
+                pending = new HashMap<>();
+                pendingCount = 0;
+            }
+
+            Timer.Sample sample = Timer.start();
+            batch.forEach((key, ids) ->
+                    messageReadStatusService.updateReadStatus(new ArrayList<>(ids), key.userId()));
+            sample.stop(flushTimer);
+            flushedCounter.increment(batchCount);
+
+            log.debug("Read receipt buffer flushed - groups: {}, receipts: {}", batch.size(), batchCount);
+            return batchCount;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    synchronized int pendingCount() {
+        return pendingCount;
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("Read receipt buffer flush failed", e);
+        }
+    }
+
+    private record Key(String roomId, String userId) {
+    }
+}
@@ -0,0 +1,374 @@
+package com.ktb.chatapp.service;
+
+import com.ktb.chatapp.dto.MessageResponse;
+import com.ktb.chatapp.model.Message;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 방별 최근 메시지 링 버퍼.
+ * joinRoom과 첫 페이지 fetch를 MongoDB 조회 없이 메모리에서 응답한다.
+ *
+ * 방 버퍼는 첫 페이지 DB 조회 결과로만 채워지고(seed), 이후 저장/리액션/읽음 처리가 반영된다.
+ * seed되지 않은 방의 변경은 버리므로 버퍼 내용은 항상 "가장 최근 N개"와 일치한다.
+ * 메모리 사용량은 최대 방 수 x 방별 용량으로 제한되며, 넘으면 가장 오래 사용되지 않은 방부터 제거한다.
+ *
+ * 버퍼는 이 노드에서 처리한 변경만 반영하므로 다중 노드 저장소(socketio.store.type=redis)에서는 사용하지 않는다.
+ * 다른 노드의 메시지, 조회 시 읽음 처리, 저장 대기 메시지가 보이지 않아 오래된 페이지를 응답하게 된다.
+ * 워터마크 읽음 모드(chatapp.read-status.mode=watermark)에서도 사용하지 않는다.
+ * 조회 시 워터마크 이전의 모든 메시지를 읽음으로 계산하므로 요청한 메시지에만 읽음을 더하는 버퍼와 결과가 달라진다.
+ *
+ * 저장된 MessageResponse는 변경하지 않고 교체만 하므로 반환된 목록을 그대로 직렬화해도 안전하다.
+ * 반환된 객체를 수정해서는 안 된다.
+ */
+@Slf4j
+@Component
+public class RecentMessageCache {
+
+    private final boolean enabled;
+    private final int capacity;
+    private final int maxRooms;
+    private final Map<String, RoomBuffer> rooms;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter idleEvictionCounter;
+    private final Counter invalidatedEvictionCounter;
+
+    public RecentMessageCache(
+            MeterRegistry meterRegistry,
+            @Value("${chatapp.recent-messages.enabled:true}") boolean enabled,
+            @Value("${chatapp.recent-messages.per-room:50}") int capacity,
+            @Value("${chatapp.recent-messages.max-rooms:1000}") int maxRooms,
+            @Value("${socketio.store.type:memory}") String storeType,
+            @Value("${chatapp.read-status.mode:readers}") String readStatusMode) {
+        boolean singleNode = "memory".equals(storeType);
+        boolean perMessageReaders = !"watermark".equals(readStatusMode);
+        this.enabled = enabled && capacity > 0 && maxRooms > 0 && singleNode && perMessageReaders;
+        if (enabled && !singleNode) {
+            log.info("Recent message buffer disabled - store type '{}' spans nodes", storeType);
+        } else if (enabled && !perMessageReaders) {
+            log.info("Recent message buffer disabled - readers are derived from read watermarks");
+        }
+        this.capacity = capacity;
+        this.maxRooms = maxRooms;
+        this.rooms = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, RoomBuffer> eldest) {
+                if (size() > RecentMessageCache.this.maxRooms) {
+                    idleEvictionCounter.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        this.hitCounter = requestCounter(meterRegistry, "hit");
+        this.missCounter = requestCounter(meterRegistry, "miss");
+        this.idleEvictionCounter = evictionCounter(meterRegistry, "idle");
+        this.invalidatedEvictionCounter = evictionCounter(meterRegistry, "invalidated");
+        Gauge.builder("recent_message.cache.rooms", this, RecentMessageCache::roomCount)
+                .description("Rooms with a recent message buffer")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 방의 최근 메시지 limit개를 오래된 순으로 반환한다.
+     * 버퍼가 seed되지 않았거나 limit개를 채울 수 없으면 비어 있는 Optional을 반환한다.
+     */
+    public Optional<RecentMessages> recent(String roomId, int limit) {
+        RoomBuffer buffer = enabled && limit <= capacity ? bufferFor(roomId) : null;
+        RecentMessages recent = buffer != null ? buffer.recent(limit) : null;
+        if (recent == null) {
+            missCounter.increment();
+            return Optional.empty();
+        }
+        hitCounter.increment();
+        return Optional.of(recent);
+    }
+
+    /**
+     * 첫 페이지 DB 조회 직전에 호출한다.
+     * 조회하는 동안 방에 변경이 생기면 반환된 티켓으로는 seed할 수 없다.
+     */
+    public SeedTicket beginSeed(String roomId) {
+        if (!enabled) {
+            return null;
+        }
+        RoomBuffer buffer;
+        synchronized (this) {
+            buffer = rooms.computeIfAbsent(roomId, key -> new RoomBuffer(capacity));
+        }
+        return new SeedTicket(roomId, buffer, buffer.version());
+    }
+
+    /**
+     * 첫 페이지 DB 조회 결과로 버퍼를 채운다.
+     *
+     * @param messages 오래된 순으로 정렬된 최근 메시지
+     * @param olderExists 더 오래된 메시지가 DB에 남아 있는지 여부
+     */
+    public void seed(SeedTicket ticket, List<MessageResponse> messages, boolean olderExists) {
+        if (ticket == null) {
+            return;
+        }
+        synchronized (this) {
+            // 조회 도중 방이 제거/재생성되었으면 seed하지 않는다
+            if (rooms.get(ticket.roomId) != ticket.buffer) {
+                return;
+            }
+        }
+        if (!ticket.buffer.seed(ticket.version, messages, olderExists)) {
+            log.debug("Skip seeding recent messages for room {} - changed while loading", ticket.roomId);
+        }
+    }
+
+    /**
+     * 새로 저장된 메시지를 방 버퍼에 추가한다.
+     */
+    public void append(MessageResponse message) {
+        RoomBuffer buffer = enabled ? bufferFor(message.getRoomId()) : null;
+        if (buffer != null) {
+            buffer.insert(copyOf(message));
+        }
+    }
+
+    public void updateReactions(String roomId, String messageId, Map<String, Set<String>> reactions) {
+        RoomBuffer buffer = enabled ? bufferFor(roomId) : null;
+        if (buffer != null) {
+            Map<String, Set<String>> copied = copyReactions(reactions);
+            buffer.replace(Set.of(messageId), cached -> cached.toBuilder().reactions(copied).build());
+        }
+    }
+
+    public void applyRead(String roomId, String userId, Collection<String> messageIds, LocalDateTime readAt) {
+        RoomBuffer buffer = enabled && messageIds != null && !messageIds.isEmpty() ? bufferFor(roomId) : null;
+        if (buffer == null) {
+            return;
+        }
+        buffer.replace(new HashSet<>(messageIds), cached -> {
+            List<Message.MessageReader> readers = cached.getReaders();
+            if (readers.stream().anyMatch(reader -> userId.equals(reader.getUserId()))) {
+                return cached;
+            }
+            List<Message.MessageReader> updated = new ArrayList<>(readers.size() + 1);
+            updated.addAll(readers);
+            updated.add(Message.MessageReader.builder().userId(userId).readAt(readAt).build());
+            return cached.toBuilder().readers(updated).build();
+        });
+    }
+
+    /**
+     * 방 버퍼를 제거한다. 다음 첫 페이지 조회가 DB에서 다시 채운다.
+     */
+    public synchronized void invalidate(String roomId) {
+        RoomBuffer removed = rooms.remove(roomId);
+        if (removed != null) {
+            removed.retire();
+            invalidatedEvictionCounter.increment();
+        }
+    }
+
+    /**
+     * 발신자 정보처럼 여러 방에 걸친 데이터가 바뀌었을 때 전체 버퍼를 제거한다.
+     */
+    public synchronized void invalidateAll() {
+        rooms.values().forEach(RoomBuffer::retire);
+        invalidatedEvictionCounter.increment(rooms.size());
+        rooms.clear();
+    }
+
+    public synchronized int roomCount() {
+        return rooms.size();
+    }
+
+    private synchronized RoomBuffer bufferFor(String roomId) {
+        return roomId != null ? rooms.get(roomId) : null;
+    }
+
+    private static MessageResponse copyOf(MessageResponse message) {
+        return message.toBuilder()
+                .reactions(copyReactions(message.getReactions()))
+                .readers(message.getReaders() != null ? List.copyOf(message.getReaders()) : List.of())
+                .build();
+    }
+
+    private static Map<String, Set<String>> copyReactions(Map<String, Set<String>> reactions) {
+        Map<String, Set<String>> copied = new HashMap<>();
+        if (reactions != null) {
+            reactions.forEach((reaction, userIds) -> copied.put(reaction, Set.copyOf(userIds)));
+        }
+        return copied;
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("recent_message.cache.requests")
+                .description("Recent message buffer lookups for first-page loads")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static Counter evictionCounter(MeterRegistry meterRegistry, String cause) {
+        return Counter.builder("recent_message.cache.evictions")
+                .description("Recent message buffer room evictions")
+                .tag("cause", cause)
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param messages 오래된 순으로 정렬된 메시지
+     * @param hasMore 반환된 메시지보다 오래된 메시지가 있는지 여부
+     */
+    public record RecentMessages(List<MessageResponse> messages, boolean hasMore) {
+    }
+
+    /**
+     * beginSeed 시점의 방 버퍼 버전. seed에만 사용한다.
+     */
+    public static final class SeedTicket {
+        private final String roomId;
+        private final RoomBuffer buffer;
+        private final long version;
+
+        private SeedTicket(String roomId, RoomBuffer buffer, long version) {
+            this.roomId = roomId;
+            this.buffer = buffer;
+            this.version = version;
+        }
+    }
+
+    /**
+     * 한 방의 최근 메시지를 (timestamp, _id) 오름차순으로 유지하는 고정 크기 링 버퍼.
+     */
+    static final class RoomBuffer {
+
+        private final MessageResponse[] slots;
+        private int head;
+        private int size;
+        private boolean seeded;
+        private boolean olderExists;
+        // 변경마다 증가한다. seed 티켓 검증에 사용한다
+        private long version;
+
+        RoomBuffer(int capacity) {
+            this.slots = new MessageResponse[capacity];
+        }
+
+        synchronized long version() {
+            return version;
+        }
+
+        synchronized boolean seed(long expectedVersion, List<MessageResponse> messages, boolean hasOlder) {
+            if (seeded || version != expectedVersion) {
+                return false;
+            }
+            int skip = Math.max(0, messages.size() - slots.length);
+            head = 0;
+            size = 0;
+            for (int i = skip; i < messages.size(); i++) {
+                slots[size++] = copyOf(messages.get(i));
+            }
+            olderExists = hasOlder || skip > 0;
+            seeded = true;
+            version++;
+            return true;
+        }
+
+        synchronized RecentMessages recent(int limit) {
+            if (!seeded || (size < limit && olderExists)) {
+                return null;
+            }
+            int count = Math.min(limit, size);
+            List<MessageResponse> result = new ArrayList<>(count);
+            for (int i = size - count; i < size; i++) {
+                result.add(at(i));
+            }
+            return new RecentMessages(result, size > count || olderExists);
+        }
+
+        synchronized void insert(MessageResponse message) {
+            version++;
+            if (!seeded) {
+                return;
+            }
+            for (int i = 0; i < size; i++) {
+                if (at(i).getId().equals(message.getId())) {
+                    set(i, message);
+                    return;
+                }
+            }
+
+            int position = size;
+            while (position > 0 && compare(at(position - 1), message) > 0) {
+                position--;
+            }
+            if (position == 0 && olderExists) {
+                // 버퍼보다 오래된 구간에 속하는 메시지이므로 DB 조회에 맡긴다
+                return;
+            }
+            if (size == slots.length) {
+                if (position == 0) {
+                    olderExists = true;
+                    return;
+                }
+                slots[head] = null;
+                head = (head + 1) % slots.length;
+                size--;
+                position--;
+                olderExists = true;
+            }
+            for (int i = size; i > position; i--) {
+                set(i, at(i - 1));
+            }
+            set(position, message);
+            size++;
+        }
+
+        synchronized void replace(Set<String> messageIds, UnaryOperator<MessageResponse> update) {
+            version++;
+            if (!seeded) {
+                return;
+            }
+            for (int i = 0; i < size; i++) {
+                MessageResponse cached = at(i);
+                if (messageIds.contains(cached.getId())) {
+                    set(i, update.apply(cached));
+                }
+            }
+        }
+
+        // 맵에서 제거된 버퍼에 늦게 도착한 seed가 반영되지 않도록 한다
+        synchronized void retire() {
+            version++;
+            seeded = false;
+        }
+
+        private MessageResponse at(int index) {
+            return slots[(head + index) % slots.length];
+        }
+
+        private void set(int index, MessageResponse message) {
+            slots[(head + index) % slots.length] = message;
+        }
+
+        private static int compare(MessageResponse a, MessageResponse b) {
+            int byTimestamp = Long.compare(a.getTimestamp(), b.getTimestamp());
+            return byTimestamp != 0 ? byTimestamp : a.getId().compareTo(b.getId());
+        }
+    }
+}
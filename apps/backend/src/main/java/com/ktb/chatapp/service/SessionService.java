@@ -68,13 +68,23 @@ public class SessionService {
     }
 
     public SessionValidationResult validateSession(String userId, String sessionId) {
+        return validateSession(userId, sessionId, new EntityLookupContext());
+    }
+
+    /**
+     * 세션 검증 (이벤트 단위 조회 컨텍스트 공유)
+     * 조회한 세션은 lookups에 남아 같은 이벤트의 updateLastActivity에서 재사용된다.
+     */
+    public SessionValidationResult validateSession(
+            String userId, String sessionId, EntityLookupContext lookups) {
         try {
             if (userId == null || sessionId == null) {
                 log.warn("validateSession called with null parameters: userId={}, sessionId={}", userId, sessionId);
                 return SessionValidationResult.invalid("INVALID_PARAMETERS", "유효하지 않은 세션 파라미터");
             }
 
-            Session session = sessionStore.findByUserId(userId).orElse(null);
+            Session session = lookups.find(Session.class, userId, sessionStore::findByUserId)
+                    .orElse(null);
             
             if (session == null) {
                 log.warn("No session found for userId: {}", userId);
@@ -91,6 +101,7 @@ public class SessionService {
             if (now - session.getLastActivity() > SESSION_TIMEOUT) {
                 log.warn("Session timed out for userId: {}, sessionId: {}", userId, sessionId);
                 removeSession(userId, sessionId);
+                lookups.evict(Session.class, userId);
                 return SessionValidationResult.invalid("SESSION_EXPIRED", "세션이 만료되었습니다.");
             }
 
@@ -98,6 +109,7 @@ public class SessionService {
             session.setLastActivity(now);
             session.setExpiresAt(Instant.now().plusSeconds(SESSION_TTL_SEC));
             session = sessionStore.save(session);
+            lookups.put(Session.class, userId, session);
 
             SessionData sessionData = toSessionData(session);
             return SessionValidationResult.valid(sessionData);
@@ -109,13 +121,18 @@ public class SessionService {
     }
 
     public void updateLastActivity(String userId) {
+        updateLastActivity(userId, new EntityLookupContext());
+    }
+
+    public void updateLastActivity(String userId, EntityLookupContext lookups) {
         try {
             if (userId == null) {
                 log.warn("updateLastActivity called with null userId");
                 return;
             }
 
-            Session session = sessionStore.findByUserId(userId).orElse(null);
+            Session session = lookups.find(Session.class, userId, sessionStore::findByUserId)
+                    .orElse(null);
             if (session == null) {
                 log.debug("No session found to update last activity for user: {}", userId);
                 return;
@@ -123,7 +140,7 @@ public class SessionService {
 
             session.setLastActivity(Instant.now().toEpochMilli());
             session.setExpiresAt(Instant.now().plusSeconds(SESSION_TTL_SEC));
-            sessionStore.save(session);
+            lookups.put(Session.class, userId, sessionStore.save(session));
             
         } catch (Exception e) {
             log.error("Failed to update session activity for user: {}", userId, e);
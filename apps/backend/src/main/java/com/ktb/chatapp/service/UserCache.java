@@ -0,0 +1,199 @@
+package com.ktb.chatapp.service;
+
+import com.ktb.chatapp.model.User;
+import com.ktb.chatapp.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 사용자 문서 near-cache.
+ * 채팅 전송, 메시지 로드, 참가자 목록 구성 시 반복되는 사용자 조회를 프로세스 내에서 흡수한다.
+ * 최대 크기를 넘으면 가장 오래 사용되지 않은 항목부터, TTL이 지나면 조회 시점에 제거한다.
+ *
+ * 사용자 정보를 변경하는 경로(UserService)는 반드시 invalidate를 호출해야 한다.
+ * 반환되는 User는 캐시와 공유되므로 수정하지 않는다.
+ */
+@Slf4j
+@Component
+public class UserCache {
+
+    private final UserRepository userRepository;
+    private final int maximumSize;
+    private final long ttlNanos;
+    private final Map<String, Entry> entries;
+
+    // 조회 도중 무효화가 일어나면 조회 결과를 캐시에 넣지 않기 위한 세대 번호
+    private long invalidationGeneration;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter sizeEvictionCounter;
+    private final Counter expiredEvictionCounter;
+    private final Counter invalidatedEvictionCounter;
+
+    public UserCache(
+            UserRepository userRepository,
+            MeterRegistry meterRegistry,
+            @Value("${chatapp.user-cache.maximum-size:10000}") int maximumSize,
+            @Value("${chatapp.user-cache.ttl:5m}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.maximumSize = maximumSize;
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > UserCache.this.maximumSize) {
+                    sizeEvictionCounter.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        this.hitCounter = requestCounter(meterRegistry, "hit");
+        this.missCounter = requestCounter(meterRegistry, "miss");
+        this.sizeEvictionCounter = evictionCounter(meterRegistry, "size");
+        this.expiredEvictionCounter = evictionCounter(meterRegistry, "expired");
+        this.invalidatedEvictionCounter = evictionCounter(meterRegistry, "invalidated");
+        Gauge.builder("user.cache.size", this, UserCache::size)
+                .description("Cached user documents")
+                .register(meterRegistry);
+    }
+
+    public Optional<User> findById(String userId) {
+        if (userId == null) {
+            return Optional.empty();
+        }
+
+        long generation;
+        synchronized (this) {
+            User cached = getIfFresh(userId);
+            if (cached != null) {
+                hitCounter.increment();
+                return Optional.of(cached);
+            }
+            generation = invalidationGeneration;
+        }
+
+        missCounter.increment();
+        Optional<User> loaded = userRepository.findById(userId);
+        loaded.ifPresent(user -> putIfNotInvalidated(user, generation));
+        return loaded;
+    }
+
+    /**
+     * 여러 사용자를 조회한다. 캐시에 없는 사용자만 한 번의 $in 쿼리로 읽는다.
+     * 결과는 요청한 ID 순서를 따르며 존재하지 않는 사용자는 빠진다.
+     */
+    public List<User> findAllById(Collection<String> userIds) {
+        Set<String> ids = new LinkedHashSet<>(userIds);
+        ids.remove(null);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, User> found = new LinkedHashMap<>();
+        Set<String> missing = new LinkedHashSet<>();
+        long generation;
+        synchronized (this) {
+            for (String id : ids) {
+                User cached = getIfFresh(id);
+                if (cached != null) {
+                    found.put(id, cached);
+                } else {
+                    missing.add(id);
+                }
+            }
+            generation = invalidationGeneration;
+        }
+        hitCounter.increment(found.size());
+
+        if (!missing.isEmpty()) {
+            missCounter.increment(missing.size());
+            for (User user : userRepository.findAllById(missing)) {
+                found.put(user.getId(), user);
+                putIfNotInvalidated(user, generation);
+            }
+        }
+
+        List<User> result = new ArrayList<>(found.size());
+        for (String id : ids) {
+            User user = found.get(id);
+            if (user != null) {
+                result.add(user);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 사용자 정보 변경/삭제 후 호출하여 캐시 항목을 제거한다.
+     */
+    public synchronized void invalidate(String userId) {
+        invalidationGeneration++;
+        if (userId != null && entries.remove(userId) != null) {
+            invalidatedEvictionCounter.increment();
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        invalidationGeneration++;
+        invalidatedEvictionCounter.increment(entries.size());
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private User getIfFresh(String userId) {
+        Entry entry = entries.get(userId);
+        if (entry == null) {
+            return null;
+        }
+        if (System.nanoTime() - entry.loadedAtNanos() >= ttlNanos) {
+            entries.remove(userId);
+            expiredEvictionCounter.increment();
+            return null;
+        }
+        return entry.user();
+    }
+
+    private synchronized void putIfNotInvalidated(User user, long generation) {
+        if (maximumSize <= 0 || generation != invalidationGeneration) {
+            log.debug("Skip caching user {} loaded before invalidation", user.getId());
+            return;
+        }
+        entries.put(user.getId(), new Entry(user, System.nanoTime()));
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("user.cache.requests")
+                .description("User cache lookups")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static Counter evictionCounter(MeterRegistry meterRegistry, String cause) {
+        return Counter.builder("user.cache.evictions")
+                .description("User cache evictions")
+                .tag("cause", cause)
+                .register(meterRegistry);
+    }
+
+    private record Entry(User user, long loadedAtNanos) {
+    }
+}
@@ -28,6 +28,8 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final FileService fileService;
+    private final UserCache userCache;
+    private final RecentMessageCache recentMessageCache;
 
     @Value("${app.upload.dir:uploads}")
     private String uploadDir;
@@ -62,6 +64,9 @@ public class UserService {
         user.setUpdatedAt(LocalDateTime.now());
 
         User updatedUser = userRepository.save(user);
+        userCache.invalidate(user.getId());
+        // 최근 메시지 버퍼에 담긴 발신자 정보도 갱신되어야 한다
+        recentMessageCache.invalidateAll();
         log.info("사용자 프로필 업데이트 완료 - ID: {}, Name: {}", user.getId(), request.getName());
 
         return UserResponse.from(updatedUser);
@@ -91,6 +96,8 @@ public class UserService {
         user.setProfileImage(profileImageUrl);
         user.setUpdatedAt(LocalDateTime.now());
         userRepository.save(user);
+        userCache.invalidate(user.getId());
+        recentMessageCache.invalidateAll();
 
         log.info("프로필 이미지 업로드 완료 - User ID: {}, File: {}", user.getId(), profileImageUrl);
 
@@ -105,7 +112,7 @@ public class UserService {
      * 특정 사용자 프로필 조회
      */
     public UserResponse getUserProfile(String userId) {
-        User user = userRepository.findById(userId)
+        User user = userCache.findById(userId)
                 .orElseThrow(() -> new UsernameNotFoundException("사용자를 찾을 수 없습니다."));
 
         return UserResponse.from(user);
@@ -176,6 +183,8 @@ public class UserService {
             user.setProfileImage("");
             user.setUpdatedAt(LocalDateTime.now());
             userRepository.save(user);
+            userCache.invalidate(user.getId());
+            recentMessageCache.invalidateAll();
             log.info("프로필 이미지 삭제 완료 - User ID: {}", user.getId());
         }
     }
@@ -193,6 +202,8 @@ public class UserService {
         }
 
         userRepository.delete(user);
+        userCache.invalidate(user.getId());
+        recentMessageCache.invalidateAll();
         log.info("회원 탈퇴 완료 - User ID: {}", user.getId());
     }
 }
@@ -0,0 +1,30 @@
+package com.ktb.chatapp.service.readstatus;
+
+import com.ktb.chatapp.model.Message;
+import com.ktb.chatapp.repository.MessageRepository;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * ReadStatusStore backed by the embedded Message.readers arrays.
+ */
+@Component
+@ConditionalOnProperty(name = "chatapp.read-status.mode", havingValue = "readers", matchIfMissing = true)
+@RequiredArgsConstructor
+public class MessageReadersStore implements ReadStatusStore {
+
+    private final MessageRepository messageRepository;
+
+    @Override
+    public long markAsRead(List<String> messageIds, String userId) {
+        return messageRepository.addReaderToUnreadMessages(messageIds, userId, LocalDateTime.now());
+    }
+
+    @Override
+    public void populateReaders(String roomId, List<Message> messages) {
+        // readers 배열이 문서에 이미 포함되어 있다
+    }
+}
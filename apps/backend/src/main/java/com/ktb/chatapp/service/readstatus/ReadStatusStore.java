@@ -0,0 +1,28 @@
+package com.ktb.chatapp.service.readstatus;
+
+import com.ktb.chatapp.model.Message;
+import java.util.List;
+
+/**
+ * Data store interface for message read state.
+ * Implementations are selected by the chatapp.read-status.mode property.
+ */
+public interface ReadStatusStore {
+
+    /**
+     * Mark messages as read by the user
+     *
+     * @param messageIds the message identifiers
+     * @param userId the reader
+     * @return number of messages newly marked as read
+     */
+    long markAsRead(List<String> messageIds, String userId);
+
+    /**
+     * Fill {@link Message#getReaders()} of loaded messages for the response
+     *
+     * @param roomId the room the messages belong to
+     * @param messages messages loaded for a page
+     */
+    void populateReaders(String roomId, List<Message> messages);
+}
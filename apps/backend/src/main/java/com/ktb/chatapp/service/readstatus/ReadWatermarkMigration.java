@@ -0,0 +1,93 @@
+package com.ktb.chatapp.service.readstatus;
+
+import com.ktb.chatapp.repository.ReadWatermarkRepository;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Component;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.*;
+
+/**
+ * 기존 Message.readers 배열로부터 읽음 워터마크를 생성하는 마이그레이션.
+ * (방, 사용자)별로 읽은 메시지 중 가장 최신 메시지를 워터마크로 삼는다.
+ * 워터마크는 앞으로만 이동하므로 여러 번 실행해도 안전하다.
+ *
+ * chatapp.read-status.watermark.migrate-on-startup=true 이면 기동 시 1회 실행된다.
+ * readers 모드에서 먼저 실행한 뒤 watermark 모드로 전환하는 것을 권장한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "chatapp.read-status.watermark.migrate-on-startup", havingValue = "true")
+@RequiredArgsConstructor
+public class ReadWatermarkMigration implements ApplicationRunner {
+
+    private final MongoTemplate mongoTemplate;
+    private final ReadWatermarkRepository readWatermarkRepository;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        migrate();
+    }
+
+    /**
+     * @return 생성 또는 전진한 워터마크 수
+     */
+    public int migrate() {
+        long startedAt = System.currentTimeMillis();
+        Aggregation aggregation = newAggregation(
+                match(Criteria.where("readers.0").exists(true)),
+                unwind("readers"),
+                sort(Sort.Direction.DESC, "timestamp"),
+                group("room", "readers.userId")
+                        .first("_id").as("lastReadMessageId")
+                        .first("timestamp").as("lastReadAt")
+                        .max("readers.readAt").as("readAt"))
+                .withOptions(AggregationOptions.builder().allowDiskUse(true).build());
+
+        int scanned = 0;
+        int advanced = 0;
+        try (var results = mongoTemplate.aggregateStream(aggregation, "messages", Document.class)) {
+            for (Document result : (Iterable<Document>) results::iterator) {
+                scanned++;
+                Document key = result.get("_id", Document.class);
+                LocalDateTime lastReadAt = toLocalDateTime(result.getDate("lastReadAt"));
+                LocalDateTime readAt = toLocalDateTime(result.getDate("readAt"));
+                var previous = readWatermarkRepository.advance(
+                        key.getString("room"),
+                        key.getString("userId"),
+                        toIdString(result.get("lastReadMessageId")),
+                        lastReadAt,
+                        readAt != null ? readAt : lastReadAt);
+                if (previous == null || previous.getLastReadAt() == null
+                        || previous.getLastReadAt().isBefore(lastReadAt)) {
+                    advanced++;
+                }
+            }
+        }
+
+        log.info("Read watermark migration finished - scanned: {}, advanced: {}, took: {}ms",
+                scanned, advanced, System.currentTimeMillis() - startedAt);
+        return advanced;
+    }
+
+    private static LocalDateTime toLocalDateTime(Date date) {
+        return date != null ? LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault()) : null;
+    }
+
+    private static String toIdString(Object id) {
+        return id instanceof ObjectId objectId ? objectId.toHexString() : String.valueOf(id);
+    }
+}
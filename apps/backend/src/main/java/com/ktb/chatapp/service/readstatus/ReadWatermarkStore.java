@@ -0,0 +1,76 @@
+package com.ktb.chatapp.service.readstatus;
+
+import com.ktb.chatapp.model.Message;
+import com.ktb.chatapp.model.ReadWatermark;
+import com.ktb.chatapp.repository.MessageRepository;
+import com.ktb.chatapp.repository.ReadWatermarkRepository;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * ReadStatusStore backed by per-(room, user) read watermarks.
+ * Message documents are not modified; readers are derived from the room's watermarks at fetch time.
+ */
+@Component
+@ConditionalOnProperty(name = "chatapp.read-status.mode", havingValue = "watermark")
+@RequiredArgsConstructor
+public class ReadWatermarkStore implements ReadStatusStore {
+
+    private static final Comparator<Message> READ_ORDER =
+            Comparator.comparing(Message::getTimestamp).thenComparing(Message::getId);
+
+    private final MessageRepository messageRepository;
+    private final ReadWatermarkRepository readWatermarkRepository;
+
+    @Override
+    public long markAsRead(List<String> messageIds, String userId) {
+        Map<String, List<Message>> positionsByRoom = messageRepository.findReadPositionsByIdIn(messageIds)
+                .stream()
+                .filter(message -> message.getRoomId() != null && message.getTimestamp() != null)
+                .collect(Collectors.groupingBy(Message::getRoomId));
+
+        LocalDateTime now = LocalDateTime.now();
+        long newlyRead = 0;
+        for (var entry : positionsByRoom.entrySet()) {
+            List<Message> positions = entry.getValue();
+            Message latest = positions.stream().max(READ_ORDER).orElseThrow();
+
+            ReadWatermark previous = readWatermarkRepository.advance(
+                    entry.getKey(), userId, latest.getId(), latest.getTimestamp(), now);
+            LocalDateTime previousReadAt = previous != null ? previous.getLastReadAt() : null;
+
+            newlyRead += positions.stream()
+                    .filter(message -> previousReadAt == null || message.getTimestamp().isAfter(previousReadAt))
+                    .count();
+        }
+        return newlyRead;
+    }
+
+    @Override
+    public void populateReaders(String roomId, List<Message> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        List<ReadWatermark> watermarks = readWatermarkRepository.findByRoomId(roomId).stream()
+                .filter(watermark -> watermark.getLastReadAt() != null)
+                .toList();
+
+        for (Message message : messages) {
+            LocalDateTime timestamp = message.getTimestamp();
+            message.setReaders(watermarks.stream()
+                    .filter(watermark -> timestamp != null && !timestamp.isAfter(watermark.getLastReadAt()))
+                    .map(watermark -> Message.MessageReader.builder()
+                            .userId(watermark.getUserId())
+                            .readAt(Objects.requireNonNullElse(watermark.getUpdatedAt(), watermark.getLastReadAt()))
+                            .build())
+                    .collect(Collectors.toList()));
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.ktb.chatapp.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aho-Corasick 기반 다중 패턴 매처.
+ * 생성 시 한 번 오토마톤을 컴파일하고, 검사 시에는 입력을 한 번만 선형 순회한다.
+ * 컴파일된 전이 테이블은 배열(CSR)로 보관되어 검사 중 추가 할당이 없다.
+ */
+public final class AhoCorasickMatcher {
+
+    private static final int ROOT = 0;
+
+    // 노드 n의 전이는 edgeChars/edgeTargets[edgeStart[n] .. edgeStart[n + 1]) 구간에 문자 오름차순으로 저장된다.
+    private final int[] edgeStart;
+    private final char[] edgeChars;
+    private final int[] edgeTargets;
+    private final int[] fail;
+    private final boolean[] terminal;
+    private final int patternCount;
+
+    private AhoCorasickMatcher(int[] edgeStart, char[] edgeChars, int[] edgeTargets,
+                               int[] fail, boolean[] terminal, int patternCount) {
+        this.edgeStart = edgeStart;
+        this.edgeChars = edgeChars;
+        this.edgeTargets = edgeTargets;
+        this.fail = fail;
+        this.terminal = terminal;
+        this.patternCount = patternCount;
+    }
+
+    /**
+     * 패턴 목록으로 오토마톤을 컴파일한다. 빈 문자열 패턴은 무시한다.
+     *
+     * @param patterns 검색할 패턴 목록
+     * @return 컴파일된 매처
+     */
+    public static AhoCorasickMatcher compile(Collection<String> patterns) {
+        List<Map<Character, Integer>> children = new ArrayList<>();
+        List<Boolean> terminalNodes = new ArrayList<>();
+        children.add(new HashMap<>());
+        terminalNodes.add(false);
+
+        int count = 0;
+        for (String pattern : patterns) {
+            if (pattern == null || pattern.isEmpty()) {
+                continue;
+            }
+            int node = ROOT;
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = pattern.charAt(i);
+                Integer next = children.get(node).get(c);
+                if (next == null) {
+                    next = children.size();
+                    children.add(new HashMap<>());
+                    terminalNodes.add(false);
+                    children.get(node).put(c, next);
+                }
+                node = next;
+            }
+            terminalNodes.set(node, true);
+            count++;
+        }
+
+        int nodeCount = children.size();
+        int[] edgeStart = new int[nodeCount + 1];
+        for (int n = 0; n < nodeCount; n++) {
+            edgeStart[n + 1] = edgeStart[n] + children.get(n).size();
+        }
+        char[] edgeChars = new char[edgeStart[nodeCount]];
+        int[] edgeTargets = new int[edgeStart[nodeCount]];
+        for (int n = 0; n < nodeCount; n++) {
+            Character[] keys = children.get(n).keySet().toArray(new Character[0]);
+            Arrays.sort(keys);
+            int offset = edgeStart[n];
+            for (int i = 0; i < keys.length; i++) {
+                edgeChars[offset + i] = keys[i];
+                edgeTargets[offset + i] = children.get(n).get(keys[i]);
+            }
+        }
+
+        boolean[] terminal = new boolean[nodeCount];
+        for (int n = 0; n < nodeCount; n++) {
+            terminal[n] = terminalNodes.get(n);
+        }
+
+        AhoCorasickMatcher matcher = new AhoCorasickMatcher(
+                edgeStart, edgeChars, edgeTargets, new int[nodeCount], terminal, count);
+        matcher.buildFailureLinks();
+        return matcher;
+    }
+
+    /**
+     * 텍스트에 패턴 중 하나라도 부분 문자열로 포함되어 있는지 확인한다.
+     *
+     * @param text 검사할 텍스트
+     * @return 포함되어 있으면 true
+     */
+    public boolean containsAny(CharSequence text) {
+        int state = ROOT;
+        for (int i = 0, length = text.length(); i < length; i++) {
+            state = next(state, text.charAt(i));
+            if (terminal[state]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 현재 상태에서 문자 하나를 소비한 다음 상태를 반환한다.
+     * 입력을 외부에서 한 글자씩 밀어 넣는 경우에 사용한다.
+     */
+    public int next(int state, char c) {
+        while (true) {
+            int target = transition(state, c);
+            if (target >= 0) {
+                return target;
+            }
+            if (state == ROOT) {
+                return ROOT;
+            }
+            state = fail[state];
+        }
+    }
+
+    /**
+     * 해당 상태에서 끝나는(실패 링크를 통한 접미사 포함) 패턴이 있는지 확인한다.
+     */
+    public boolean isMatch(int state) {
+        return terminal[state];
+    }
+
+    public int initialState() {
+        return ROOT;
+    }
+
+    public int patternCount() {
+        return patternCount;
+    }
+
+    public int nodeCount() {
+        return terminal.length;
+    }
+
+    private int transition(int node, char c) {
+        int low = edgeStart[node];
+        int high = edgeStart[node + 1] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char midChar = edgeChars[mid];
+            if (midChar < c) {
+                low = mid + 1;
+            } else if (midChar > c) {
+                high = mid - 1;
+            } else {
+                return edgeTargets[mid];
+            }
+        }
+        return -1;
+    }
+
+    private void buildFailureLinks() {
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int e = edgeStart[ROOT]; e < edgeStart[ROOT + 1]; e++) {
+            int child = edgeTargets[e];
+            fail[child] = ROOT;
+            queue.add(child);
+        }
+
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (int e = edgeStart[node]; e < edgeStart[node + 1]; e++) {
+                char c = edgeChars[e];
+                int child = edgeTargets[e];
+                fail[child] = next(fail[node], c);
+                // 실패 링크 쪽 접미사가 패턴이면 이 노드에서도 매칭으로 본다
+                terminal[child] |= terminal[fail[child]];
+                queue.add(child);
+            }
+        }
+    }
+}
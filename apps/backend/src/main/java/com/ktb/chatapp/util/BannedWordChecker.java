@@ -1,29 +1,66 @@
 package com.ktb.chatapp.util;
 
-import java.util.Locale;
+import java.time.Instant;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import org.springframework.util.Assert;
 
 public class BannedWordChecker {
-    
-    private final Set<String> bannedWords;
-    
+
+    // 검사 경로는 참조를 한 번만 읽으므로 교체 중에도 반쯤 만들어진 사전을 보지 않는다
+    private final AtomicReference<Dictionary> dictionary;
+
     public BannedWordChecker(Set<String> bannedWords) {
-        this.bannedWords =
-                bannedWords.stream()
-                        .filter(word -> word != null && !word.isBlank())
-                        .map(word -> word.toLowerCase(Locale.ROOT))
-                        .collect(Collectors.toUnmodifiableSet());
-        Assert.notEmpty(this.bannedWords, "Banned words set must not be empty");
+        this.dictionary = new AtomicReference<>(compile(bannedWords, 1L));
     }
-    
+
     public boolean containsBannedWord(String message) {
         if (message == null || message.isBlank()) {
             return false;
         }
-        
-        String normalizedMessage = message.toLowerCase(Locale.ROOT);
-        return bannedWords.stream().anyMatch(normalizedMessage::contains);
+
+        // 정규화 결과를 String으로 만들지 않고 코드 포인트 단위로 매처에 바로 흘려 보낸다
+        return ModerationTextNormalizer.containsAny(dictionary.get().matcher(), message);
+    }
+
+    /**
+     * 새 금칙어 목록으로 매처를 다시 컴파일한 뒤 원자적으로 교체한다.
+     * 컴파일은 호출한 스레드에서 수행되며, 실패하면 기존 사전이 유지된다.
+     *
+     * @param bannedWords 새 금칙어 목록
+     * @return 교체된 사전 버전
+     */
+    public long reload(Set<String> bannedWords) {
+        Dictionary next = compile(bannedWords, dictionary.get().version() + 1);
+        dictionary.set(next);
+        return next.version();
+    }
+
+    public int size() {
+        return dictionary.get().words().size();
+    }
+
+    public long version() {
+        return dictionary.get().version();
+    }
+
+    public Instant builtAt() {
+        return dictionary.get().builtAt();
+    }
+
+    private static Dictionary compile(Set<String> bannedWords, long version) {
+        Set<String> words =
+                bannedWords.stream()
+                        .filter(word -> word != null && !word.isBlank())
+                        .map(ModerationTextNormalizer::normalize)
+                        .filter(word -> !word.isBlank())
+                        .collect(Collectors.toUnmodifiableSet());
+        Assert.notEmpty(words, "Banned words set must not be empty");
+        return new Dictionary(words, AhoCorasickMatcher.compile(words), version, Instant.now());
+    }
+
+    private record Dictionary(
+            Set<String> words, AhoCorasickMatcher matcher, long version, Instant builtAt) {
     }
 }
@@ -0,0 +1,175 @@
+package com.ktb.chatapp.util;
+
+/**
+ * 금칙어 검사용 스트리밍 정규화기.
+ * 코드 포인트 단위로 대소문자, 전각/반각, 보이지 않는 문자, 한글 자모를 접어서
+ * 중간 String 없이 매처에 바로 밀어 넣는다.
+ *
+ * 정규화 규칙:
+ * - 서식 문자(Cf)와 한글 채움 문자, 이체 선택자는 제거한다 (예: U+200B zero-width space)
+ * - 전각 ASCII(U+FF01~FF5E)와 전각 공백(U+3000)은 반각으로 바꾼다
+ * - 반각 한글 자모와 단독 조합형 자모는 호환용 자모(U+3131~3163)로 바꾼다
+ * - 초성+중성(+종성) 조합형 자모 연쇄는 완성형 음절로 합친다
+ * - 마지막으로 Character.toLowerCase를 적용한다
+ */
+public final class ModerationTextNormalizer {
+
+    private static final int NONE = -1;
+
+    private static final int HANGUL_SYLLABLE_BASE = 0xAC00;
+    private static final int CHOSEONG_BASE = 0x1100;
+    private static final int CHOSEONG_COUNT = 19;
+    private static final int JUNGSEONG_BASE = 0x1161;
+    private static final int JUNGSEONG_COUNT = 21;
+    private static final int JONGSEONG_BASE = 0x11A7; // 종성 없음(0) 다음부터 U+11A8
+    private static final int JONGSEONG_COUNT = 28;
+
+    // 조합형 초성 → 호환용 자모
+    private static final char[] CHOSEONG_COMPAT = {
+        'ㄱ', 'ㄲ', 'ㄴ', 'ㄷ', 'ㄸ', 'ㄹ', 'ㅁ', 'ㅂ', 'ㅃ', 'ㅅ',
+        'ㅆ', 'ㅇ', 'ㅈ', 'ㅉ', 'ㅊ', 'ㅋ', 'ㅌ', 'ㅍ', 'ㅎ'
+    };
+
+    // 조합형 종성(U+11A8~11C2) → 호환용 자모
+    private static final char[] JONGSEONG_COMPAT = {
+        'ㄱ', 'ㄲ', 'ㄳ', 'ㄴ', 'ㄵ', 'ㄶ', 'ㄷ', 'ㄹ', 'ㄺ', 'ㄻ',
+        'ㄼ', 'ㄽ', 'ㄾ', 'ㄿ', 'ㅀ', 'ㅁ', 'ㅂ', 'ㅄ', 'ㅅ', 'ㅆ',
+        'ㅇ', 'ㅈ', 'ㅊ', 'ㅋ', 'ㅌ', 'ㅍ', 'ㅎ'
+    };
+
+    private ModerationTextNormalizer() {
+        throw new AssertionError("Cannot instantiate ModerationTextNormalizer");
+    }
+
+    /**
+     * 정규화된 텍스트에 매처의 패턴이 포함되어 있는지 한 번의 순회로 확인한다.
+     * 입력 외의 객체를 할당하지 않는다.
+     */
+    public static boolean containsAny(AhoCorasickMatcher matcher, CharSequence text) {
+        int state = matcher.initialState();
+        int length = text.length();
+        int index = 0;
+        while (index < length) {
+            long step = step(text, index, length);
+            index = (int) (step >>> 32);
+            int codePoint = (int) step;
+            if (codePoint == NONE) {
+                continue;
+            }
+            if (Character.isBmpCodePoint(codePoint)) {
+                state = matcher.next(state, (char) codePoint);
+            } else {
+                state = matcher.next(state, Character.highSurrogate(codePoint));
+                if (matcher.isMatch(state)) {
+                    return true;
+                }
+                state = matcher.next(state, Character.lowSurrogate(codePoint));
+            }
+            if (matcher.isMatch(state)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 텍스트 전체를 정규화한 문자열을 반환한다. 사전 컴파일 등 검사 경로 밖에서 사용한다.
+     */
+    public static String normalize(CharSequence text) {
+        int length = text.length();
+        StringBuilder builder = new StringBuilder(length);
+        int index = 0;
+        while (index < length) {
+            long step = step(text, index, length);
+            index = (int) (step >>> 32);
+            int codePoint = (int) step;
+            if (codePoint != NONE) {
+                builder.appendCodePoint(codePoint);
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * index 위치에서 코드 포인트를 1개 이상 소비하고 출력 코드 포인트를 최대 1개 만든다.
+     *
+     * @return 상위 32비트는 다음 index, 하위 32비트는 출력 코드 포인트(없으면 NONE)
+     */
+    private static long step(CharSequence text, int index, int length) {
+        int codePoint = Character.codePointAt(text, index);
+        int next = index + Character.charCount(codePoint);
+
+        if (isInvisible(codePoint)) {
+            return pack(next, NONE);
+        }
+
+        int choseong = codePoint - CHOSEONG_BASE;
+        if (choseong >= 0 && choseong < CHOSEONG_COUNT) {
+            int jungseong = next < length ? text.charAt(next) - JUNGSEONG_BASE : NONE;
+            if (jungseong >= 0 && jungseong < JUNGSEONG_COUNT) {
+                next++;
+                int jongseong = next < length ? text.charAt(next) - JONGSEONG_BASE : NONE;
+                if (jongseong > 0 && jongseong < JONGSEONG_COUNT) {
+                    next++;
+                } else {
+                    jongseong = 0;
+                }
+                int syllable = HANGUL_SYLLABLE_BASE
+                        + (choseong * JUNGSEONG_COUNT + jungseong) * JONGSEONG_COUNT + jongseong;
+                return pack(next, syllable);
+            }
+            return pack(next, CHOSEONG_COMPAT[choseong]);
+        }
+
+        return pack(next, Character.toLowerCase(foldWidth(codePoint)));
+    }
+
+    private static int foldWidth(int codePoint) {
+        // 전각 ASCII
+        if (codePoint >= 0xFF01 && codePoint <= 0xFF5E) {
+            return codePoint - 0xFEE0;
+        }
+        if (codePoint == 0x3000) {
+            return ' ';
+        }
+        // 단독 조합형 중성/종성
+        if (codePoint >= JUNGSEONG_BASE && codePoint < JUNGSEONG_BASE + JUNGSEONG_COUNT) {
+            return 0x314F + (codePoint - JUNGSEONG_BASE);
+        }
+        if (codePoint > JONGSEONG_BASE && codePoint < JONGSEONG_BASE + JONGSEONG_COUNT) {
+            return JONGSEONG_COMPAT[codePoint - JONGSEONG_BASE - 1];
+        }
+        // 반각 한글 자모 (U+FFA1~FFDC, 모음 구간 사이의 빈 코드는 그대로 둔다)
+        if (codePoint >= 0xFFA1 && codePoint <= 0xFFBE) {
+            return 0x3131 + (codePoint - 0xFFA1);
+        }
+        if (codePoint >= 0xFFC2 && codePoint <= 0xFFC7) {
+            return 0x314F + (codePoint - 0xFFC2);
+        }
+        if (codePoint >= 0xFFCA && codePoint <= 0xFFCF) {
+            return 0x3155 + (codePoint - 0xFFCA);
+        }
+        if (codePoint >= 0xFFD2 && codePoint <= 0xFFD7) {
+            return 0x315B + (codePoint - 0xFFD2);
+        }
+        if (codePoint >= 0xFFDA && codePoint <= 0xFFDC) {
+            return 0x3161 + (codePoint - 0xFFDA);
+        }
+        return codePoint;
+    }
+
+    private static boolean isInvisible(int codePoint) {
+        return switch (codePoint) {
+            // 한글 채움 문자
+            case 0x115F, 0x1160, 0x3164, 0xFFA0 -> true;
+            // 조합용 자소 결합 방지 문자
+            case 0x034F -> true;
+            default -> (codePoint >= 0xFE00 && codePoint <= 0xFE0F)
+                    || Character.getType(codePoint) == Character.FORMAT;
+        };
+    }
+
+    private static long pack(int nextIndex, int codePoint) {
+        return ((long) nextIndex << 32) | (codePoint & 0xFFFFFFFFL);
+    }
+}
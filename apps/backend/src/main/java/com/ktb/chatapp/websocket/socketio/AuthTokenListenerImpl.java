@@ -8,6 +8,7 @@ import com.ktb.chatapp.repository.UserRepository;
 import com.ktb.chatapp.service.JwtService;
 import com.ktb.chatapp.service.SessionService;
 import com.ktb.chatapp.service.SessionValidationResult;
+import com.ktb.chatapp.websocket.socketio.ai.AiChunkMode;
 import com.ktb.chatapp.websocket.socketio.handler.ConnectionLoginHandler;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
@@ -20,6 +21,7 @@ import org.springframework.stereotype.Component;
 /**
  * Socket.IO Authorization Handler
  * socket.handshake.auth.token과 sessionId를 처리한다.
+ * auth.aiChunkMode로 AI 스트리밍 청크 형식을 협상한다 (AiChunkMode).
  */
 @Slf4j
 @Component
@@ -71,6 +73,7 @@ public class AuthTokenListenerImpl implements AuthTokenListener {
             log.info("Socket.IO connection authorized for user: {} ({})", user.getName(), userId);
             
             var socketUser = new SocketUser(user.getId(), user.getName(), sessionId, client.getSessionId().toString());
+            client.set(AiChunkMode.CLIENT_KEY, AiChunkMode.from(authToken.get(AiChunkMode.CLIENT_KEY)));
             socketIOChatHandlerProvider.getObject().onConnect(client, socketUser);
             return AuthTokenResult.AuthTokenResultSuccess;
         } catch (Exception e) {
@@ -1,10 +1,12 @@
 package com.ktb.chatapp.websocket.socketio;
 
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Data store interface for chat-related data storage.
- * Provides key-value storage operations for chat user and room data.
+ * Provides key-value storage operations for chat user and room data,
+ * plus atomic set operations for membership data.
  */
 public interface ChatDataStore {
     
@@ -27,11 +29,50 @@ public interface ChatDataStore {
     void set(String key, Object value);
     
     /**
-     * Delete a value by key
+     * Delete a value or a set by key
      *
      * @param key the storage key
      */
     void delete(String key);
     
+    /**
+     * Number of stored values (sets are not counted)
+     */
     int size();
+    
+    /**
+     * Atomically add a member to the set stored at key, creating the set if needed
+     *
+     * @param key the storage key
+     * @param member the member to add
+     * @return true if the member was not already present
+     */
+    boolean sAdd(String key, String member);
+    
+    /**
+     * Atomically remove a member from the set stored at key.
+     * The set is deleted when its last member is removed.
+     *
+     * @param key the storage key
+     * @param member the member to remove
+     * @return true if the member was present
+     */
+    boolean sRem(String key, String member);
+    
+    /**
+     * Snapshot of the set stored at key
+     *
+     * @param key the storage key
+     * @return an unmodifiable copy of the members, or empty set if absent
+     */
+    Set<String> sMembers(String key);
+    
+    /**
+     * Check set membership without reading the whole set
+     *
+     * @param key the storage key
+     * @param member the member to check
+     * @return true if the member is in the set
+     */
+    boolean sIsMember(String key, String member);
 }
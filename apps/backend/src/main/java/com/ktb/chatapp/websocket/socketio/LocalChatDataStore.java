@@ -1,6 +1,7 @@
 package com.ktb.chatapp.websocket.socketio;
 
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
@@ -10,6 +11,7 @@ import java.util.concurrent.ConcurrentHashMap;
 public class LocalChatDataStore implements ChatDataStore {
     
     private final ConcurrentHashMap<String, Object> storage = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Set<String>> sets = new ConcurrentHashMap<>();
     
     @Override
     public <T> Optional<T> get(String key, Class<T> type) {
@@ -33,10 +35,44 @@ public class LocalChatDataStore implements ChatDataStore {
     @Override
     public void delete(String key) {
         storage.remove(key);
+        sets.remove(key);
     }
     
     @Override
     public int size() {
         return storage.size();
     }
+    
+    @Override
+    public boolean sAdd(String key, String member) {
+        boolean[] added = new boolean[1];
+        sets.compute(key, (k, members) -> {
+            Set<String> target = members != null ? members : ConcurrentHashMap.newKeySet();
+            added[0] = target.add(member);
+            return target;
+        });
+        return added[0];
+    }
+    
+    @Override
+    public boolean sRem(String key, String member) {
+        boolean[] removed = new boolean[1];
+        sets.computeIfPresent(key, (k, members) -> {
+            removed[0] = members.remove(member);
+            return members.isEmpty() ? null : members;
+        });
+        return removed[0];
+    }
+    
+    @Override
+    public Set<String> sMembers(String key) {
+        Set<String> members = sets.get(key);
+        return members != null ? Set.copyOf(members) : Set.of();
+    }
+    
+    @Override
+    public boolean sIsMember(String key, String member) {
+        Set<String> members = sets.get(key);
+        return members != null && members.contains(member);
+    }
 }
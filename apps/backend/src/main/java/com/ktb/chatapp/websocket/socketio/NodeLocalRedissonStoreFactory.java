@@ -0,0 +1,31 @@
+package com.ktb.chatapp.websocket.socketio;
+
+import com.corundumstudio.socketio.store.MemoryStore;
+import com.corundumstudio.socketio.store.RedissonStoreFactory;
+import com.corundumstudio.socketio.store.Store;
+import java.util.UUID;
+import org.redisson.api.RedissonClient;
+
+/**
+ * Redis pub/sub based StoreFactory for multi-node Socket.IO.
+ * Room broadcasts, joins and leaves are relayed to the other nodes through Redis,
+ * while per-connection client stores (client.get("user")) stay in local memory
+ * because a connection only lives on one node.
+ * The RedissonClient lifecycle is owned by the Spring context, not by the server.
+ */
+public class NodeLocalRedissonStoreFactory extends RedissonStoreFactory {
+
+    public NodeLocalRedissonStoreFactory(RedissonClient redissonClient) {
+        super(redissonClient);
+    }
+
+    @Override
+    public Store createStore(UUID sessionId) {
+        return new MemoryStore();
+    }
+
+    @Override
+    public void shutdown() {
+        pubSubStore().shutdown();
+    }
+}
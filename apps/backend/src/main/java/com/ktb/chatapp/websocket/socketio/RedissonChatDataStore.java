@@ -0,0 +1,193 @@
+package com.ktb.chatapp.websocket.socketio;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RAtomicLong;
+import org.redisson.api.RBucket;
+import org.redisson.api.RSet;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+
+/**
+ * Redis implementation of ChatDataStore using Redisson.
+ * Values are stored as JSON strings so every backend node sees the same
+ * connected users and room memberships.
+ * Set operations map to native Redis SADD/SREM/SMEMBERS/SISMEMBER.
+ * Value and set keys expire after keyTtl, and each node keeps refreshing the TTL of the keys
+ * it wrote every keyTtl / 3, so entries of long-lived connections stay while entries left
+ * by a crashed node expire once nobody refreshes them.
+ * The size counter is rebuilt from a key scan at startup and every reconcileInterval
+ * to drop the drift caused by expired or orphaned keys.
+ */
+@Slf4j
+public class RedissonChatDataStore implements ChatDataStore {
+
+    static final Duration DEFAULT_KEY_TTL = Duration.ofMinutes(10);
+    static final Duration DEFAULT_RECONCILE_INTERVAL = Duration.ofMinutes(5);
+
+    private static final String KEY_PREFIX = "chat:store:";
+    private static final String SET_KEY_PREFIX = "chat:set:";
+    private static final String SIZE_KEY = "chat:store-size";
+
+    private final RedissonClient redissonClient;
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .build();
+    private final RAtomicLong sizeCounter;
+    private final Duration keyTtl;
+    private final long reconcileIntervalNanos;
+    private final AtomicLong lastReconciledAt = new AtomicLong();
+    private final Set<String> ownedKeys = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService ttlRefresher =
+            Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name("chat-store-ttl-refresh").factory());
+
+    public RedissonChatDataStore(RedissonClient redissonClient) {
+        this(redissonClient, DEFAULT_KEY_TTL, DEFAULT_RECONCILE_INTERVAL);
+    }
+
+    public RedissonChatDataStore(RedissonClient redissonClient, Duration keyTtl, Duration reconcileInterval) {
+        this.redissonClient = redissonClient;
+        this.sizeCounter = redissonClient.getAtomicLong(SIZE_KEY);
+        this.keyTtl = keyTtl;
+        this.reconcileIntervalNanos = reconcileInterval.toNanos();
+        reconcileSize();
+        long refreshMillis = Math.max(1, keyTtl.toMillis() / 3);
+        ttlRefresher.scheduleWithFixedDelay(this::refreshTtl, refreshMillis, refreshMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public <T> Optional<T> get(String key, Class<T> type) {
+        String json = bucket(key).get();
+        if (json == null) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(objectMapper.readValue(json, type));
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to deserialize chat store value - key: {}, type: {}", key, type.getSimpleName(), e);
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void set(String key, Object value) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize value for key " + key, e);
+        }
+        if (bucket(key).getAndSet(json, keyTtl.toMillis(), TimeUnit.MILLISECONDS) == null) {
+            sizeCounter.incrementAndGet();
+        }
+        ownedKeys.add(KEY_PREFIX + key);
+    }
+
+    @Override
+    public void delete(String key) {
+        if (bucket(key).delete()) {
+            sizeCounter.decrementAndGet();
+        }
+        set(key).delete();
+        ownedKeys.remove(KEY_PREFIX + key);
+        ownedKeys.remove(SET_KEY_PREFIX + key);
+    }
+
+    /**
+     * Number of keys across all nodes, tracked with a counter instead of a key scan.
+     * A due reconcile runs in the background so callers never wait for the scan.
+     */
+    @Override
+    public int size() {
+        long last = lastReconciledAt.get();
+        long now = System.nanoTime();
+        if (now - last >= reconcileIntervalNanos && lastReconciledAt.compareAndSet(last, now)) {
+            Thread.ofVirtual().name("chat-store-reconcile").start(this::reconcileSize);
+        }
+        return (int) Math.max(0, sizeCounter.get());
+    }
+
+    /**
+     * Reset the size counter to the number of value keys currently in Redis.
+     * Writes racing with the scan can leave a small error until the next reconcile.
+     */
+    void reconcileSize() {
+        lastReconciledAt.set(System.nanoTime());
+        try {
+            long actual = redissonClient.getKeys().getKeysStreamByPattern(KEY_PREFIX + "*").count();
+            long previous = sizeCounter.getAndSet(actual);
+            if (previous != actual) {
+                log.info("Chat store size reconciled - counter: {}, keys: {}", previous, actual);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to reconcile chat store size", e);
+        }
+    }
+
+    /**
+     * Extend the TTL of every key this node wrote.
+     * Keys deleted or expired elsewhere are dropped from the refresh list.
+     */
+    void refreshTtl() {
+        for (String name : ownedKeys) {
+            try {
+                if (!redissonClient.getKeys().expire(name, keyTtl.toMillis(), TimeUnit.MILLISECONDS)) {
+                    ownedKeys.remove(name);
+                }
+            } catch (Exception e) {
+                log.warn("Failed to refresh chat store TTL - key: {}", name, e);
+            }
+        }
+    }
+
+    /**
+     * Stop refreshing TTLs; the keys of this node expire after keyTtl as if it had crashed.
+     */
+    public void close() {
+        ttlRefresher.shutdownNow();
+    }
+
+    @Override
+    public boolean sAdd(String key, String member) {
+        RSet<String> set = set(key);
+        boolean added = set.add(member);
+        set.expire(keyTtl);
+        ownedKeys.add(SET_KEY_PREFIX + key);
+        return added;
+    }
+
+    @Override
+    public boolean sRem(String key, String member) {
+        return set(key).remove(member);
+    }
+
+    @Override
+    public Set<String> sMembers(String key) {
+        return Set.copyOf(set(key).readAll());
+    }
+
+    @Override
+    public boolean sIsMember(String key, String member) {
+        return set(key).contains(member);
+    }
+
+    private RSet<String> set(String key) {
+        return redissonClient.getSet(SET_KEY_PREFIX + key, StringCodec.INSTANCE);
+    }
+
+    private RBucket<String> bucket(String key) {
+        return redissonClient.getBucket(KEY_PREFIX + key, StringCodec.INSTANCE);
+    }
+}
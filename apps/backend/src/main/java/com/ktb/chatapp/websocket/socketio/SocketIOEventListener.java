@@ -1,7 +1,7 @@
 package com.ktb.chatapp.websocket.socketio;
 
-import com.corundumstudio.socketio.SocketIOServer;
 import com.ktb.chatapp.event.*;
+import com.ktb.chatapp.websocket.socketio.broadcast.RoomBroadcastBus;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -17,16 +17,15 @@ import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.*;
 @RequiredArgsConstructor
 public class SocketIOEventListener {
 
-    private final SocketIOServer socketIOServer;
+    private final RoomBroadcastBus roomBroadcastBus;
 
     @EventListener
     public void handleSessionEndedEvent(SessionEndedEvent event) {
         try {
-            socketIOServer.getRoomOperations("user:" + event.getUserId())
-                    .sendEvent("session_ended", Map.of(
-                            "reason", event.getReason(),
-                            "message", event.getMessage()
-                    ));
+            roomBroadcastBus.broadcast("user:" + event.getUserId(), "session_ended", Map.of(
+                    "reason", event.getReason(),
+                    "message", event.getMessage()
+            ));
             log.info("session_ended 이벤트 발송: userId={}, reason={}", event.getUserId(), event.getReason());
         } catch (Exception e) {
             log.error("session_ended 이벤트 발송 실패: userId={}", event.getUserId(), e);
@@ -36,7 +35,7 @@ public class SocketIOEventListener {
     @EventListener
     public void handleRoomCreatedEvent(RoomCreatedEvent event) {
         try {
-            socketIOServer.getRoomOperations("room-list").sendEvent(ROOM_CREATED, event.getRoomResponse());
+            roomBroadcastBus.broadcast("room-list", ROOM_CREATED, event.getRoomResponse());
             log.info("roomCreated 이벤트 발송: roomId={}", event.getRoomResponse().getId());
         } catch (Exception e) {
             log.error("roomCreated 이벤트 발송 실패", e);
@@ -46,7 +45,7 @@ public class SocketIOEventListener {
     @EventListener
     public void handleRoomUpdatedEvent(RoomUpdatedEvent event) {
         try {
-            socketIOServer.getRoomOperations(event.getRoomId()).sendEvent(ROOM_UPDATE, event.getRoomResponse());
+            roomBroadcastBus.broadcast(event.getRoomId(), ROOM_UPDATE, event.getRoomResponse());
             log.info("roomUpdate 이벤트 발송: roomId={}", event.getRoomId());
         } catch (Exception e) {
             log.error("roomUpdate 이벤트 발송 실패: roomId={}", event.getRoomId(), e);
@@ -59,10 +58,13 @@ public class SocketIOEventListener {
             Map<String, Object> data = Map.of(
                 "messageId", event.getMessageId(),
                 "aiType", event.getAiType(),
-                "timestamp", event.getStartTime()
+                "timestamp", event.getStartTime(),
+                "metadata", Map.of(
+                    "queued", event.getQueuePosition() > 0,
+                    "queuePosition", event.getQueuePosition()
+                )
             );
-            socketIOServer.getRoomOperations(event.getRoomId())
-                    .sendEvent(AI_MESSAGE_START, data);
+            roomBroadcastBus.broadcast(event.getRoomId(), AI_MESSAGE_START, data);
             log.info("aiMessageStart 이벤트 발송: roomId={}, messageId={}",
                     event.getRoomId(), event.getMessageId());
         } catch (Exception e) {
@@ -70,22 +72,6 @@ public class SocketIOEventListener {
         }
     }
 
-    @EventListener
-    public void handleAiMessageChunkEvent(AiMessageChunkEvent event) {
-        try {
-            Map<String, Object> data = Map.of(
-                "messageId", event.getMessageId(),
-                "fullContent", event.getFullContent(),
-                "isCodeBlock", event.isCodeBlock(),
-                "isComplete", false
-            );
-            socketIOServer.getRoomOperations(event.getRoomId())
-                    .sendEvent(AI_MESSAGE_CHUNK, data);
-        } catch (Exception e) {
-            log.error("aiMessageChunk 이벤트 발송 실패: roomId={}", event.getRoomId(), e);
-        }
-    }
-
     @EventListener
     public void handleAiMessageCompleteEvent(AiMessageSavedEvent event) {
         
@@ -96,8 +82,7 @@ public class SocketIOEventListener {
                 "aiType", event.getAiType(),
                 "timestamp", event.getStartTime()
             );
-            socketIOServer.getRoomOperations(event.getRoomId())
-                    .sendEvent(AI_MESSAGE_COMPLETE, data);
+            roomBroadcastBus.broadcast(event.getRoomId(), AI_MESSAGE_COMPLETE, data);
             log.info("aiMessageComplete 이벤트 발송: roomId={}, messageId={}",
                     event.getRoomId(), event.getSavedMessageId());
         } catch (Exception e) {
@@ -113,8 +98,7 @@ public class SocketIOEventListener {
                 "error", event.getErrorMessage(),
                 "aiType", event.getAiType()
             );
-            socketIOServer.getRoomOperations(event.getRoomId())
-                    .sendEvent(AI_MESSAGE_ERROR, data);
+            roomBroadcastBus.broadcast(event.getRoomId(), AI_MESSAGE_ERROR, data);
             log.error("aiMessageError 이벤트 발송: roomId={}, messageId={}, error={}",
                     event.getRoomId(), event.getMessageId(), event.getErrorMessage());
         } catch (Exception e) {
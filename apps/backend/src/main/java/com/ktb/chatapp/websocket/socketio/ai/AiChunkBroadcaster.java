@@ -0,0 +1,232 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.ktb.chatapp.websocket.socketio.broadcast.RoomBroadcastBus;
+import com.ktb.chatapp.websocket.socketio.handler.StreamingSession;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.AI_MESSAGE_CHUNK;
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.AI_MESSAGE_ERROR;
+
+/**
+ * AI 스트리밍 청크를 방 브로드캐스트로 바로 보낸다.
+ * 토큰마다 ApplicationEvent를 발행하지 않고, 모델 응답 Flux를 batch-window 동안 모아
+ * 여러 토큰을 하나의 aiMessageChunk 이벤트(프레임)로 보낸다.
+ *
+ * FULL 형식 클라이언트에는 기존처럼 전체 내용을, DELTA 형식 클라이언트에는 프레임의 새 내용과 순번만 보낸다.
+ * DELTA 형식에도 snapshot-interval 프레임마다 전체 내용을 실어 스트리밍 도중 입장한 클라이언트가 따라잡게 한다.
+ * 형식별 전달이 불가능한 구성에서는 모두에게 FULL 형식을 보낸다 (seq 필드 없음).
+ *
+ * 노드 사이에는 DELTA 프레임만 중계한다. FULL 페이로드는 각 노드가 자기 노드에 FULL 형식 소켓이 있을 때만
+ * 만들어 로컬로 보내며, 다른 노드의 스트림은 받은 DELTA 프레임을 이어 붙여 전체 내용을 다시 만든다.
+ * 이어 붙이는 도중 프레임이 빠지면 다음 스냅샷에서 다시 맞춘다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
+public class AiChunkBroadcaster {
+
+    // 창 안에서도 프레임 하나가 지나치게 커지지 않도록 하는 상한
+    private static final int MAX_CHUNKS_PER_FRAME = 256;
+    // 완료 이벤트에는 스트리밍 messageId가 없으므로 이 시간 동안 프레임이 없던 다른 노드 스트림을 정리한다
+    private static final long REMOTE_STREAM_IDLE_MILLIS = 60_000;
+
+    private final RoomBroadcastBus roomBroadcastBus;
+    private final MeterRegistry meterRegistry;
+    private final Duration batchWindow;
+    private final int snapshotInterval;
+
+    private final Counter chunkCounter;
+    private final Counter frameCounter;
+    private final DistributionSummary chunksPerFrame;
+    // 다른 노드에서 생성 중인 스트림의 전체 내용 (messageId별, 이 노드에 FULL 형식 소켓이 있는 방만)
+    private final Map<String, RemoteStream> remoteStreams = new ConcurrentHashMap<>();
+
+    public AiChunkBroadcaster(
+            RoomBroadcastBus roomBroadcastBus,
+            MeterRegistry meterRegistry,
+            @Value("${chatapp.ai.chunk.batch-window:40ms}") Duration batchWindow,
+            @Value("${chatapp.ai.chunk.snapshot-interval:50}") int snapshotInterval) {
+        this.roomBroadcastBus = roomBroadcastBus;
+        this.meterRegistry = meterRegistry;
+        this.batchWindow = batchWindow;
+        this.snapshotInterval = snapshotInterval;
+
+        this.chunkCounter = Counter.builder("ai.stream.chunks")
+                .description("AI response chunks received from the model")
+                .register(meterRegistry);
+        this.frameCounter = Counter.builder("ai.stream.frames")
+                .description("aiMessageChunk frames broadcast to rooms")
+                .register(meterRegistry);
+        this.chunksPerFrame = DistributionSummary.builder("ai.stream.frame.chunks")
+                .description("Model chunks batched into one aiMessageChunk frame")
+                .register(meterRegistry);
+
+        roomBroadcastBus.addRemoteListener(AI_MESSAGE_CHUNK, this::onRemoteChunk);
+        roomBroadcastBus.addRemoteListener(AI_MESSAGE_ERROR,
+                (roomId, payload) -> remoteStreams.remove(payload.path("messageId").asText()));
+    }
+
+    /**
+     * 모델 청크를 batch-window 단위 프레임으로 묶는다. 창이 0이면 청크마다 프레임을 만든다.
+     */
+    public Flux<List<ChunkData>> frames(Flux<ChunkData> chunks) {
+        if (batchWindow.isZero() || batchWindow.isNegative()) {
+            return chunks.map(List::of);
+        }
+        return chunks.bufferTimeout(MAX_CHUNKS_PER_FRAME, batchWindow);
+    }
+
+    /**
+     * 세션에 이미 누적된 프레임 하나를 방에 보낸다.
+     *
+     * @param delta 이번 프레임의 청크를 이어 붙인 내용
+     * @param sequence 스트림 안에서 1부터 증가하는 프레임 순번
+     * @param chunks 이번 프레임에 묶인 모델 청크 수
+     */
+    public void broadcast(StreamingSession session, String delta, long sequence, boolean codeBlock, int chunks) {
+        chunkCounter.increment(chunks);
+        frameCounter.increment();
+        chunksPerFrame.record(chunks);
+
+        String roomId = session.getRoomId();
+        try {
+            if (!roomBroadcastBus.supportsChunkModes()) {
+                roomBroadcastBus.broadcast(roomId, AI_MESSAGE_CHUNK,
+                        fullPayload(session.getMessageId(), session.getContent(), codeBlock));
+                return;
+            }
+            // 전체 내용은 이 노드에 FULL 형식 소켓이 있을 때만 만든다
+            if (roomBroadcastBus.hasLocalAudience(roomId, AiChunkMode.FULL)) {
+                roomBroadcastBus.broadcastLocal(roomId, AI_MESSAGE_CHUNK,
+                        fullPayload(session.getMessageId(), session.getContent(), codeBlock), AiChunkMode.FULL);
+            }
+
+            Map<String, Object> deltaData = new HashMap<>();
+            deltaData.put("messageId", session.getMessageId());
+            deltaData.put("seq", sequence);
+            deltaData.put("delta", delta);
+            deltaData.put("isCodeBlock", codeBlock);
+            deltaData.put("isComplete", false);
+            if (snapshotInterval > 0 && sequence % snapshotInterval == 0) {
+                deltaData.put("snapshot", true);
+                deltaData.put("fullContent", session.getContent());
+            }
+            roomBroadcastBus.broadcast(roomId, AI_MESSAGE_CHUNK, deltaData, AiChunkMode.DELTA);
+        } catch (Exception e) {
+            log.error("aiMessageChunk 이벤트 발송 실패: roomId={}", roomId, e);
+        }
+    }
+
+    /**
+     * 다른 노드의 DELTA 프레임으로 전체 내용을 이어 만들어 이 노드의 FULL 형식 소켓에 보낸다.
+     */
+    private void onRemoteChunk(String roomId, JsonNode data) {
+        if (!data.has("seq")) {
+            return;
+        }
+        String messageId = data.path("messageId").asText();
+        if (!roomBroadcastBus.hasLocalAudience(roomId, AiChunkMode.FULL)) {
+            remoteStreams.remove(messageId);
+            return;
+        }
+
+        long sequence = data.path("seq").asLong();
+        RemoteStream stream = remoteStreams.get(messageId);
+        String content;
+        if (data.path("snapshot").asBoolean(false)) {
+            stream = stream != null ? stream : startRemoteStream(messageId);
+            content = stream.reset(data.path("fullContent").asText(), sequence);
+        } else if (stream == null) {
+            if (sequence != 1) {
+                // 스트리밍 도중부터 받았으면 다음 스냅샷에서 따라잡는다
+                return;
+            }
+            content = startRemoteStream(messageId).append(data.path("delta").asText(), sequence);
+        } else {
+            content = stream.append(data.path("delta").asText(), sequence);
+        }
+        if (content == null) {
+            remoteStreams.remove(messageId);
+            return;
+        }
+        roomBroadcastBus.broadcastLocal(roomId, AI_MESSAGE_CHUNK,
+                fullPayload(messageId, content, data.path("isCodeBlock").asBoolean()), AiChunkMode.FULL);
+    }
+
+    private RemoteStream startRemoteStream(String messageId) {
+        long now = System.currentTimeMillis();
+        remoteStreams.values().removeIf(stream -> now - stream.lastUpdate > REMOTE_STREAM_IDLE_MILLIS);
+        RemoteStream stream = new RemoteStream();
+        remoteStreams.put(messageId, stream);
+        return stream;
+    }
+
+    private static Map<String, Object> fullPayload(String messageId, String content, boolean codeBlock) {
+        return Map.of(
+            "messageId", messageId,
+            "fullContent", content,
+            "isCodeBlock", codeBlock,
+            "isComplete", false
+        );
+    }
+
+    /**
+     * 스트림이 끝났을 때 스트림 하나의 초당 청크 수와 초당 프레임 수를 기록한다.
+     */
+    public void recordStream(StreamingSession session, long chunks, long frames) {
+        double seconds = Math.max(session.generationTimeMillis(), 1) / 1000.0;
+        rate("ai.stream.chunk.rate", "Model chunks per second of one AI stream", session).record(chunks / seconds);
+        rate("ai.stream.frame.rate", "Broadcast frames per second of one AI stream", session).record(frames / seconds);
+    }
+
+    private DistributionSummary rate(String name, String description, StreamingSession session) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .baseUnit("per_second")
+                .tag("aiType", String.valueOf(session.getAiType()))
+                .register(meterRegistry);
+    }
+
+    /**
+     * 다른 노드 스트림 하나의 누적 내용. 같은 방의 프레임은 순서대로 한 번에 하나씩 도착한다.
+     */
+    private static final class RemoteStream {
+        private final StringBuilder content = new StringBuilder();
+        private long sequence;
+        private volatile long lastUpdate = System.currentTimeMillis();
+
+        String reset(String fullContent, long nextSequence) {
+            content.setLength(0);
+            content.append(fullContent);
+            sequence = nextSequence;
+            lastUpdate = System.currentTimeMillis();
+            return fullContent;
+        }
+
+        /**
+         * @return 누적된 전체 내용, 프레임이 빠졌으면 null
+         */
+        String append(String delta, long nextSequence) {
+            if (nextSequence != sequence + 1) {
+                return null;
+            }
+            content.append(delta);
+            sequence = nextSequence;
+            lastUpdate = System.currentTimeMillis();
+            return content.toString();
+        }
+    }
+}
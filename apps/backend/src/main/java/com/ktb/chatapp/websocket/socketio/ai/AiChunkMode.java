@@ -0,0 +1,26 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import com.corundumstudio.socketio.SocketIOClient;
+
+/**
+ * 클라이언트가 받는 aiMessageChunk 페이로드 형식.
+ * 연결 시 handshake auth의 aiChunkMode 값으로 협상하며, 값이 없으면 기존 형식(FULL)을 쓴다.
+ *
+ * FULL: 청크마다 지금까지의 전체 내용(fullContent)을 보낸다.
+ * DELTA: 새로 생성된 부분(delta)과 순번(seq)만 보내고, 주기적으로 전체 내용 스냅샷을 함께 보낸다.
+ */
+public enum AiChunkMode {
+    FULL,
+    DELTA;
+
+    public static final String CLIENT_KEY = "aiChunkMode";
+
+    public static AiChunkMode from(Object value) {
+        return value != null && "delta".equalsIgnoreCase(value.toString()) ? DELTA : FULL;
+    }
+
+    public static AiChunkMode of(SocketIOClient client) {
+        AiChunkMode mode = client.get(CLIENT_KEY);
+        return mode != null ? mode : FULL;
+    }
+}
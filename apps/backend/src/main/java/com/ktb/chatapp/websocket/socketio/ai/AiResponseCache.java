@@ -0,0 +1,172 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import com.ktb.chatapp.model.AiType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+/**
+ * AI 응답 캐시.
+ * (AI 타입, 정규화한 질문)이 같은 요청은 모델을 다시 호출하지 않고 완성된 응답을 재생한다.
+ * 질문은 유니코드 정규화(NFKC), 소문자 변환, 연속 공백 축약 후 비교한다.
+ *
+ * 최대 크기를 넘으면 가장 오래 사용되지 않은 항목부터, TTL이 지나면 조회 시점에 제거한다.
+ * excluded-personas에 지정한 AI 타입(WAYNE_AI 또는 wayneAI 형식)은 캐시하지 않는다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
+public class AiResponseCache {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    // 재생 시 줄 단위로 청크를 나눠 코드 블록 마커(```)가 청크 사이에서 쪼개지지 않게 한다
+    private static final Pattern LINE_END = Pattern.compile("(?<=\n)");
+
+    private final boolean enabled;
+    private final int maximumSize;
+    private final long ttlNanos;
+    private final Set<String> excludedPersonas;
+    private final MeterRegistry meterRegistry;
+    private final Map<Key, Entry> entries;
+
+    private final Counter sizeEvictionCounter;
+    private final Counter expiredEvictionCounter;
+
+    public AiResponseCache(
+            MeterRegistry meterRegistry,
+            @Value("${chatapp.ai.response-cache.enabled:true}") boolean enabled,
+            @Value("${chatapp.ai.response-cache.maximum-size:1000}") int maximumSize,
+            @Value("${chatapp.ai.response-cache.ttl:10m}") Duration ttl,
+            @Value("${chatapp.ai.response-cache.excluded-personas:}") List<String> excludedPersonas) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled && maximumSize > 0;
+        this.maximumSize = maximumSize;
+        this.ttlNanos = ttl.toNanos();
+        this.excludedPersonas = excludedPersonas.stream()
+                .map(AiResponseCache::personaKey)
+                .filter(persona -> !persona.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() > AiResponseCache.this.maximumSize) {
+                    sizeEvictionCounter.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        this.sizeEvictionCounter = evictionCounter("size");
+        this.expiredEvictionCounter = evictionCounter("expired");
+        Gauge.builder("ai.response.cache.size", this, AiResponseCache::size)
+                .description("Cached AI responses")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 캐시 대상 페르소나인지 여부. 대상이 아니면 조회와 저장을 모두 건너뛴다.
+     */
+    public boolean isCacheable(AiType aiType) {
+        return enabled && aiType != null && !excludedPersonas.contains(personaKey(aiType.name()));
+    }
+
+    public Optional<String> get(AiType aiType, String query) {
+        if (!isCacheable(aiType)) {
+            requestCounter(aiType, "bypass").increment();
+            return Optional.empty();
+        }
+        String content;
+        synchronized (this) {
+            content = getIfFresh(new Key(aiType, normalize(query)));
+        }
+        requestCounter(aiType, content != null ? "hit" : "miss").increment();
+        return Optional.ofNullable(content);
+    }
+
+    /**
+     * 정상 완료된 응답만 저장한다.
+     */
+    public void put(AiType aiType, String query, String content) {
+        if (!isCacheable(aiType) || content == null || content.isBlank()) {
+            return;
+        }
+        Key key = new Key(aiType, normalize(query));
+        synchronized (this) {
+            entries.put(key, new Entry(content, System.nanoTime()));
+        }
+    }
+
+    /**
+     * 캐시된 응답을 모델 스트림과 같은 형태의 청크 스트림으로 재생한다.
+     */
+    public Flux<String> replay(String content) {
+        return Flux.fromArray(LINE_END.split(content));
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    static String normalize(String query) {
+        if (query == null) {
+            return "";
+        }
+        String normalized = Normalizer.normalize(query, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        return WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+    }
+
+    private String getIfFresh(Key key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (System.nanoTime() - entry.storedAtNanos() >= ttlNanos) {
+            entries.remove(key);
+            expiredEvictionCounter.increment();
+            return null;
+        }
+        return entry.content();
+    }
+
+    // WAYNE_AI와 wayneAI를 같은 페르소나로 본다
+    private static String personaKey(String persona) {
+        return persona.replace("_", "").trim().toLowerCase(Locale.ROOT);
+    }
+
+    private Counter requestCounter(AiType aiType, String result) {
+        return Counter.builder("ai.response.cache.requests")
+                .description("AI response cache lookups")
+                .tag("aiType", String.valueOf(aiType))
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private Counter evictionCounter(String cause) {
+        return Counter.builder("ai.response.cache.evictions")
+                .description("AI response cache evictions")
+                .tag("cause", cause)
+                .register(meterRegistry);
+    }
+
+    private record Key(AiType aiType, String query) {
+    }
+
+    private record Entry(String content, long storedAtNanos) {
+    }
+}
@@ -8,8 +8,11 @@ import com.ktb.chatapp.model.AiType;
 import com.ktb.chatapp.model.Message;
 import com.ktb.chatapp.model.MessageType;
 import com.ktb.chatapp.repository.MessageRepository;
+import com.ktb.chatapp.service.RecentMessageCache;
+import com.ktb.chatapp.websocket.socketio.handler.MessageResponseMapper;
 import com.ktb.chatapp.websocket.socketio.handler.StreamingSession;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.chat.client.ChatClient;
@@ -31,14 +34,32 @@ public class AiService {
     private final ChatClient chatClient;
     private final ApplicationEventPublisher eventPublisher;
     private final MessageRepository messageRepository;
+    private final MessageResponseMapper messageResponseMapper;
+    private final RecentMessageCache recentMessageCache;
+    private final AiChunkBroadcaster chunkBroadcaster;
+    private final AiStreamScheduler streamScheduler;
+    private final AiResponseCache responseCache;
+    private final AiStreamRegistry streamRegistry;
 
     public AiService(
             ChatClient.Builder chatClientBuilder,
             ApplicationEventPublisher eventPublisher,
-            MessageRepository messageRepository) {
+            MessageRepository messageRepository,
+            MessageResponseMapper messageResponseMapper,
+            RecentMessageCache recentMessageCache,
+            AiChunkBroadcaster chunkBroadcaster,
+            AiStreamScheduler streamScheduler,
+            AiResponseCache responseCache,
+            AiStreamRegistry streamRegistry) {
         this.chatClient = chatClientBuilder.build();
         this.eventPublisher = eventPublisher;
         this.messageRepository = messageRepository;
+        this.messageResponseMapper = messageResponseMapper;
+        this.recentMessageCache = recentMessageCache;
+        this.chunkBroadcaster = chunkBroadcaster;
+        this.streamScheduler = streamScheduler;
+        this.responseCache = responseCache;
+        this.streamRegistry = streamRegistry;
     }
 
     public void handleAIMentions(String roomId, String userId, MessageContent messageContent) {
@@ -54,14 +75,9 @@ public class AiService {
         var timestamp = System.currentTimeMillis();
         String messageId = aiType + "-" + timestamp;
 
-        log.info("AI response started - messageId: {}, room: {}, aiType: {}, query: {}",
+        log.info("AI response requested - messageId: {}, room: {}, aiType: {}, query: {}",
             messageId, roomId, aiType, query);
         
-        // AI 스트리밍 시작 이벤트 발행
-        eventPublisher.publishEvent(new AiMessageStartEvent(
-            this, roomId, messageId, aiType, timestamp
-        ));
-        
         // 스트리밍 세션 초기화
         StreamingSession session = StreamingSession.builder()
             .messageId(messageId)
@@ -72,9 +88,54 @@ public class AiService {
             .query(query)
             .build();
         
+        // 같은 질문의 캐시된 응답은 모델 호출과 동시 실행 제한 없이 같은 이벤트 순서로 재생한다
+        AiType persona = session.aiTypeEnum();
+        Optional<String> cached = responseCache.get(persona, query);
+        if (cached.isPresent()) {
+            log.info("AI response served from cache - messageId: {}, room: {}, aiType: {}",
+                messageId, roomId, aiType);
+            eventPublisher.publishEvent(new AiMessageStartEvent(
+                this, roomId, messageId, aiType, timestamp, 0
+            ));
+            AiStreamHandler handler = new AiStreamHandler(session, chunkBroadcaster, eventPublisher);
+            streamRegistry.register(handler);
+            replayResponse(cached.get())
+                    .transform(chunkBroadcaster::frames)
+                    .doFinally(signal -> streamRegistry.unregister(handler))
+                    .subscribe(handler);
+            return;
+        }
         
-        streamResponse(session)
-                .subscribe(new AiStreamHandler(session, eventPublisher));
+        // 청크는 이벤트 발행 없이 batch-window 단위 프레임으로 방에 바로 전달된다
+        // 대기열에 있을 때부터 등록하여 방 입장 응답에 실리고, 요청자가 나가거나 볼 사람이 없어지면 취소된다
+        AiStreamHandler handler = new AiStreamHandler(session, chunkBroadcaster, eventPublisher);
+        streamRegistry.register(handler);
+
+        // 동시 실행 슬롯을 얻으면 시작한다. 시작 이벤트에는 대기 순번이 실린다
+        streamScheduler.submit(roomId,
+            queuePosition -> eventPublisher.publishEvent(new AiMessageStartEvent(
+                this, roomId, messageId, aiType, timestamp, queuePosition
+            )),
+            release -> {
+                if (handler.isTerminated()) {
+                    // 대기 중에 취소되었으면 슬롯을 바로 돌려준다
+                    streamRegistry.unregister(handler);
+                    release.run();
+                    return;
+                }
+                streamResponse(session)
+                        .transform(chunkBroadcaster::frames)
+                        .doOnComplete(() -> responseCache.put(persona, query, session.getContent()))
+                        .doFinally(signal -> {
+                            streamRegistry.unregister(handler);
+                            release.run();
+                        })
+                        .subscribe(handler);
+            },
+            () -> {
+                streamRegistry.unregister(handler);
+                handler.reject("AI 요청이 많아 응답을 시작하지 못했습니다. 잠시 후 다시 시도해주세요.");
+            });
     }
 
     Flux<ChunkData> streamResponse(StreamingSession session) {
@@ -103,6 +164,12 @@ public class AiService {
         });
     }
 
+    Flux<ChunkData> replayResponse(String content) {
+        AtomicBoolean codeBlockState = new AtomicBoolean(false);
+        return responseCache.replay(content)
+                .map(chunk -> ChunkData.from(chunk).updateCodeBlockState(codeBlockState));
+    }
+
     @EventListener
     public void onAiMessageCompleteEvent(AiMessageCompleteEvent event) {
         try {
@@ -110,6 +177,7 @@ public class AiService {
             Message savedMessage = messageRepository.save(getMessage(event));
             log.info("AI message saved - messageId: {}, savedId: {}, roomId: {}",
                 event.getMessageId(), savedMessage.getId(), event.getRoomId());
+            recentMessageCache.append(messageResponseMapper.mapToMessageResponse(savedMessage, null));
 
             // savedMessageId를 포함한 새로운 이벤트 발행
             eventPublisher.publishEvent(new AiMessageSavedEvent(
@@ -1,32 +1,60 @@
 package com.ktb.chatapp.websocket.socketio.ai;
 
-import com.ktb.chatapp.event.AiMessageChunkEvent;
 import com.ktb.chatapp.event.AiMessageCompleteEvent;
 import com.ktb.chatapp.event.AiMessageErrorEvent;
 import com.ktb.chatapp.websocket.socketio.handler.StreamingSession;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
 import org.springframework.context.ApplicationEventPublisher;
 
+/**
+ * AI 응답 스트림 구독자.
+ * batch-window 단위로 묶인 청크 프레임을 세션에 누적하고 AiChunkBroadcaster로 방에 바로 보낸다.
+ * 프레임마다 넘기는 것은 새 내용(delta)뿐이고, 전체 내용 문자열은 FULL 수신자가 있거나 스냅샷 차례일 때만 만든다.
+ * 완료/오류는 저장 처리를 위해 이벤트로 발행한다.
+ * 완료, 오류, 취소 중 먼저 일어난 하나만 처리한다.
+ */
 @Slf4j
 @RequiredArgsConstructor
-public class AiStreamHandler implements Subscriber<ChunkData> {
+public class AiStreamHandler implements Subscriber<List<ChunkData>> {
     private final StreamingSession session;
+    private final AiChunkBroadcaster chunkBroadcaster;
     private final ApplicationEventPublisher eventPublisher;
-    private Subscription subscription;
+    private final AtomicBoolean terminated = new AtomicBoolean();
+    // 취소는 다른 스레드(방 퇴장, 연결 종료)에서 호출된다
+    private volatile Subscription subscription;
+    // onNext는 순차 호출되므로 동기화하지 않는다
+    private long frames;
+    private long chunks;
 
     @Override
     public void onSubscribe(Subscription subscription) {
         this.subscription = subscription;
+        // 대기열에 있는 동안 취소되었으면 모델을 호출하지 않는다
+        if (terminated.get()) {
+            subscription.cancel();
+            return;
+        }
         subscription.request(Long.MAX_VALUE);
     }
 
     @Override
-    public void onNext(ChunkData chunk) {
-        session.appendContent(chunk.currentChunk());
+    public void onNext(List<ChunkData> frame) {
+        // 취소 오류 이벤트 뒤에 청크가 나가지 않도록 한다
+        if (terminated.get() || frame.isEmpty()) {
+            return;
+        }
+        StringBuilder delta = new StringBuilder();
+        for (ChunkData chunk : frame) {
+            session.appendContent(chunk.currentChunk());
+            delta.append(chunk.currentChunk());
+        }
+        chunks += frame.size();
         
         String messageId = session.getMessageId();
         String roomId = session.getRoomId();
@@ -35,26 +63,32 @@ public class AiStreamHandler implements Subscriber<ChunkData> {
             return;
         }
 
-        eventPublisher.publishEvent(new AiMessageChunkEvent(
-            this, roomId, messageId,
-            session.getContent(), chunk.codeBlock()
-        ));
+        chunkBroadcaster.broadcast(session, delta.toString(), ++frames,
+            frame.getLast().codeBlock(), frame.size());
     }
 
     @Override
     public void onError(Throwable error) {
+        if (!terminated.compareAndSet(false, true)) {
+            return;
+        }
         String messageId = session.getMessageId();
         log.error("AI streaming error for messageId: {}", messageId, error);
 
         String errorMessage = error.getMessage() != null
             ? error.getMessage()
             : "AI 응답 생성 중 오류가 발생했습니다.";
+        chunkBroadcaster.recordStream(session, chunks, frames);
         sendErrorEvent(errorMessage);
     }
 
     @Override
     public void onComplete() {
+        if (!terminated.compareAndSet(false, true)) {
+            return;
+        }
         String messageId = session.getMessageId();
+        chunkBroadcaster.recordStream(session, chunks, frames);
 
         try {
             sendCompletionEvent();
@@ -65,15 +99,43 @@ public class AiStreamHandler implements Subscriber<ChunkData> {
         }
     }
 
+    /**
+     * 동시 실행 제한으로 시작하지 못한 요청을 오류 이벤트로 끝낸다. 이미 취소되었으면 아무 것도 하지 않는다.
+     */
+    public void reject(String errorMessage) {
+        if (terminated.compareAndSet(false, true)) {
+            sendErrorEvent(errorMessage);
+        }
+    }
+
+    public boolean isTerminated() {
+        return terminated.get();
+    }
+
     public boolean matches(String roomId, String userId) {
         return Objects.equals(roomId, session.getRoomId())
             && Objects.equals(userId, session.getUserId());
     }
 
-    public void cancel() {
-        if (subscription != null) {
-            subscription.cancel();
+    /**
+     * 모델 스트림 구독을 끊고, 방에 남은 클라이언트가 스트리밍 중인 메시지를 정리하도록 오류 이벤트를 보낸다.
+     * 이미 끝난 스트림이면 아무 것도 하지 않는다.
+     */
+    public void cancel(String reason) {
+        if (!terminated.compareAndSet(false, true)) {
+            return;
+        }
+        Subscription current = subscription;
+        if (current != null) {
+            current.cancel();
         }
+        log.info("AI streaming cancelled - messageId: {}, reason: {}", session.getMessageId(), reason);
+        chunkBroadcaster.recordStream(session, chunks, frames);
+        sendErrorEvent("AI 응답 생성이 취소되었습니다.");
+    }
+
+    StreamingSession session() {
+        return session;
     }
 
     private void sendCompletionEvent() {
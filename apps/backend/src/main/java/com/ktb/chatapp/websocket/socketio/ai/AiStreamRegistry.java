@@ -0,0 +1,134 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import com.corundumstudio.socketio.SocketIOServer;
+import com.ktb.chatapp.dto.ActiveStreamResponse;
+import com.ktb.chatapp.websocket.socketio.broadcast.RoomBroadcastBus;
+import com.ktb.chatapp.websocket.socketio.handler.StreamingSession;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 이 노드에서 진행 중인 AI 스트림 목록 (방별). 동시 실행 슬롯을 기다리는 요청도 포함한다.
+ * 방 입장 응답의 activeStreams를 채우고, 더 이상 볼 사람이 없는 스트림을 취소해 토큰 비용을 아낀다.
+ * 대기 중에 취소된 요청은 슬롯을 얻어도 모델을 호출하지 않는다.
+ *
+ * 요청한 사용자가 방을 나가거나 연결이 끊기면 그 사용자의 스트림을 취소한다.
+ * 방에 이 노드의 소켓이 하나도 없으면 방의 모든 스트림을 취소한다.
+ * 다중 노드 저장소에서는 다른 노드의 시청자를 알 수 없으므로 빈 방 취소는 하지 않는다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
+public class AiStreamRegistry {
+
+    public static final String REASON_LEAVE = "leave";
+    public static final String REASON_DISCONNECT = "disconnect";
+    public static final String REASON_UNWATCHED = "unwatched";
+
+    private final SocketIOServer socketIOServer;
+    private final RoomBroadcastBus roomBroadcastBus;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Set<AiStreamHandler>> streamsByRoom = new ConcurrentHashMap<>();
+
+    public AiStreamRegistry(SocketIOServer socketIOServer, RoomBroadcastBus roomBroadcastBus, MeterRegistry meterRegistry) {
+        this.socketIOServer = socketIOServer;
+        this.roomBroadcastBus = roomBroadcastBus;
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("ai.stream.registered", this, AiStreamRegistry::size)
+                .description("AI streams in progress or queued on this node")
+                .register(meterRegistry);
+    }
+
+    public void register(AiStreamHandler handler) {
+        streamsByRoom.computeIfAbsent(handler.session().getRoomId(), key -> ConcurrentHashMap.newKeySet()).add(handler);
+    }
+
+    public void unregister(AiStreamHandler handler) {
+        streamsByRoom.computeIfPresent(handler.session().getRoomId(), (key, handlers) -> {
+            handlers.remove(handler);
+            return handlers.isEmpty() ? null : handlers;
+        });
+    }
+
+    /**
+     * 방에서 진행 중인 스트림의 현재 내용. 방 입장 응답에 싣는다.
+     */
+    public List<ActiveStreamResponse> activeStreams(String roomId) {
+        Set<AiStreamHandler> handlers = roomId != null ? streamsByRoom.get(roomId) : null;
+        if (handlers == null) {
+            return List.of();
+        }
+        List<ActiveStreamResponse> streams = new ArrayList<>(handlers.size());
+        for (AiStreamHandler handler : handlers) {
+            StreamingSession session = handler.session();
+            streams.add(ActiveStreamResponse.builder()
+                    .id(session.getMessageId())
+                    .type("ai")
+                    .aiType(session.getAiType())
+                    .content(session.getContent())
+                    .timestamp(Instant.ofEpochMilli(session.getTimestamp()).toString())
+                    .isStreaming(true)
+                    .build());
+        }
+        return streams;
+    }
+
+    /**
+     * 방에서 userId가 요청한 스트림을 취소한다.
+     */
+    public void cancel(String roomId, String userId, String reason) {
+        Set<AiStreamHandler> handlers = roomId != null ? streamsByRoom.get(roomId) : null;
+        if (handlers == null) {
+            return;
+        }
+        for (AiStreamHandler handler : handlers) {
+            if (handler.matches(roomId, userId)) {
+                cancel(handler, reason);
+            }
+        }
+    }
+
+    /**
+     * 모든 방에서 userId가 요청한 스트림을 취소한다.
+     */
+    public void cancelUser(String userId, String reason) {
+        streamsByRoom.forEach((roomId, handlers) -> cancel(roomId, userId, reason));
+    }
+
+    /**
+     * 방에 이 노드의 소켓이 남아 있지 않으면 방의 모든 스트림을 취소한다.
+     */
+    public void cancelIfUnwatched(String roomId) {
+        Set<AiStreamHandler> handlers = roomId != null ? streamsByRoom.get(roomId) : null;
+        if (handlers == null || roomBroadcastBus.spansNodes()
+                || !socketIOServer.getRoomOperations(roomId).getClients().isEmpty()) {
+            return;
+        }
+        handlers.forEach(handler -> cancel(handler, REASON_UNWATCHED));
+    }
+
+    public int size() {
+        return streamsByRoom.values().stream().mapToInt(Set::size).sum();
+    }
+
+    private void cancel(AiStreamHandler handler, String reason) {
+        handler.cancel(reason);
+        unregister(handler);
+        Counter.builder("ai.stream.cancelled")
+                .description("AI streams cancelled before completion")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+}
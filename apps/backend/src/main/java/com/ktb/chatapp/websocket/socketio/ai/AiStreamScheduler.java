@@ -0,0 +1,253 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * AI 스트림 동시 실행 제한 스케줄러.
+ * 노드 전체 동시 스트림 수(max-concurrent)와 방별 동시 스트림 수(per-room)를 제한하고,
+ * 넘치는 요청은 방별 대기열에 넣어 방 단위 라운드 로빈으로 꺼낸다.
+ * 한 방의 멘션 폭주가 다른 방의 요청을 굶기지 않는다.
+ *
+ * 대기열 전체가 max-queued를 넘으면 즉시 거절하고, max-wait 안에 시작하지 못한 요청은 만료시킨다.
+ * 시작 알림(announce)이 끝난 뒤에만 작업을 실행하므로 AI_MESSAGE_START가 항상 첫 청크보다 먼저 나간다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
+public class AiStreamScheduler {
+
+    private final int maxConcurrent;
+    private final int perRoom;
+    private final int maxQueued;
+    private final Duration maxWait;
+    private final MeterRegistry meterRegistry;
+
+    // 아래 상태는 모두 this로 보호한다
+    private final Map<String, ArrayDeque<Job>> roomQueues = new HashMap<>();
+    private final ArrayDeque<String> rotation = new ArrayDeque<>();
+    private final Map<String, Integer> roomActive = new HashMap<>();
+    private int active;
+    private int queued;
+
+    private final ScheduledExecutorService timeouts;
+    private final Timer waitTimer;
+    private final Counter queueFullCounter;
+    private final Counter timeoutCounter;
+
+    public AiStreamScheduler(
+            MeterRegistry meterRegistry,
+            @Value("${chatapp.ai.scheduler.max-concurrent:32}") int maxConcurrent,
+            @Value("${chatapp.ai.scheduler.per-room:2}") int perRoom,
+            @Value("${chatapp.ai.scheduler.max-queued:500}") int maxQueued,
+            @Value("${chatapp.ai.scheduler.max-wait:30s}") Duration maxWait) {
+        this.meterRegistry = meterRegistry;
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+        this.perRoom = Math.max(1, perRoom);
+        this.maxQueued = Math.max(0, maxQueued);
+        this.maxWait = maxWait;
+        this.timeouts = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ai-stream-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("ai.scheduler.active", this, AiStreamScheduler::activeStreams)
+                .description("AI streams currently running (bound " + this.maxConcurrent + ")")
+                .register(meterRegistry);
+        Gauge.builder("ai.scheduler.queued", this, AiStreamScheduler::queuedStreams)
+                .description("AI requests waiting for a stream slot")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("ai.scheduler.wait")
+                .description("Time an AI request waited before its stream started")
+                .register(meterRegistry);
+        this.queueFullCounter = rejectedCounter("queue_full");
+        this.timeoutCounter = rejectedCounter("timeout");
+    }
+
+    /**
+     * AI 스트림 실행을 요청한다.
+     *
+     * @param announce 대기 순번을 받아 시작 알림을 보낸다 (0: 바로 시작, 1 이상: 방 대기열에서의 순번). 호출 스레드에서 실행된다.
+     * @param task 슬롯을 얻으면 실행된다. 받은 release는 스트림이 끝날 때 정확히 한 번 호출해야 한다.
+     * @param onRejected 대기열이 가득 찼거나 max-wait를 넘겨 실행하지 못했을 때 호출된다.
+     */
+    public void submit(String roomId, IntConsumer announce, Consumer<Runnable> task, Runnable onRejected) {
+        Job job = new Job(roomId, task, onRejected);
+        int position;
+        synchronized (this) {
+            if (canStart(roomId)) {
+                start(job);
+                job.pending.decrementAndGet();
+                position = 0;
+            } else if (queued >= maxQueued) {
+                position = -1;
+            } else {
+                ArrayDeque<Job> queue = roomQueues.computeIfAbsent(roomId, key -> {
+                    rotation.addLast(key);
+                    return new ArrayDeque<>();
+                });
+                queue.addLast(job);
+                queued++;
+                position = queue.size();
+                job.timeout = timeouts.schedule(() -> expire(job), maxWait.toMillis(), TimeUnit.MILLISECONDS);
+            }
+        }
+
+        if (position < 0) {
+            log.warn("AI request queue full, rejecting - roomId: {}, queued: {}", roomId, maxQueued);
+            queueFullCounter.increment();
+            onRejected.run();
+            return;
+        }
+        try {
+            announce.accept(position);
+        } finally {
+            job.arrive();
+        }
+    }
+
+    public synchronized int activeStreams() {
+        return active;
+    }
+
+    public synchronized int queuedStreams() {
+        return queued;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timeouts.shutdownNow();
+    }
+
+    private boolean canStart(String roomId) {
+        return active < maxConcurrent && roomActive.getOrDefault(roomId, 0) < perRoom;
+    }
+
+    // this 잠금 안에서 호출한다
+    private void start(Job job) {
+        active++;
+        roomActive.merge(job.roomId, 1, Integer::sum);
+        if (job.timeout != null) {
+            job.timeout.cancel(false);
+        }
+        waitTimer.record(System.nanoTime() - job.submittedAt, TimeUnit.NANOSECONDS);
+    }
+
+    private void release(String roomId) {
+        synchronized (this) {
+            active--;
+            roomActive.computeIfPresent(roomId, (key, count) -> count > 1 ? count - 1 : null);
+        }
+        dispatch();
+    }
+
+    /**
+     * 빈 슬롯만큼 대기열에서 꺼내 실행한다. 방 순서를 돌며 방마다 하나씩 꺼낸다.
+     */
+    private void dispatch() {
+        while (true) {
+            Job next = null;
+            synchronized (this) {
+                for (int i = rotation.size(); i > 0 && active < maxConcurrent; i--) {
+                    String roomId = rotation.pollFirst();
+                    ArrayDeque<Job> queue = roomQueues.get(roomId);
+                    if (roomActive.getOrDefault(roomId, 0) >= perRoom) {
+                        rotation.addLast(roomId);
+                        continue;
+                    }
+                    next = queue.pollFirst();
+                    queued--;
+                    if (queue.isEmpty()) {
+                        roomQueues.remove(roomId);
+                    } else {
+                        rotation.addLast(roomId);
+                    }
+                    start(next);
+                    break;
+                }
+            }
+            if (next == null) {
+                return;
+            }
+            next.arrive();
+        }
+    }
+
+    private void expire(Job job) {
+        synchronized (this) {
+            ArrayDeque<Job> queue = roomQueues.get(job.roomId);
+            if (queue == null || !queue.remove(job)) {
+                return;
+            }
+            queued--;
+            if (queue.isEmpty()) {
+                roomQueues.remove(job.roomId);
+                rotation.remove(job.roomId);
+            }
+        }
+        log.warn("AI request expired in queue - roomId: {}, maxWait: {}", job.roomId, maxWait);
+        timeoutCounter.increment();
+        job.onRejected.run();
+    }
+
+    private Counter rejectedCounter(String reason) {
+        return Counter.builder("ai.scheduler.rejected")
+                .description("AI requests rejected without starting a stream")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private final class Job {
+        private final String roomId;
+        private final Consumer<Runnable> task;
+        private final Runnable onRejected;
+        private final long submittedAt = System.nanoTime();
+        // 시작 알림 완료와 슬롯 획득이 모두 도착하면 실행한다
+        private final AtomicInteger pending = new AtomicInteger(2);
+        private ScheduledFuture<?> timeout;
+
+        private Job(String roomId, Consumer<Runnable> task, Runnable onRejected) {
+            this.roomId = roomId;
+            this.task = task;
+            this.onRejected = onRejected;
+        }
+
+        private void arrive() {
+            if (pending.decrementAndGet() != 0) {
+                return;
+            }
+            AtomicBoolean released = new AtomicBoolean();
+            Runnable release = () -> {
+                if (released.compareAndSet(false, true)) {
+                    release(roomId);
+                }
+            };
+            try {
+                task.accept(release);
+            } catch (Exception e) {
+                log.error("Failed to start AI stream - roomId: {}", roomId, e);
+                release.run();
+            }
+        }
+    }
+}
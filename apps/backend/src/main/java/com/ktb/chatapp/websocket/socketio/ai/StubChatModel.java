@@ -0,0 +1,104 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 외부 API 없이 정해진 토큰 열을 스트리밍하는 ChatModel.
+ * 응답 텍스트를 repeat번 이어 붙인 뒤 공백 앞에서 토큰으로 나누고,
+ * 첫 토큰 지연과 토큰 간 지연(± jitter)을 두고 하나씩 내보낸다.
+ * error-rate 확률로 스트림 중간의 임의 토큰에서 오류를 낸다.
+ *
+ * 지연과 오류 위치는 seed와 스트림 순번으로 정해지므로 같은 설정, 같은 요청 순서에서 재현된다.
+ */
+public class StubChatModel implements ChatModel {
+
+    // 토큰 앞의 공백을 토큰에 붙인다 (OpenAI 토큰과 같은 형태, 공백만 있는 청크가 생기지 않음)
+    private static final Pattern TOKEN = Pattern.compile("\\s*\\S+");
+
+    private final List<String> tokens;
+    private final Duration firstTokenDelay;
+    private final Duration tokenDelay;
+    private final Duration tokenDelayJitter;
+    private final double errorRate;
+    private final long seed;
+    private final AtomicLong streams = new AtomicLong();
+
+    public StubChatModel(String response, int repeat, Duration firstTokenDelay, Duration tokenDelay,
+                         Duration tokenDelayJitter, double errorRate, long seed) {
+        if (errorRate < 0 || errorRate > 1) {
+            throw new IllegalArgumentException("error-rate must be between 0 and 1: " + errorRate);
+        }
+        this.tokens = tokenize(response.repeat(Math.max(1, repeat)));
+        if (tokens.isEmpty()) {
+            throw new IllegalArgumentException("Stub response must contain at least one token");
+        }
+        this.firstTokenDelay = firstTokenDelay;
+        this.tokenDelay = tokenDelay;
+        this.tokenDelayJitter = tokenDelayJitter;
+        this.errorRate = errorRate;
+        this.seed = seed;
+    }
+
+    @Override
+    public ChatResponse call(Prompt prompt) {
+        return response(String.join("", tokens));
+    }
+
+    @Override
+    public Flux<ChatResponse> stream(Prompt prompt) {
+        return Flux.defer(() -> {
+            SplittableRandom random = new SplittableRandom(seed + streams.getAndIncrement());
+            int failAt = random.nextDouble() < errorRate ? random.nextInt(tokens.size()) : -1;
+
+            Flux<String> stream = Flux.range(0, tokens.size())
+                    .concatMap(index -> {
+                        if (index == failAt) {
+                            return Mono.error(new IllegalStateException("Stub model failure at token " + index));
+                        }
+                        Duration delay = index == 0 ? firstTokenDelay : nextTokenDelay(random);
+                        Mono<String> token = Mono.just(tokens.get(index));
+                        return delay.isZero() ? token : token.delayElement(delay);
+                    });
+            return stream.map(StubChatModel::response);
+        });
+    }
+
+    public int tokenCount() {
+        return tokens.size();
+    }
+
+    private Duration nextTokenDelay(SplittableRandom random) {
+        long jitter = tokenDelayJitter.toNanos();
+        if (jitter <= 0) {
+            return tokenDelay;
+        }
+        long nanos = tokenDelay.toNanos() + random.nextLong(-jitter, jitter + 1);
+        return Duration.ofNanos(Math.max(0, nanos));
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        Matcher matcher = TOKEN.matcher(text);
+        while (matcher.find()) {
+            tokens.add(matcher.group());
+        }
+        return tokens;
+    }
+
+    private static ChatResponse response(String text) {
+        return new ChatResponse(List.of(new Generation(new AssistantMessage(text))));
+    }
+}
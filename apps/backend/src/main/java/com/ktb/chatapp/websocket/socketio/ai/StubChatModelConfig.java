@@ -0,0 +1,41 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * ai-stub 프로필에서 OpenAI 대신 StubChatModel을 ChatClient의 모델로 쓴다.
+ * CI나 외부망이 없는 성능 측정 환경에서 AI 멘션 경로 전체(AiService → AiStreamHandler → 방 브로드캐스트)를
+ * 같은 부하로 반복 측정할 때 사용한다.
+ *
+ * 실행 예) SPRING_PROFILES_ACTIVE=ai-stub AI_STUB_TOKEN_DELAY=20ms AI_STUB_ERROR_RATE=0.01 mvn spring-boot:run
+ */
+@Slf4j
+@Configuration
+@Profile(StubChatModelConfig.PROFILE)
+public class StubChatModelConfig {
+
+    public static final String PROFILE = "ai-stub";
+
+    @Bean
+    @Primary
+    public StubChatModel stubChatModel(
+            @Value("${chatapp.ai.stub.response}") String response,
+            @Value("${chatapp.ai.stub.repeat:1}") int repeat,
+            @Value("${chatapp.ai.stub.first-token-delay:300ms}") Duration firstTokenDelay,
+            @Value("${chatapp.ai.stub.token-delay:30ms}") Duration tokenDelay,
+            @Value("${chatapp.ai.stub.token-delay-jitter:0ms}") Duration tokenDelayJitter,
+            @Value("${chatapp.ai.stub.error-rate:0}") double errorRate,
+            @Value("${chatapp.ai.stub.seed:42}") long seed) {
+        StubChatModel model = new StubChatModel(
+                response, repeat, firstTokenDelay, tokenDelay, tokenDelayJitter, errorRate, seed);
+        log.warn("Stub AI model enabled - tokens: {}, firstTokenDelay: {}, tokenDelay: {}±{}, errorRate: {}",
+                model.tokenCount(), firstTokenDelay, tokenDelay, tokenDelayJitter, errorRate);
+        return model;
+    }
+}
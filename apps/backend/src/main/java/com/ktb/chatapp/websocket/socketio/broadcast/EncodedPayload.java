@@ -0,0 +1,51 @@
+package com.ktb.chatapp.websocket.socketio.broadcast;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 한 번 JSON으로 인코딩된 이벤트 페이로드.
+ * 같은 바이트 배열을 모든 수신자가 공유하며, 수신자별 인코딩은 바이트 복사만 한다.
+ * 배열은 읽기 전용으로 다룬다.
+ */
+public final class EncodedPayload {
+
+    private final byte[] bytes;
+    private final int offset;
+    private final int length;
+
+    private EncodedPayload(byte[] bytes, int offset, int length) {
+        this.bytes = bytes;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    public static EncodedPayload of(byte[] json) {
+        return new EncodedPayload(json, 0, json.length);
+    }
+
+    /**
+     * 복사 없이 frame의 일부를 페이로드로 사용한다.
+     */
+    static EncodedPayload slice(byte[] frame, int offset, int length) {
+        return new EncodedPayload(frame, offset, length);
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(bytes, offset, length);
+    }
+
+    JsonNode readTree(ObjectMapper objectMapper) throws IOException {
+        return objectMapper.readTree(bytes, offset, length);
+    }
+
+    void copyTo(byte[] target, int targetOffset) {
+        System.arraycopy(bytes, offset, target, targetOffset, length);
+    }
+}
@@ -0,0 +1,99 @@
+package com.ktb.chatapp.websocket.socketio.broadcast;
+
+import com.corundumstudio.socketio.AckCallback;
+import com.corundumstudio.socketio.protocol.AckArgs;
+import com.corundumstudio.socketio.protocol.JacksonJsonSupport;
+import com.corundumstudio.socketio.protocol.JsonSupport;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * EncodedPayload를 인식하는 Socket.IO JsonSupport.
+ *
+ * netty-socketio는 이벤트 패킷을 클라이언트 채널마다 [이벤트명, 인자...] 배열로 인코딩한다.
+ * 인자가 EncodedPayload이면 Jackson 직렬화 대신 미리 인코딩된 바이트를 그대로 복사하므로
+ * 방 브로드캐스트의 직렬화 비용이 수신자 수와 무관해진다.
+ * 그 외 값은 기존 JacksonJsonSupport에 위임한다. 바이너리 첨부(byte[])는 미리 인코딩하지 않는다.
+ */
+public class PreEncodedJsonSupport implements JsonSupport {
+
+    private final JacksonJsonSupport delegate;
+    // JacksonJsonSupport와 같은 직렬화 규칙 (등록 모듈, null 필드 제외)
+    private final ObjectMapper objectMapper;
+
+    public PreEncodedJsonSupport(Module... modules) {
+        this.delegate = new JacksonJsonSupport(modules);
+        this.objectMapper = JsonMapper.builder()
+                .addModules(modules)
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .build();
+    }
+
+    /**
+     * 페이로드를 한 번 인코딩한다.
+     */
+    public EncodedPayload encode(Object payload) throws JsonProcessingException {
+        return EncodedPayload.of(objectMapper.writeValueAsBytes(payload));
+    }
+
+    /**
+     * 다른 노드에서 받은 페이로드를 읽는다. 페이로드를 해석해야 하는 수신 리스너에서만 사용한다.
+     */
+    public JsonNode readTree(EncodedPayload payload) throws IOException {
+        return payload.readTree(objectMapper);
+    }
+
+    @Override
+    public void writeValue(ByteBufOutputStream out, Object value) throws IOException {
+        if (!(value instanceof List<?> values) || values.stream().noneMatch(EncodedPayload.class::isInstance)) {
+            delegate.writeValue(out, value);
+            return;
+        }
+
+        out.write('[');
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            if (values.get(i) instanceof EncodedPayload payload) {
+                payload.writeTo(out);
+            } else {
+                delegate.writeValue(out, values.get(i));
+            }
+        }
+        out.write(']');
+    }
+
+    @Override
+    public AckArgs readAckArgs(ByteBufInputStream src, AckCallback<?> callback) throws IOException {
+        return delegate.readAckArgs(src, callback);
+    }
+
+    @Override
+    public <T> T readValue(String namespaceName, ByteBufInputStream src, Class<T> valueType) throws IOException {
+        return delegate.readValue(namespaceName, src, valueType);
+    }
+
+    @Override
+    public void addEventMapping(String namespaceName, String eventName, Class<?>... eventClass) {
+        delegate.addEventMapping(namespaceName, eventName, eventClass);
+    }
+
+    @Override
+    public void removeEventMapping(String namespaceName, String eventName) {
+        delegate.removeEventMapping(namespaceName, eventName);
+    }
+
+    @Override
+    public List<byte[]> getArrays() {
+        return delegate.getArrays();
+    }
+}
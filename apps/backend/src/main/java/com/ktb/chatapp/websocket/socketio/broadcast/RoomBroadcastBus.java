@@ -0,0 +1,431 @@
+package com.ktb.chatapp.websocket.socketio.broadcast;
+
+import com.corundumstudio.socketio.SocketIOClient;
+import com.corundumstudio.socketio.SocketIOServer;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.ktb.chatapp.websocket.socketio.ai.AiChunkMode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.ByteArrayCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * 방 브로드캐스트 버스.
+ * 모든 방 브로드캐스트는 이 클래스를 거친다.
+ *
+ * 페이로드는 브로드캐스트마다 한 번만 JSON으로 인코딩되고(EncodedPayload),
+ * 모든 수신자 채널과 다른 노드로 같은 바이트가 전달된다.
+ *
+ * Redis 저장소(socketio.store.type=redis)에서는 인코딩된 이벤트를 방 샤드별 Redis 채널로 발행하고,
+ * 각 노드가 자기 노드에 붙은 소켓에만 전달한다.
+ * 같은 방의 작은 이벤트는 linger 동안 모아 하나의 프레임으로 발행한다.
+ * 발행 노드의 로컬 소켓에는 Redis를 거치지 않고 즉시 전달한다.
+ *
+ * 방의 프레임은 항상 같은 샤드 스레드에서 동기 발행되므로 방 안의 이벤트 순서가 유지된다.
+ * Redis 클라이언트가 없거나 비활성화하면 socketIOServer.getRoomOperations로 바로 보낸다 (이전 동작).
+ *
+ * AI 청크처럼 클라이언트가 협상한 형식(AiChunkMode)에 따라 페이로드가 다른 이벤트는
+ * 수신 형식을 지정해 보내며, 각 노드가 해당 형식의 로컬 소켓에만 전달한다.
+ * 다른 노드에서 받은 이벤트를 해석해야 하는 컴포넌트는 이벤트 이름으로 수신 리스너를 등록한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
+public class RoomBroadcastBus {
+
+    private static final String CHANNEL_PREFIX = "chat:broadcast:";
+
+    private final SocketIOServer socketIOServer;
+    private final PreEncodedJsonSupport jsonSupport;
+    private final RedissonClient redissonClient;
+    private final boolean enabled;
+    private final int shards;
+    private final long lingerMillis;
+    private final int coalesceMaxBytes;
+    private final int maxFrameBytes;
+
+    private final byte[] nodeId = UUID.randomUUID().toString().getBytes(StandardCharsets.UTF_8);
+    private final Map<String, RoomBatch> batches = new ConcurrentHashMap<>();
+    private final List<Integer> listenerIds = new ArrayList<>();
+    private final Map<String, List<RemoteEventListener>> remoteListeners = new ConcurrentHashMap<>();
+    private ScheduledExecutorService[] flushers;
+
+    private final Counter publishedEventCounter;
+    private final Counter publishedFrameCounter;
+    private final Counter receivedFrameCounter;
+    private final DistributionSummary eventsPerFrame;
+    private final DistributionSummary payloadBytes;
+
+    public RoomBroadcastBus(
+            SocketIOServer socketIOServer,
+            PreEncodedJsonSupport jsonSupport,
+            @Nullable RedissonClient redissonClient,
+            MeterRegistry meterRegistry,
+            @Value("${socketio.broadcast.bus.enabled:true}") boolean enabled,
+            @Value("${socketio.broadcast.bus.shards:16}") int shards,
+            @Value("${socketio.broadcast.bus.linger:5ms}") Duration linger,
+            @Value("${socketio.broadcast.bus.coalesce-max-bytes:1024}") int coalesceMaxBytes,
+            @Value("${socketio.broadcast.bus.max-frame-bytes:65536}") int maxFrameBytes) {
+        this.socketIOServer = socketIOServer;
+        this.jsonSupport = jsonSupport;
+        this.redissonClient = redissonClient;
+        this.enabled = enabled && redissonClient != null;
+        this.shards = Math.max(1, shards);
+        this.lingerMillis = Math.max(0, linger.toMillis());
+        this.coalesceMaxBytes = coalesceMaxBytes;
+        this.maxFrameBytes = maxFrameBytes;
+
+        this.publishedEventCounter = Counter.builder("socketio.broadcast.events")
+                .description("Room broadcast events published to other nodes")
+                .register(meterRegistry);
+        this.publishedFrameCounter = frameCounter(meterRegistry, "published");
+        this.receivedFrameCounter = frameCounter(meterRegistry, "received");
+        this.eventsPerFrame = DistributionSummary.builder("socketio.broadcast.frame.events")
+                .description("Events coalesced into one published frame")
+                .register(meterRegistry);
+        Gauge.builder("socketio.broadcast.batches", batches, Map::size)
+                .description("Rooms with a pending broadcast batch")
+                .register(meterRegistry);
+        this.payloadBytes = DistributionSummary.builder("socketio.broadcast.payload.bytes")
+                .description("Encoded size of a broadcast payload, shared by all recipients")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        flushers = new ScheduledExecutorService[shards];
+        for (int shard = 0; shard < shards; shard++) {
+            String threadName = "room-broadcast-" + shard;
+            flushers[shard] = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, threadName);
+                thread.setDaemon(true);
+                return thread;
+            });
+            listenerIds.add(topic(shard).addListener(byte[].class, (channel, frame) -> onFrame(frame)));
+        }
+        log.info("Room broadcast bus started - node: {}, shards: {}, linger: {}ms",
+                new String(nodeId, StandardCharsets.UTF_8), shards, lingerMillis);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (flushers == null) {
+            return;
+        }
+        batches.values().forEach(batch -> flushers[batch.shard].execute(() -> flush(batch)));
+        for (int shard = 0; shard < shards; shard++) {
+            topic(shard).removeListener(listenerIds.get(shard));
+            flushers[shard].shutdown();
+            try {
+                flushers[shard].awaitTermination(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * 방의 모든 노드에 있는 소켓에 이벤트를 보낸다.
+     */
+    public void broadcast(String roomId, String event, Object payload) {
+        broadcast(roomId, event, payload, null);
+    }
+
+    /**
+     * 형식별 브로드캐스트를 모든 노드에 전달할 수 있는지 여부.
+     * 버스 없이 다중 노드 저장소를 쓰면 다른 노드의 소켓을 형식별로 고를 수 없다.
+     */
+    public boolean supportsChunkModes() {
+        return enabled || redissonClient == null;
+    }
+
+    /**
+     * 방에 다른 노드의 소켓이 있을 수 있는지 여부 (다중 노드 저장소 사용 시).
+     */
+    public boolean spansNodes() {
+        return redissonClient != null;
+    }
+
+    /**
+     * 이 노드의 방 소켓 중 chunkMode 형식을 협상한 소켓이 있는지 여부.
+     */
+    public boolean hasLocalAudience(String roomId, AiChunkMode chunkMode) {
+        for (SocketIOClient client : socketIOServer.getRoomOperations(roomId).getClients()) {
+            if (AiChunkMode.of(client) == chunkMode) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 다른 노드로 중계하지 않고 이 노드의 chunkMode 형식 소켓에만 보낸다.
+     * 다른 노드가 수신 리스너로 같은 페이로드를 직접 만들 수 있을 때 사용한다.
+     */
+    public void broadcastLocal(String roomId, String event, Object payload, AiChunkMode chunkMode) {
+        EncodedPayload encoded;
+        try {
+            encoded = jsonSupport.encode(payload);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize local broadcast - roomId: {}, event: {}", roomId, event, e);
+            return;
+        }
+        payloadBytes.record(encoded.length());
+        sendLocal(roomId, event, encoded, chunkMode);
+    }
+
+    /**
+     * 다른 노드에서 중계된 event 이벤트를 받을 리스너를 등록한다.
+     * 리스너는 로컬 소켓 전달 뒤 Redis 수신 스레드에서 방 안의 순서대로 호출된다.
+     */
+    public void addRemoteListener(String event, RemoteEventListener listener) {
+        remoteListeners.computeIfAbsent(event, key -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    /**
+     * 방의 소켓 중 chunkMode 형식을 협상한 소켓에만 이벤트를 보낸다. null이면 모든 소켓에 보낸다.
+     */
+    public void broadcast(String roomId, String event, Object payload, @Nullable AiChunkMode chunkMode) {
+        EncodedPayload encoded;
+        try {
+            encoded = jsonSupport.encode(payload);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize broadcast - roomId: {}, event: {}", roomId, event, e);
+            return;
+        }
+        payloadBytes.record(encoded.length());
+
+        if (!enabled) {
+            if (chunkMode == null) {
+                socketIOServer.getRoomOperations(roomId).sendEvent(event, encoded);
+            } else {
+                sendLocal(roomId, event, encoded, chunkMode);
+            }
+            return;
+        }
+
+        sendLocal(roomId, event, encoded, chunkMode);
+        publishedEventCounter.increment();
+
+        EncodedEvent entry = new EncodedEvent(event.getBytes(StandardCharsets.UTF_8), encoded, audienceOf(chunkMode));
+        // 유휴 정리로 맵에서 빠진 배치를 잡았으면 새 배치로 다시 넣는다
+        boolean enqueued;
+        do {
+            enqueued = enqueue(roomId, entry);
+        } while (!enqueued);
+    }
+
+    private boolean enqueue(String roomId, EncodedEvent entry) {
+        RoomBatch batch = batches.computeIfAbsent(roomId, key -> new RoomBatch(key, Math.floorMod(key.hashCode(), shards)));
+        synchronized (batch) {
+            if (batch.retired) {
+                return false;
+            }
+            batch.entries.add(entry);
+            batch.bytes += entry.size();
+            // 큰 이벤트나 가득 찬 배치는 linger를 기다리지 않는다
+            boolean flushNow = entry.payload.length() > coalesceMaxBytes || batch.bytes >= maxFrameBytes;
+            if (!batch.scheduled) {
+                batch.scheduled = true;
+                flushers[batch.shard].schedule(() -> flush(batch), flushNow ? 0 : lingerMillis, TimeUnit.MILLISECONDS);
+            } else if (flushNow) {
+                flushers[batch.shard].execute(() -> flush(batch));
+            }
+        }
+        return true;
+    }
+
+    private void flush(RoomBatch batch) {
+        List<EncodedEvent> entries;
+        synchronized (batch) {
+            batch.scheduled = false;
+            if (batch.entries.isEmpty()) {
+                retireIfIdle(batch);
+                return;
+            }
+            entries = batch.entries;
+            batch.entries = new ArrayList<>();
+            batch.bytes = 0;
+        }
+
+        try {
+            topic(batch.shard).publish(encodeFrame(batch.roomBytes, entries));
+            publishedFrameCounter.increment();
+            eventsPerFrame.record(entries.size());
+        } catch (Exception e) {
+            log.error("Failed to publish broadcast frame - roomId: {}, events: {}", batch.roomId, entries.size(), e);
+        }
+
+        // 발행 중 새 이벤트가 없으면 배치를 맵에서 제거한다 (user:<id> 방처럼 드문 방이 쌓이지 않게)
+        // 다음 배치도 같은 샤드 스레드에서 이 발행 뒤에 flush되므로 방 안의 순서는 유지된다
+        synchronized (batch) {
+            retireIfIdle(batch);
+        }
+    }
+
+    private void retireIfIdle(RoomBatch batch) {
+        if (!batch.scheduled && batch.entries.isEmpty()) {
+            batch.retired = true;
+            batches.remove(batch.roomId, batch);
+        }
+    }
+
+    /**
+     * 프레임: [노드 ID][방 ID][이벤트 수] 뒤에 이벤트마다 [이벤트명][수신 형식][페이로드 길이][페이로드].
+     * 문자열은 2바이트 길이 + UTF-8 바이트이고, 수신 형식은 1바이트(0: 전체, 1 이상: AiChunkMode 순서 + 1)이다. 수신 노드는 JSON을 다시 파싱하지 않고 페이로드를 잘라 쓴다.
+     */
+    private byte[] encodeFrame(byte[] roomBytes, List<EncodedEvent> entries) {
+        int size = 2 + nodeId.length + 2 + roomBytes.length + 4;
+        for (EncodedEvent entry : entries) {
+            size += entry.size();
+        }
+        byte[] frame = new byte[size];
+        ByteBuffer buffer = ByteBuffer.wrap(frame);
+        putString(buffer, nodeId);
+        putString(buffer, roomBytes);
+        buffer.putInt(entries.size());
+        for (EncodedEvent entry : entries) {
+            putString(buffer, entry.name);
+            buffer.put(entry.audience);
+            buffer.putInt(entry.payload.length());
+            entry.payload.copyTo(frame, buffer.position());
+            buffer.position(buffer.position() + entry.payload.length());
+        }
+        return frame;
+    }
+
+    private void onFrame(byte[] frame) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(frame);
+            if (ByteBuffer.wrap(getString(buffer)).equals(ByteBuffer.wrap(nodeId))) {
+                return;
+            }
+            receivedFrameCounter.increment();
+            String roomId = new String(getString(buffer), StandardCharsets.UTF_8);
+            int count = buffer.getInt();
+            for (int i = 0; i < count; i++) {
+                String event = new String(getString(buffer), StandardCharsets.UTF_8);
+                AiChunkMode chunkMode = chunkModeOf(buffer.get());
+                int length = buffer.getInt();
+                EncodedPayload payload = EncodedPayload.slice(frame, buffer.position(), length);
+                sendLocal(roomId, event, payload, chunkMode);
+                notifyRemoteListeners(roomId, event, payload);
+                buffer.position(buffer.position() + length);
+            }
+        } catch (Exception e) {
+            log.error("Failed to relay broadcast frame", e);
+        }
+    }
+
+    private void notifyRemoteListeners(String roomId, String event, EncodedPayload payload) {
+        List<RemoteEventListener> listeners = remoteListeners.get(event);
+        if (listeners == null) {
+            return;
+        }
+        try {
+            JsonNode data = jsonSupport.readTree(payload);
+            for (RemoteEventListener listener : listeners) {
+                listener.onRemoteEvent(roomId, data);
+            }
+        } catch (Exception e) {
+            log.error("Failed to handle relayed broadcast - roomId: {}, event: {}", roomId, event, e);
+        }
+    }
+
+    // getRoomOperations().sendEvent는 다른 노드로도 중계하므로 로컬 소켓에 직접 보낸다
+    private void sendLocal(String roomId, String event, EncodedPayload payload, @Nullable AiChunkMode chunkMode) {
+        for (SocketIOClient client : socketIOServer.getRoomOperations(roomId).getClients()) {
+            if (chunkMode == null || AiChunkMode.of(client) == chunkMode) {
+                client.sendEvent(event, payload);
+            }
+        }
+    }
+
+    private static byte audienceOf(@Nullable AiChunkMode chunkMode) {
+        return chunkMode == null ? 0 : (byte) (chunkMode.ordinal() + 1);
+    }
+
+    private static AiChunkMode chunkModeOf(byte audience) {
+        return audience == 0 ? null : AiChunkMode.values()[audience - 1];
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] value) {
+        buffer.putShort((short) value.length);
+        buffer.put(value);
+    }
+
+    private static byte[] getString(ByteBuffer buffer) {
+        byte[] value = new byte[Short.toUnsignedInt(buffer.getShort())];
+        buffer.get(value);
+        return value;
+    }
+
+    private RTopic topic(int shard) {
+        return redissonClient.getTopic(CHANNEL_PREFIX + shard, ByteArrayCodec.INSTANCE);
+    }
+
+    private static Counter frameCounter(MeterRegistry meterRegistry, String direction) {
+        return Counter.builder("socketio.broadcast.frames")
+                .description("Room broadcast frames exchanged with other nodes")
+                .tag("direction", direction)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 다른 노드에서 중계된 이벤트 수신 리스너.
+     */
+    @FunctionalInterface
+    public interface RemoteEventListener {
+        void onRemoteEvent(String roomId, JsonNode payload);
+    }
+
+    private record EncodedEvent(byte[] name, EncodedPayload payload, byte audience) {
+        int size() {
+            return 2 + name.length + 1 + 4 + payload.length();
+        }
+    }
+
+    private static final class RoomBatch {
+        private final String roomId;
+        private final byte[] roomBytes;
+        private final int shard;
+        private List<EncodedEvent> entries = new ArrayList<>();
+        private int bytes;
+        private boolean scheduled;
+        // 맵에서 제거되어 더 이상 이벤트를 받지 않는다
+        private boolean retired;
+
+        private RoomBatch(String roomId, int shard) {
+            this.roomId = roomId;
+            this.roomBytes = roomId.getBytes(StandardCharsets.UTF_8);
+            this.shard = shard;
+        }
+    }
+}
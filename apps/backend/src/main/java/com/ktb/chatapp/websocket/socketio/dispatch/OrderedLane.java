@@ -0,0 +1,61 @@
+package com.ktb.chatapp.websocket.socketio.dispatch;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 제출 순서대로 한 번에 하나씩 실행되는 작업 레인.
+ * 대기 작업이 생길 때만 executor에 drain 작업을 올리므로 레인마다 스레드를 점유하지 않는다.
+ */
+@Slf4j
+final class OrderedLane implements Runnable {
+
+    private final Executor executor;
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    // 큐에 있거나 실행 중인 작업 수
+    private final AtomicInteger pending = new AtomicInteger();
+
+    OrderedLane(Executor executor) {
+        this.executor = executor;
+    }
+
+    void submit(Runnable task) {
+        tasks.add(task);
+        if (pending.getAndIncrement() == 0) {
+            executor.execute(this);
+        }
+    }
+
+    /**
+     * 대기 작업이 maxPending 미만일 때만 제출한다.
+     * 동시에 제출하는 스레드 수만큼 한도를 넘을 수 있는 근사 상한이다.
+     *
+     * @return 제출했으면 true
+     */
+    boolean trySubmit(Runnable task, int maxPending) {
+        if (pending.get() >= maxPending) {
+            return false;
+        }
+        submit(task);
+        return true;
+    }
+
+    int pending() {
+        return pending.get();
+    }
+
+    @Override
+    public void run() {
+        do {
+            Runnable task = tasks.poll();
+            try {
+                task.run();
+            } catch (Throwable t) {
+                log.error("Unhandled error in ordered lane task", t);
+            }
+        } while (pending.decrementAndGet() > 0);
+    }
+}
@@ -0,0 +1,55 @@
+package com.ktb.chatapp.websocket.socketio.dispatch;
+
+import java.util.concurrent.Executor;
+
+/**
+ * roomId로 나눈 고정 개수의 순차 레인.
+ * 같은 방의 작업은 도착 순서대로 하나씩 실행되고, 다른 레인의 방은 병렬로 실행된다.
+ * 레인마다 대기 작업 수 상한이 있어 한 방의 폭주가 메모리를 잠식하지 않는다.
+ */
+final class RoomLaneExecutor {
+
+    private final OrderedLane[] lanes;
+    private final int maxQueuedPerLane;
+
+    RoomLaneExecutor(Executor executor, int stripes, int maxQueuedPerLane) {
+        this.lanes = new OrderedLane[Math.max(1, stripes)];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new OrderedLane(executor);
+        }
+        this.maxQueuedPerLane = Math.max(1, maxQueuedPerLane);
+    }
+
+    /**
+     * @return 레인이 가득 차 거절되면 false
+     */
+    boolean trySubmit(String roomId, Runnable task) {
+        return laneFor(roomId).trySubmit(task, maxQueuedPerLane);
+    }
+
+    int stripes() {
+        return lanes.length;
+    }
+
+    int busyLanes() {
+        int busy = 0;
+        for (OrderedLane lane : lanes) {
+            if (lane.pending() > 0) {
+                busy++;
+            }
+        }
+        return busy;
+    }
+
+    int maxDepth() {
+        int max = 0;
+        for (OrderedLane lane : lanes) {
+            max = Math.max(max, lane.pending());
+        }
+        return max;
+    }
+
+    private OrderedLane laneFor(String roomId) {
+        return lanes[Math.floorMod(roomId.hashCode(), lanes.length)];
+    }
+}
@@ -0,0 +1,234 @@
+package com.ktb.chatapp.websocket.socketio.dispatch;
+
+import com.corundumstudio.socketio.SocketIOClient;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.ERROR;
+
+/**
+ * Socket.IO 이벤트 처리 디스패처.
+ * netty-socketio 워커(이벤트 루프) 스레드에서 받은 이벤트 본문을 가상 스레드로 넘겨
+ * MongoDB 등 블로킹 호출이 같은 이벤트 루프에 묶인 다른 소켓을 지연시키지 않게 한다.
+ *
+ * 같은 클라이언트의 이벤트는 클라이언트별 레인에서 도착 순서대로 하나씩 실행된다.
+ * 방 상태를 바꾸는 이벤트(메시지, 리액션, 읽음)는 roomId로 나눈 방 레인에서 다시 순차 실행되어
+ * 같은 방의 쓰기는 직렬화되고 다른 방은 병렬로 처리된다.
+ * 비활성화하면 호출 스레드에서 바로 실행한다 (이전 동작).
+ *
+ * socketio.dispatch.eventloop.time 타이머는 이벤트 루프 스레드가 핸들러 진입에서 반환까지 머문 시간으로,
+ * mode 태그(inline/virtual)로 디스패치 전후를 비교할 수 있다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
+public class SocketEventDispatcher {
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final ExecutorService executor;
+    private final Map<UUID, OrderedLane> clientLanes = new ConcurrentHashMap<>();
+    private final RoomLaneExecutor roomLanes;
+
+    public SocketEventDispatcher(
+            MeterRegistry meterRegistry,
+            @Value("${socketio.dispatch.virtual-threads.enabled:true}") boolean enabled,
+            @Value("${socketio.dispatch.room-lanes.stripes:64}") int roomLaneStripes,
+            @Value("${socketio.dispatch.room-lanes.max-queued:1000}") int roomLaneMaxQueued) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.executor = enabled
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("socketio-handler-", 0).factory())
+                : null;
+        this.roomLanes = enabled ? new RoomLaneExecutor(executor, roomLaneStripes, roomLaneMaxQueued) : null;
+
+        Gauge.builder("socketio.dispatch.lanes", clientLanes, Map::size)
+                .description("Per-client ordered dispatch lanes")
+                .register(meterRegistry);
+        if (roomLanes != null) {
+            Gauge.builder("socketio.dispatch.room_lanes.busy", roomLanes, RoomLaneExecutor::busyLanes)
+                    .description("Room lanes with queued or running events (out of " + roomLanes.stripes() + ")")
+                    .register(meterRegistry);
+            Gauge.builder("socketio.dispatch.room_lanes.max_depth", roomLanes, RoomLaneExecutor::maxDepth)
+                    .description("Queued events in the most loaded room lane (bound " + roomLaneMaxQueued + ")")
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * 이벤트 본문을 클라이언트 레인에 넣는다.
+     *
+     * @param client 이벤트를 보낸 클라이언트 (순서 보장 단위)
+     * @param event 이벤트 이름 (메트릭 태그)
+     * @param handler 이벤트 본문
+     */
+    public void dispatch(SocketIOClient client, String event, Runnable handler) {
+        long receivedAt = System.nanoTime();
+        if (!enabled) {
+            runHandler(event, handler);
+            recordEventLoopTime(event, "inline", receivedAt);
+            return;
+        }
+
+        OrderedLane lane = clientLanes.computeIfAbsent(client.getSessionId(), id -> new OrderedLane(executor));
+        lane.submit(() -> {
+            timer("socketio.dispatch.queue.time", "Time from event receipt to handler start", event)
+                    .record(System.nanoTime() - receivedAt, TimeUnit.NANOSECONDS);
+            runHandler(event, handler);
+        });
+        recordEventLoopTime(event, "virtual", receivedAt);
+    }
+
+    /**
+     * 이벤트 본문을 방 레인에서 실행한다.
+     * roomId 확인은 클라이언트 레인에서 먼저 실행하므로 같은 클라이언트가 보낸 이벤트는
+     * 보낸 순서대로 방 레인에 들어간다 (예: joinRoom 완료 후 chatMessage).
+     * 클라이언트 레인은 방 레인 작업이 끝날 때까지 기다리므로 같은 클라이언트의 다음 이벤트도
+     * 그 뒤에 실행된다 (예: chatMessage 처리 후 leaveRoom). 거절 응답도 클라이언트 레인에서 보낸다.
+     * roomId를 알 수 없으면 본문을 클라이언트 레인에서 바로 실행한다.
+     * 방 레인이 가득 차면 본문을 실행하지 않고 ERROR(SERVER_BUSY)를 보낸다.
+     *
+     * @param roomResolver 방 ID 확인 (블로킹 조회 가능, 없으면 null)
+     * @param handler 확인된 방 ID를 받는 이벤트 본문
+     */
+    public void dispatchToRoom(SocketIOClient client, String event,
+                               Supplier<String> roomResolver, Consumer<String> handler) {
+        if (!enabled) {
+            dispatch(client, event, () -> handler.accept(roomResolver.get()));
+            return;
+        }
+
+        long receivedAt = System.nanoTime();
+        OrderedLane lane = clientLanes.computeIfAbsent(client.getSessionId(), id -> new OrderedLane(executor));
+        lane.submit(() -> {
+            String roomId = resolveRoom(event, roomResolver);
+            CompletableFuture<Void> finished = new CompletableFuture<>();
+            Runnable task = () -> {
+                try {
+                    timer("socketio.dispatch.queue.time", "Time from event receipt to handler start", event)
+                            .record(System.nanoTime() - receivedAt, TimeUnit.NANOSECONDS);
+                    runHandler(event, () -> handler.accept(roomId));
+                } finally {
+                    finished.complete(null);
+                }
+            };
+            if (roomId == null) {
+                task.run();
+            } else if (roomLanes.trySubmit(roomId, task)) {
+                // 방 레인 작업이 끝날 때까지 클라이언트 레인을 붙잡아 다음 이벤트(leaveRoom 등)가 앞지르지 못하게 한다
+                finished.join();
+            } else {
+                reject(client, event, roomId);
+            }
+        });
+        recordEventLoopTime(event, "virtual", receivedAt);
+    }
+
+    /**
+     * 연결 종료 처리를 클라이언트 레인의 마지막 작업으로 넣는다.
+     * 앞서 제출된 이벤트가 모두 끝난 뒤 실행되고, 실행이 끝나면 레인을 정리한다.
+     * 콜백 반환 후 클라이언트 저장소가 정리될 수 있으므로 cleanup은 필요한 값을 미리 캡처해야 한다.
+     */
+    public void dispatchFinal(SocketIOClient client, String event, Runnable cleanup) {
+        long receivedAt = System.nanoTime();
+        if (!enabled) {
+            runHandler(event, cleanup);
+            recordEventLoopTime(event, "inline", receivedAt);
+            return;
+        }
+
+        UUID sessionId = client.getSessionId();
+        OrderedLane lane = clientLanes.computeIfAbsent(sessionId, id -> new OrderedLane(executor));
+        lane.submit(() -> {
+            try {
+                timer("socketio.dispatch.queue.time", "Time from event receipt to handler start", event)
+                        .record(System.nanoTime() - receivedAt, TimeUnit.NANOSECONDS);
+                runHandler(event, cleanup);
+            } finally {
+                clientLanes.remove(sessionId, lane);
+            }
+        });
+        recordEventLoopTime(event, "virtual", receivedAt);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private String resolveRoom(String event, Supplier<String> roomResolver) {
+        try {
+            return roomResolver.get();
+        } catch (Exception e) {
+            log.warn("Failed to resolve room for Socket.IO event - event: {}", event, e);
+            return null;
+        }
+    }
+
+    private void reject(SocketIOClient client, String event, String roomId) {
+        log.warn("Room lane saturated, rejecting event - event: {}, roomId: {}", event, roomId);
+        Counter.builder("socketio.dispatch.room_lanes.rejected")
+                .description("Events rejected because their room lane queue was full")
+                .tag("event", event)
+                .register(meterRegistry)
+                .increment();
+        client.sendEvent(ERROR, Map.of(
+                "code", "SERVER_BUSY",
+                "message", "요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해주세요."
+        ));
+    }
+
+    private void runHandler(String event, Runnable handler) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            handler.run();
+        } catch (Exception e) {
+            log.error("Unhandled error in Socket.IO handler - event: {}", event, e);
+        } finally {
+            sample.stop(timer("socketio.dispatch.execution.time", "Socket.IO handler execution time", event));
+        }
+    }
+
+    private void recordEventLoopTime(String event, String mode, long receivedAt) {
+        Timer.builder("socketio.dispatch.eventloop.time")
+                .description("Time the netty-socketio worker thread spent in the handler entry")
+                .tag("event", event)
+                .tag("mode", mode)
+                .register(meterRegistry)
+                .record(System.nanoTime() - receivedAt, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer timer(String name, String description, String event) {
+        return Timer.builder(name)
+                .description(description)
+                .tag("event", event)
+                .register(meterRegistry);
+    }
+}
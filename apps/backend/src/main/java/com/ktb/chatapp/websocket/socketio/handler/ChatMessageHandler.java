@@ -1,7 +1,6 @@
 package com.ktb.chatapp.websocket.socketio.handler;
 
 import com.corundumstudio.socketio.SocketIOClient;
-import com.corundumstudio.socketio.SocketIOServer;
 import com.corundumstudio.socketio.annotation.OnEvent;
 import com.ktb.chatapp.dto.ChatMessageRequest;
 import com.ktb.chatapp.dto.FileResponse;
@@ -12,20 +11,26 @@ import com.ktb.chatapp.model.*;
 import com.ktb.chatapp.repository.FileRepository;
 import com.ktb.chatapp.repository.MessageRepository;
 import com.ktb.chatapp.repository.RoomRepository;
-import com.ktb.chatapp.repository.UserRepository;
 import com.ktb.chatapp.util.BannedWordChecker;
 import com.ktb.chatapp.websocket.socketio.ai.AiService;
+import com.ktb.chatapp.service.EntityLookupContext;
+import com.ktb.chatapp.service.MessageWriteBehindQueue;
 import com.ktb.chatapp.service.SessionService;
+import com.ktb.chatapp.service.UserCache;
 import com.ktb.chatapp.service.SessionValidationResult;
 import com.ktb.chatapp.service.RateLimitService;
 import com.ktb.chatapp.service.RateLimitCheckResult;
+import com.ktb.chatapp.service.RecentMessageCache;
 import com.ktb.chatapp.websocket.socketio.SocketUser;
+import com.ktb.chatapp.websocket.socketio.broadcast.RoomBroadcastBus;
+import com.ktb.chatapp.websocket.socketio.dispatch.SocketEventDispatcher;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.RejectedExecutionException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -38,19 +43,27 @@ import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.*;
 @ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
 @RequiredArgsConstructor
 public class ChatMessageHandler {
-    private final SocketIOServer socketIOServer;
+    private final RoomBroadcastBus roomBroadcastBus;
     private final MessageRepository messageRepository;
     private final RoomRepository roomRepository;
-    private final UserRepository userRepository;
+    private final UserCache userCache;
     private final FileRepository fileRepository;
     private final AiService aiService;
     private final SessionService sessionService;
     private final BannedWordChecker bannedWordChecker;
     private final RateLimitService rateLimitService;
     private final MeterRegistry meterRegistry;
+    private final RecentMessageCache recentMessageCache;
+    private final MessageWriteBehindQueue messageWriteBehindQueue;
+    private final SocketEventDispatcher socketEventDispatcher;
     
     @OnEvent(CHAT_MESSAGE)
     public void handleChatMessage(SocketIOClient client, ChatMessageRequest data) {
+        socketEventDispatcher.dispatchToRoom(client, CHAT_MESSAGE,
+                () -> data != null ? data.getRoom() : null, roomId -> processChatMessage(client, data));
+    }
+
+    private void processChatMessage(SocketIOClient client, ChatMessageRequest data) {
         Timer.Sample timerSample = Timer.start(meterRegistry);
 
         if (data == null) {
@@ -75,8 +88,11 @@ public class ChatMessageHandler {
             return;
         }
 
+        // 이벤트 처리 중 조회한 세션/사용자/방/파일을 공유하여 같은 문서를 다시 읽지 않는다
+        var lookups = new EntityLookupContext();
+
         SessionValidationResult validation =
-                sessionService.validateSession(socketUser.id(), socketUser.authSessionId());
+                sessionService.validateSession(socketUser.id(), socketUser.authSessionId(), lookups);
         if (!validation.isValid()) {
             recordError("session_expired");
             client.sendEvent(ERROR, Map.of(
@@ -89,7 +105,7 @@ public class ChatMessageHandler {
 
         // Rate limit check
         RateLimitCheckResult rateLimitResult =
-                rateLimitService.checkRateLimit(socketUser.id(), 10000, Duration.ofMinutes(1));
+                rateLimitService.checkRateLimit(socketUser.id(), 10000, Duration.ofMinutes(1), lookups);
         if (!rateLimitResult.allowed()) {
             recordError("rate_limit_exceeded");
             Counter.builder("socketio.messages.rate_limit")
@@ -108,7 +124,7 @@ public class ChatMessageHandler {
         }
         
         try {
-            User sender = userRepository.findById(socketUser.id()).orElse(null);
+            User sender = lookups.find(User.class, socketUser.id(), userCache::findById).orElse(null);
             if (sender == null) {
                 recordError("user_not_found");
                 client.sendEvent(ERROR, Map.of(
@@ -120,7 +136,7 @@ public class ChatMessageHandler {
             }
 
             String roomId = data.getRoom();
-            Room room = roomRepository.findById(roomId).orElse(null);
+            Room room = lookups.find(Room.class, roomId, roomRepository::findById).orElse(null);
             if (room == null || !room.getParticipantIds().contains(socketUser.id())) {
                 recordError("room_access_denied");
                 client.sendEvent(ERROR, Map.of(
@@ -148,7 +164,7 @@ public class ChatMessageHandler {
 
             String messageType = data.getMessageType();
             Message message = switch (messageType) {
-                case "file" -> handleFileMessage(roomId, socketUser.id(), messageContent, data.getFileData());
+                case "file" -> handleFileMessage(roomId, socketUser.id(), messageContent, data.getFileData(), lookups);
                 case "text" -> handleTextMessage(roomId, socketUser.id(), messageContent);
                 default -> throw new IllegalArgumentException("Unsupported message type: " + messageType);
             };
@@ -159,15 +175,33 @@ public class ChatMessageHandler {
                 return;
             }
 
-            Message savedMessage = messageRepository.save(message);
+            // write-behind 모드에서는 ID만 부여하고 저장은 큐에 맡긴 채 바로 브로드캐스트한다
+            Message savedMessage;
+            if (messageWriteBehindQueue.isEnabled()) {
+                try {
+                    savedMessage = messageWriteBehindQueue.enqueue(message);
+                } catch (RejectedExecutionException e) {
+                    // 저장 큐가 가득 차면 기다리지 않고 거절한다 (브로드캐스트하지 않는다)
+                    recordError("persist_queue_full");
+                    client.sendEvent(ERROR, Map.of(
+                            "code", "SERVER_BUSY",
+                            "message", "요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해주세요."
+                    ));
+                    timerSample.stop(createTimer("error", "persist_queue_full"));
+                    return;
+                }
+            } else {
+                savedMessage = messageRepository.save(message);
+            }
 
-            socketIOServer.getRoomOperations(roomId)
-                    .sendEvent(MESSAGE, createMessageResponse(savedMessage, sender));
+            MessageResponse messageResponse = createMessageResponse(savedMessage, sender, lookups);
+            roomBroadcastBus.broadcast(roomId, MESSAGE, messageResponse);
+            recentMessageCache.append(messageResponse);
 
             // AI 멘션 처리
             aiService.handleAIMentions(roomId, socketUser.id(), messageContent);
 
-            sessionService.updateLastActivity(socketUser.id());
+            sessionService.updateLastActivity(socketUser.id(), lookups);
 
             // Record success metrics
             recordMessageSuccess(messageType);
@@ -187,13 +221,14 @@ public class ChatMessageHandler {
         }
     }
 
-    private Message handleFileMessage(String roomId, String userId, MessageContent messageContent, Map<String, Object> fileData) {
+    private Message handleFileMessage(String roomId, String userId, MessageContent messageContent,
+                                      Map<String, Object> fileData, EntityLookupContext lookups) {
         if (fileData == null || fileData.get("_id") == null) {
             throw new IllegalArgumentException("파일 데이터가 올바르지 않습니다.");
         }
 
         String fileId = (String) fileData.get("_id");
-        File file = fileRepository.findById(fileId).orElse(null);
+        File file = lookups.find(File.class, fileId, fileRepository::findById).orElse(null);
 
         if (file == null || !file.getUser().equals(userId)) {
             throw new IllegalStateException("파일을 찾을 수 없거나 접근 권한이 없습니다.");
@@ -234,7 +269,7 @@ public class ChatMessageHandler {
         return message;
     }
 
-    private MessageResponse createMessageResponse(Message message, User sender) {
+    private MessageResponse createMessageResponse(Message message, User sender, EntityLookupContext lookups) {
         var messageResponse = new MessageResponse();
         messageResponse.setId(message.getId());
         messageResponse.setRoomId(message.getRoomId());
@@ -246,7 +281,7 @@ public class ChatMessageHandler {
         messageResponse.setMetadata(message.getMetadata());
 
         if (message.getFileId() != null) {
-            fileRepository.findById(message.getFileId())
+            lookups.find(File.class, message.getFileId(), fileRepository::findById)
                     .ifPresent(file -> messageResponse.setFile(FileResponse.from(file)));
         }
 
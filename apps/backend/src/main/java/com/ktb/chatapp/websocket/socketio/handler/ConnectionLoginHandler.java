@@ -6,6 +6,8 @@ import com.corundumstudio.socketio.annotation.OnDisconnect;
 import com.ktb.chatapp.websocket.socketio.ConnectedUsers;
 import com.ktb.chatapp.websocket.socketio.SocketUser;
 import com.ktb.chatapp.websocket.socketio.UserRooms;
+import com.ktb.chatapp.websocket.socketio.ai.AiStreamRegistry;
+import com.ktb.chatapp.websocket.socketio.dispatch.SocketEventDispatcher;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import java.time.Duration;
@@ -33,6 +35,8 @@ public class ConnectionLoginHandler {
     private final UserRooms userRooms;
     private final RoomJoinHandler roomJoinHandler;
     private final RoomLeaveHandler roomLeaveHandler;
+    private final SocketEventDispatcher socketEventDispatcher;
+    private final AiStreamRegistry aiStreamRegistry;
 
     public ConnectionLoginHandler(
             SocketIOServer socketIOServer,
@@ -40,12 +44,16 @@ public class ConnectionLoginHandler {
             UserRooms userRooms,
             RoomJoinHandler roomJoinHandler,
             RoomLeaveHandler roomLeaveHandler,
+            SocketEventDispatcher socketEventDispatcher,
+            AiStreamRegistry aiStreamRegistry,
             MeterRegistry meterRegistry) {
         this.socketIOServer = socketIOServer;
         this.connectedUsers = connectedUsers;
         this.userRooms = userRooms;
         this.roomJoinHandler = roomJoinHandler;
         this.roomLeaveHandler = roomLeaveHandler;
+        this.socketEventDispatcher = socketEventDispatcher;
+        this.aiStreamRegistry = aiStreamRegistry;
 
         // Register gauge metric for concurrent users
         Gauge.builder("socketio.concurrent.users", connectedUsers::size)
@@ -83,24 +91,39 @@ public class ConnectionLoginHandler {
         }
     }
     
+    /**
+     * 정리 작업은 클라이언트 레인의 마지막 작업으로 실행하여 먼저 도착한 이벤트(joinRoom 등)가
+     * 끝난 뒤 방 퇴장을 처리한다. 콜백이 반환되면 클라이언트 저장소가 정리될 수 있으므로
+     * 사용자 정보는 여기서 미리 읽어 둔다.
+     */
     @OnDisconnect
     public void onDisconnect(SocketIOClient client) {
-        String userId = getUserId(client);
-        String userName = getUserName(client);
-        
+        SocketUser user = getUserDto(client);
+        socketEventDispatcher.dispatchFinal(client, "disconnect", () -> {
+            if (user != null) {
+                cleanupDisconnected(client, user);
+            }
+        });
+    }
+
+    private void cleanupDisconnected(SocketIOClient client, SocketUser user) {
+        String userId = user.id();
+
         try {
-            if (userId == null) {
-                return;
+            String socketId = client.getSessionId().toString();
+            var socketUser = connectedUsers.get(userId);
+            boolean activeConnection = socketUser != null && socketId.equals(socketUser.socketId());
+
+            // 재연결로 대체된 소켓이면 새 연결에서 이어 볼 수 있으므로 AI 스트림을 남겨 둔다
+            if (activeConnection) {
+                aiStreamRegistry.cancelUser(userId, AiStreamRegistry.REASON_DISCONNECT);
             }
-            
             userRooms.get(userId).forEach(roomId -> {
-                roomLeaveHandler.handleLeaveRoom(client, roomId);
+                roomLeaveHandler.leaveRoom(client, user, roomId, activeConnection);
             });
-            String socketId = client.getSessionId().toString();
             
             // 해당 사용자의 현재 활성 연결인 경우에만 정리
-            var socketUser = connectedUsers.get(userId);
-            if (socketUser != null && socketId.equals(socketUser.socketId())) {
+            if (activeConnection) {
                 connectedUsers.del(userId);
             } else {
                 log.warn("Socket.IO disconnect: User {} has a different active connection. Skipping cleanup.", userId);
@@ -111,25 +134,19 @@ public class ConnectionLoginHandler {
             client.disconnect();
             
             log.info("Socket.IO user disconnected: {} ({}) - Total concurrent users: {}",
-                    userName, userId, connectedUsers.size());
+                    user.name(), userId, connectedUsers.size());
         } catch (Exception e) {
             log.error("Error handling Socket.IO disconnection", e);
             client.sendEvent(ERROR, Map.of(
                 "message", "연결 종료 처리 중 오류가 발생했습니다."
             ));
         }
-        
     }
     
     private SocketUser getUserDto(SocketIOClient client) {
         return client.get("user");
     }
     
-    private String getUserId(SocketIOClient client) {
-        SocketUser user = getUserDto(client);
-        return user != null ? user.id() : null;
-    }
-    
     private String getUserName(SocketIOClient client) {
         SocketUser user = getUserDto(client);
         return user != null ? user.name() : null;
@@ -7,6 +7,7 @@ import com.ktb.chatapp.dto.FetchMessagesResponse;
 import com.ktb.chatapp.model.Room;
 import com.ktb.chatapp.repository.RoomRepository;
 import com.ktb.chatapp.websocket.socketio.SocketUser;
+import com.ktb.chatapp.websocket.socketio.dispatch.SocketEventDispatcher;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -27,9 +28,14 @@ public class MessageFetchHandler {
 
     private final RoomRepository roomRepository;
     private final MessageLoader messageLoader;
+    private final SocketEventDispatcher socketEventDispatcher;
 
     @OnEvent(FETCH_PREVIOUS_MESSAGES)
     public void handleFetchMessages(SocketIOClient client, FetchMessagesRequest data) {
+        socketEventDispatcher.dispatch(client, FETCH_PREVIOUS_MESSAGES, () -> fetchMessages(client, data));
+    }
+
+    private void fetchMessages(SocketIOClient client, FetchMessagesRequest data) {
         String userId = getUserId(client);
         String queueKey = data.roomId() + ":" + userId;
         if (userId == null) {
@@ -2,22 +2,26 @@ package com.ktb.chatapp.websocket.socketio.handler;
 
 import com.ktb.chatapp.dto.FetchMessagesRequest;
 import com.ktb.chatapp.dto.FetchMessagesResponse;
+import com.ktb.chatapp.dto.MessageCursor;
 import com.ktb.chatapp.dto.MessageResponse;
 import com.ktb.chatapp.model.Message;
 import com.ktb.chatapp.model.User;
 import com.ktb.chatapp.repository.MessageRepository;
-import com.ktb.chatapp.repository.UserRepository;
 import com.ktb.chatapp.service.MessageReadStatusService;
-import jakarta.annotation.Nullable;
+import com.ktb.chatapp.service.MessageWriteBehindQueue;
+import com.ktb.chatapp.service.RecentMessageCache;
+import com.ktb.chatapp.service.UserCache;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Component;
 
 import static java.util.Collections.emptyList;
@@ -28,18 +32,29 @@ import static java.util.Collections.emptyList;
 public class MessageLoader {
 
     private final MessageRepository messageRepository;
-    private final UserRepository userRepository;
+    private final UserCache userCache;
     private final MessageResponseMapper messageResponseMapper;
     private final MessageReadStatusService messageReadStatusService;
+    private final RecentMessageCache recentMessageCache;
+    private final MessageWriteBehindQueue messageWriteBehindQueue;
 
     private static final int BATCH_SIZE = 30;
 
     /**
      * 메시지 로드
+     * cursor가 있으면 (timestamp, _id) seek, 없으면 before 시각 기준으로 조회한다.
+     * 첫 페이지는 방별 최근 메시지 버퍼에서 먼저 찾는다.
+     *
+     * @throws IllegalArgumentException cursor 형식이 올바르지 않은 경우
      */
     public FetchMessagesResponse loadMessages(FetchMessagesRequest data, String userId) {
+        MessageCursor cursor = data.hasCursor() ? MessageCursor.decode(data.cursor()) : null;
         try {
-            return loadMessagesInternal(data.roomId(), data.limit(BATCH_SIZE), data.before(LocalDateTime.now()), userId);
+            if (data.isFirstPage()) {
+                return loadFirstPage(data.roomId(), data.limit(BATCH_SIZE), userId);
+            }
+            return loadMessagesInternal(
+                    data.roomId(), data.limit(BATCH_SIZE), cursor, data.before(LocalDateTime.now()), userId);
         } catch (Exception e) {
             log.error("Error loading initial messages for room {}", data.roomId(), e);
             return FetchMessagesResponse.builder()
@@ -49,33 +64,73 @@ public class MessageLoader {
         }
     }
 
+    private FetchMessagesResponse loadFirstPage(String roomId, int limit, String userId) {
+        var recent = recentMessageCache.recent(roomId, limit);
+        if (recent.isPresent()) {
+            List<MessageResponse> messages = recent.get().messages();
+            var messageIds = messages.stream().map(MessageResponse::getId).toList();
+            markAsRead(roomId, messageIds, userId);
+
+            log.debug("Messages served from recent buffer - roomId: {}, limit: {}, count: {}, hasMore: {}",
+                    roomId, limit, messages.size(), recent.get().hasMore());
+
+            MessageResponse oldest = messages.isEmpty() ? null : messages.getFirst();
+            return FetchMessagesResponse.builder()
+                    .messages(messages)
+                    .hasMore(recent.get().hasMore())
+                    .nextCursor(recent.get().hasMore() && oldest != null
+                            ? new MessageCursor(oldest.getTimestamp(), oldest.getId()).encode()
+                            : null)
+                    .build();
+        }
+
+        // 조회 도중 방에 변경이 생기면 seed가 무시되어 다음 조회가 DB에서 다시 채운다
+        var ticket = recentMessageCache.beginSeed(roomId);
+        if (messageWriteBehindQueue.hasPending(roomId)) {
+            // 저장 대기 중인 메시지가 DB 조회에 빠지므로 버퍼를 채우지 않는다
+            ticket = null;
+        }
+        FetchMessagesResponse response = loadMessagesInternal(roomId, limit, null, LocalDateTime.now(), userId);
+        recentMessageCache.seed(ticket, response.getMessages(), response.isHasMore());
+        recentMessageCache.applyRead(roomId, userId,
+                response.getMessages().stream().map(MessageResponse::getId).toList(), LocalDateTime.now());
+        return response;
+    }
+
+    private void markAsRead(String roomId, List<String> messageIds, String userId) {
+        messageReadStatusService.updateReadStatus(messageIds, userId);
+        recentMessageCache.applyRead(roomId, userId, messageIds, LocalDateTime.now());
+    }
+
     private FetchMessagesResponse loadMessagesInternal(
             String roomId,
             int limit,
+            MessageCursor cursor,
             LocalDateTime before,
             String userId) {
-        Pageable pageable = PageRequest.of(0, limit, Sort.by("timestamp").descending());
-
-        Page<Message> messagePage = messageRepository
-                .findByRoomIdAndIsDeletedAndTimestampBefore(roomId, false, before, pageable);
+        // limit+1개를 조회해 초과분으로 hasMore를 판단한다 (count 쿼리 없음)
+        Limit fetchLimit = Limit.of(limit + 1);
+        List<Message> rows = cursor != null
+                ? messageRepository.findPageBeforeCursor(
+                        roomId, cursor.timestampAsLocalDateTime(), toIdBound(cursor.messageId()), fetchLimit)
+                : messageRepository.findRecentBefore(roomId, before, fetchLimit);
 
-        List<Message> messages = messagePage.getContent();
+        boolean hasMore = rows.size() > limit;
+        List<Message> messages = hasMore ? rows.subList(0, limit) : rows;
+        String nextCursor = hasMore ? MessageCursor.from(messages.getLast()).encode() : null;
 
         // DESC로 조회했으므로 ASC로 재정렬 (채팅 UI 표시 순서)
         List<Message> sortedMessages = messages.reversed();
         
+        // 읽음 처리 전 상태로 readers를 구성한다
+        messageReadStatusService.populateReaders(roomId, sortedMessages);
+
         var messageIds = sortedMessages.stream().map(Message::getId).toList();
         messageReadStatusService.updateReadStatus(messageIds, userId);
         
-        // 메시지 응답 생성
-        List<MessageResponse> messageResponses = sortedMessages.stream()
-                .map(message -> {
-                    var user = findUserById(message.getSenderId());
-                    return messageResponseMapper.mapToMessageResponse(message, user);
-                })
-                .collect(Collectors.toList());
-
-        boolean hasMore = messagePage.hasNext();
+        // 발신자/파일을 페이지 단위로 일괄 조회한 뒤 메시지 응답 생성 (페이지 크기와 무관하게 쿼리 수 일정)
+        List<MessageResponse> messageResponses =
+                messageResponseMapper.mapToMessageResponses(sortedMessages, findSendersById(sortedMessages));
 
         log.debug("Messages loaded - roomId: {}, limit: {}, count: {}, hasMore: {}",
                 roomId, limit, messageResponses.size(), hasMore);
@@ -83,18 +138,27 @@ public class MessageLoader {
         return FetchMessagesResponse.builder()
                 .messages(messageResponses)
                 .hasMore(hasMore)
+                .nextCursor(nextCursor)
                 .build();
     }
 
+    // ObjectId로 저장된 _id와 비교하려면 같은 BSON 타입이어야 한다
+    private static Object toIdBound(String messageId) {
+        return ObjectId.isValid(messageId) ? new ObjectId(messageId) : messageId;
+    }
+
     /**
-     * AI 경우 null 반환 가능
+     * 페이지 내 발신자 조회. AI/시스템 메시지처럼 발신자가 없으면 맵에 포함되지 않는다.
      */
-    @Nullable
-    private User findUserById(String id) {
-        if (id == null) {
-            return null;
+    private Map<String, User> findSendersById(List<Message> messages) {
+        Set<String> senderIds = messages.stream()
+                .map(Message::getSenderId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (senderIds.isEmpty()) {
+            return Map.of();
         }
-        return userRepository.findById(id)
-                .orElse(null);
+        return userCache.findAllById(senderIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
     }
 }
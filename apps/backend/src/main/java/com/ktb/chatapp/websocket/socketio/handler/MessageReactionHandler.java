@@ -1,14 +1,18 @@
 package com.ktb.chatapp.websocket.socketio.handler;
 
 import com.corundumstudio.socketio.SocketIOClient;
-import com.corundumstudio.socketio.SocketIOServer;
 import com.corundumstudio.socketio.annotation.OnEvent;
 import com.ktb.chatapp.dto.MessageReactionRequest;
 import com.ktb.chatapp.dto.MessageReactionResponse;
 import com.ktb.chatapp.model.Message;
 import com.ktb.chatapp.repository.MessageRepository;
+import com.ktb.chatapp.service.MessageWriteBehindQueue;
+import com.ktb.chatapp.service.RecentMessageCache;
 import com.ktb.chatapp.websocket.socketio.SocketUser;
+import com.ktb.chatapp.websocket.socketio.broadcast.RoomBroadcastBus;
+import com.ktb.chatapp.websocket.socketio.dispatch.SocketEventDispatcher;
 import java.util.Map;
+import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -26,11 +30,29 @@ import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.*;
 @RequiredArgsConstructor
 public class MessageReactionHandler {
     
-    private final SocketIOServer socketIOServer;
+    private final RoomBroadcastBus roomBroadcastBus;
     private final MessageRepository messageRepository;
+    private final RecentMessageCache recentMessageCache;
+    private final MessageWriteBehindQueue messageWriteBehindQueue;
+    private final SocketEventDispatcher socketEventDispatcher;
     
     @OnEvent(MESSAGE_REACTION)
     public void handleMessageReaction(SocketIOClient client, MessageReactionRequest data) {
+        // 같은 방의 리액션 브로드캐스트가 반영 순서대로 나가도록 방 레인에서 처리한다
+        socketEventDispatcher.dispatchToRoom(client, MESSAGE_REACTION,
+                () -> resolveRoomId(data), roomId -> processMessageReaction(client, data));
+    }
+
+    private String resolveRoomId(MessageReactionRequest data) {
+        if (data == null || data.getMessageId() == null) {
+            return null;
+        }
+        return messageWriteBehindQueue.findPending(data.getMessageId())
+                .or(() -> messageRepository.findRoomById(data.getMessageId()))
+                .map(Message::getRoomId).orElse(null);
+    }
+
+    private void processMessageReaction(SocketIOClient client, MessageReactionRequest data) {
         try {
             String userId = getUserId(client);
             if (userId == null || userId.isBlank()) {
@@ -38,33 +60,46 @@ public class MessageReactionHandler {
                 return;
             }
 
-            Message message = messageRepository.findById(data.getMessageId()).orElse(null);
-            if (message == null) {
-                client.sendEvent(ERROR, Map.of("message", "메시지를 찾을 수 없습니다."));
+            boolean add = "add".equals(data.getType());
+            if (!add && !"remove".equals(data.getType())) {
+                client.sendEvent(ERROR, Map.of("message", "지원하지 않는 리액션 타입입니다."));
+                return;
+            }
+            String reaction = data.getReaction();
+            if (!isValidReaction(reaction)) {
+                client.sendEvent(ERROR, Map.of("message", "지원하지 않는 리액션입니다."));
                 return;
             }
 
-            switch (data.getType()) {
-                case "add" -> message.addReaction(data.getReaction(), userId);
-                case "remove" -> message.removeReaction(data.getReaction(), userId);
-                case null, default -> {
-                    client.sendEvent(ERROR, Map.of("message", "지원하지 않는 리액션 타입입니다."));
-                    return;
-                }
+            // 저장 대기 중이면 저장될 문서를 바꾸고, 저장된 메시지는 원자적 갱신으로 동시 리액션이 유실되지 않게 한다
+            String messageId = data.getMessageId();
+            Runnable persist = () -> applyReaction(messageId, reaction, userId, add);
+            Message message = messageWriteBehindQueue.updatePending(messageId,
+                            pending -> {
+                                if (add) {
+                                    pending.addReaction(reaction, userId);
+                                } else {
+                                    pending.removeReaction(reaction, userId);
+                                }
+                            }, persist)
+                    .or(() -> applyReaction(messageId, reaction, userId, add))
+                    .orElse(null);
+            if (message == null) {
+                client.sendEvent(ERROR, Map.of("message", "메시지를 찾을 수 없습니다."));
+                return;
             }
 
             log.debug("Message reaction processed - type: {}, reaction: {}, messageId: {}, userId: {}",
-                data.getType(), data.getReaction(), message.getId(), userId);
+                data.getType(), reaction, message.getId(), userId);
 
-            messageRepository.save(message);
+            recentMessageCache.updateReactions(message.getRoomId(), message.getId(), message.getReactions());
 
             MessageReactionResponse response = new MessageReactionResponse(
                 message.getId(),
                 message.getReactions()
             );
 
-            socketIOServer.getRoomOperations(message.getRoomId())
-                .sendEvent(MESSAGE_REACTION_UPDATE, response);
+            roomBroadcastBus.broadcast(message.getRoomId(), MESSAGE_REACTION_UPDATE, response);
 
         } catch (Exception e) {
             log.error("Error handling messageReaction", e);
@@ -74,6 +109,17 @@ public class MessageReactionHandler {
         }
     }
     
+    private Optional<Message> applyReaction(String messageId, String reaction, String userId, boolean add) {
+        return add
+                ? messageRepository.addReaction(messageId, reaction, userId)
+                : messageRepository.removeReaction(messageId, reaction, userId);
+    }
+
+    // 리액션은 문서의 필드 이름이 되므로 경로 구분자와 연산자 접두어를 받지 않는다
+    private static boolean isValidReaction(String reaction) {
+        return reaction != null && !reaction.isBlank() && !reaction.contains(".") && !reaction.startsWith("$");
+    }
+
     private String getUserId(SocketIOClient client) {
         var user = (SocketUser) client.get("user");
         return user.id();
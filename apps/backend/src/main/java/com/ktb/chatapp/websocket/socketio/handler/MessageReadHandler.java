@@ -1,7 +1,6 @@
 package com.ktb.chatapp.websocket.socketio.handler;
 
 import com.corundumstudio.socketio.SocketIOClient;
-import com.corundumstudio.socketio.SocketIOServer;
 import com.corundumstudio.socketio.annotation.OnEvent;
 import com.ktb.chatapp.dto.MarkAsReadRequest;
 import com.ktb.chatapp.dto.MessagesReadResponse;
@@ -10,9 +9,14 @@ import com.ktb.chatapp.model.Room;
 import com.ktb.chatapp.model.User;
 import com.ktb.chatapp.repository.MessageRepository;
 import com.ktb.chatapp.repository.RoomRepository;
-import com.ktb.chatapp.repository.UserRepository;
-import com.ktb.chatapp.service.MessageReadStatusService;
+import com.ktb.chatapp.service.MessageWriteBehindQueue;
+import com.ktb.chatapp.service.ReadReceiptBuffer;
+import com.ktb.chatapp.service.RecentMessageCache;
+import com.ktb.chatapp.service.UserCache;
 import com.ktb.chatapp.websocket.socketio.SocketUser;
+import com.ktb.chatapp.websocket.socketio.broadcast.RoomBroadcastBus;
+import com.ktb.chatapp.websocket.socketio.dispatch.SocketEventDispatcher;
+import java.time.LocalDateTime;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -31,14 +35,35 @@ import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.*;
 @RequiredArgsConstructor
 public class MessageReadHandler {
     
-    private final SocketIOServer socketIOServer;
-    private final MessageReadStatusService messageReadStatusService;
+    private final RoomBroadcastBus roomBroadcastBus;
+    private final ReadReceiptBuffer readReceiptBuffer;
     private final MessageRepository messageRepository;
     private final RoomRepository roomRepository;
-    private final UserRepository userRepository;
+    private final UserCache userCache;
+    private final RecentMessageCache recentMessageCache;
+    private final MessageWriteBehindQueue messageWriteBehindQueue;
+    private final SocketEventDispatcher socketEventDispatcher;
     
     @OnEvent(MARK_MESSAGES_AS_READ)
     public void handleMarkAsRead(SocketIOClient client, MarkAsReadRequest data) {
+        socketEventDispatcher.dispatchToRoom(client, MARK_MESSAGES_AS_READ,
+                () -> resolveRoomId(data), roomId -> markAsRead(client, data, roomId));
+    }
+
+    /**
+     * 첫 메시지가 속한 방. 방금 브로드캐스트되어 아직 저장 대기 중인 메시지일 수 있다.
+     */
+    private String resolveRoomId(MarkAsReadRequest data) {
+        if (data == null || data.getMessageIds() == null || data.getMessageIds().isEmpty()) {
+            return null;
+        }
+        String firstMessageId = data.getMessageIds().getFirst();
+        return messageWriteBehindQueue.findPending(firstMessageId)
+                .or(() -> messageRepository.findRoomById(firstMessageId))
+                .map(Message::getRoomId).orElse(null);
+    }
+
+    private void markAsRead(SocketIOClient client, MarkAsReadRequest data, String roomId) {
         try {
             String userId = getUserId(client);
             if (userId == null) {
@@ -49,16 +74,13 @@ public class MessageReadHandler {
             if (data == null || data.getMessageIds() == null || data.getMessageIds().isEmpty()) {
                 return;
             }
-            
-            String roomId = messageRepository.findById(data.getMessageIds().getFirst())
-                    .map(Message::getRoomId).orElse(null);
-            
+
             if (roomId == null || roomId.isBlank()) {
                 client.sendEvent(ERROR, Map.of("message", "Invalid room"));
                 return;
             }
 
-            User user = userRepository.findById(userId).orElse(null);
+            User user = userCache.findById(userId).orElse(null);
             if (user == null) {
                 client.sendEvent(ERROR, Map.of("message", "User not found"));
                 return;
@@ -70,13 +92,14 @@ public class MessageReadHandler {
                 return;
             }
             
-            messageReadStatusService.updateReadStatus(data.getMessageIds(), userId);
+            // DB 반영은 버퍼에서 일괄 처리하고 브로드캐스트는 즉시 보낸다
+            readReceiptBuffer.enqueue(roomId, userId, data.getMessageIds());
+            recentMessageCache.applyRead(roomId, userId, data.getMessageIds(), LocalDateTime.now());
 
             MessagesReadResponse response = new MessagesReadResponse(userId, data.getMessageIds());
 
             // Broadcast to room
-            socketIOServer.getRoomOperations(roomId)
-                    .sendEvent(MESSAGES_READ, response);
+            roomBroadcastBus.broadcast(roomId, MESSAGES_READ, response);
 
         } catch (Exception e) {
             log.error("Error handling markMessagesAsRead", e);
@@ -3,12 +3,18 @@ package com.ktb.chatapp.websocket.socketio.handler;
 import com.ktb.chatapp.dto.FileResponse;
 import com.ktb.chatapp.dto.MessageResponse;
 import com.ktb.chatapp.dto.UserResponse;
+import com.ktb.chatapp.model.File;
 import com.ktb.chatapp.model.Message;
 import com.ktb.chatapp.model.User;
 import com.ktb.chatapp.repository.FileRepository;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Optional;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -32,6 +38,40 @@ public class MessageResponseMapper {
      * @return MessageResponse DTO
      */
     public MessageResponse mapToMessageResponse(Message message, User sender) {
+        File file = message.getFileId() != null
+                ? fileRepository.findById(message.getFileId()).orElse(null)
+                : null;
+        return mapToMessageResponse(message, sender, file);
+    }
+
+    /**
+     * 메시지 목록을 일괄 변환
+     * 파일 메시지의 파일 정보를 한 번의 $in 쿼리로 조회한 뒤 메모리에서 매핑한다.
+     *
+     * @param messages 변환할 메시지 목록 (순서 유지)
+     * @param sendersById 발신자 ID별 사용자 정보 (없는 발신자는 sender 없이 변환)
+     * @return MessageResponse 목록
+     */
+    public List<MessageResponse> mapToMessageResponses(List<Message> messages, Map<String, User> sendersById) {
+        Set<String> fileIds = messages.stream()
+                .map(Message::getFileId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        Map<String, File> filesById = fileIds.isEmpty()
+                ? Map.of()
+                : fileRepository.findAllById(fileIds).stream()
+                        .collect(Collectors.toMap(File::getId, Function.identity()));
+
+        return messages.stream()
+                .map(message -> mapToMessageResponse(
+                        message,
+                        message.getSenderId() != null ? sendersById.get(message.getSenderId()) : null,
+                        message.getFileId() != null ? filesById.get(message.getFileId()) : null))
+                .collect(Collectors.toList());
+    }
+
+    private MessageResponse mapToMessageResponse(Message message, User sender, File file) {
         MessageResponse.MessageResponseBuilder builder = MessageResponse.builder()
                 .id(message.getId())
                 .content(message.getContent())
@@ -54,16 +94,15 @@ public class MessageResponseMapper {
         }
 
         // 파일 정보 설정
-        Optional.ofNullable(message.getFileId())
-                .flatMap(fileRepository::findById)
-                .map(file -> FileResponse.builder()
-                        .id(file.getId())
-                        .filename(file.getFilename())
-                        .originalname(file.getOriginalname())
-                        .mimetype(file.getMimetype())
-                        .size(file.getSize())
-                        .build())
-                .ifPresent(builder::file);
+        if (file != null) {
+            builder.file(FileResponse.builder()
+                    .id(file.getId())
+                    .filename(file.getFilename())
+                    .originalname(file.getOriginalname())
+                    .mimetype(file.getMimetype())
+                    .size(file.getSize())
+                    .build());
+        }
 
         // 메타데이터 설정
         if (message.getMetadata() != null) {
@@ -1,7 +1,6 @@
 package com.ktb.chatapp.websocket.socketio.handler;
 
 import com.corundumstudio.socketio.SocketIOClient;
-import com.corundumstudio.socketio.SocketIOServer;
 import com.corundumstudio.socketio.annotation.OnEvent;
 import com.ktb.chatapp.dto.MessageResponse;
 import com.ktb.chatapp.dto.UserResponse;
@@ -11,9 +10,13 @@ import com.ktb.chatapp.model.Room;
 import com.ktb.chatapp.model.User;
 import com.ktb.chatapp.repository.MessageRepository;
 import com.ktb.chatapp.repository.RoomRepository;
-import com.ktb.chatapp.repository.UserRepository;
+import com.ktb.chatapp.service.RecentMessageCache;
+import com.ktb.chatapp.service.UserCache;
 import com.ktb.chatapp.websocket.socketio.SocketUser;
 import com.ktb.chatapp.websocket.socketio.UserRooms;
+import com.ktb.chatapp.websocket.socketio.ai.AiStreamRegistry;
+import com.ktb.chatapp.websocket.socketio.broadcast.RoomBroadcastBus;
+import com.ktb.chatapp.websocket.socketio.dispatch.SocketEventDispatcher;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -36,18 +39,38 @@ import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.*;
 @RequiredArgsConstructor
 public class RoomLeaveHandler {
 
-    private final SocketIOServer socketIOServer;
+    private final RoomBroadcastBus roomBroadcastBus;
     private final MessageRepository messageRepository;
     private final RoomRepository roomRepository;
-    private final UserRepository userRepository;
+    private final UserCache userCache;
     private final UserRooms userRooms;
     private final MessageResponseMapper messageResponseMapper;
+    private final RecentMessageCache recentMessageCache;
+    private final SocketEventDispatcher socketEventDispatcher;
+    private final AiStreamRegistry aiStreamRegistry;
     
     @OnEvent(LEAVE_ROOM)
     public void handleLeaveRoom(SocketIOClient client, String roomId) {
+        socketEventDispatcher.dispatch(client, LEAVE_ROOM, () -> leaveRoom(client, roomId));
+    }
+
+    /**
+     * 방 퇴장을 호출 스레드에서 바로 처리한다. 이미 클라이언트 레인 안에서 실행 중일 때 사용한다.
+     */
+    public void leaveRoom(SocketIOClient client, String roomId) {
+        leaveRoom(client, getUserDto(client), roomId, true);
+    }
+
+    /**
+     * 클라이언트 저장소 대신 미리 캡처한 사용자로 방 퇴장을 처리한다.
+     * 연결 종료 후 저장소가 정리된 뒤에 실행될 수 있는 정리 작업에서 사용한다.
+     *
+     * @param cancelAiStreams 재연결로 대체된 소켓이면 false (새 연결에서 스트림을 이어 본다)
+     */
+    public void leaveRoom(SocketIOClient client, SocketUser socketUser, String roomId, boolean cancelAiStreams) {
         try {
-            String userId = getUserId(client);
-            String userName = getUserName(client);
+            String userId = socketUser != null ? socketUser.id() : null;
+            String userName = socketUser != null ? socketUser.name() : null;
 
             if (userId == null) {
                 client.sendEvent(ERROR, Map.of("message", "Unauthorized"));
@@ -59,7 +82,7 @@ public class RoomLeaveHandler {
                 return;
             }
 
-            User user = userRepository.findById(userId).orElse(null);
+            User user = userCache.findById(userId).orElse(null);
             Room room = roomRepository.findById(roomId).orElse(null);
             
             if (user == null || room == null) {
@@ -71,6 +94,12 @@ public class RoomLeaveHandler {
             
             client.leaveRoom(roomId);
             userRooms.remove(userId, roomId);
+
+            // 요청자가 나간 스트림과, 이 노드에 볼 사람이 남지 않은 방의 스트림은 더 생성하지 않는다
+            if (cancelAiStreams) {
+                aiStreamRegistry.cancel(roomId, userId, AiStreamRegistry.REASON_LEAVE);
+                aiStreamRegistry.cancelIfUnwatched(roomId);
+            }
             
             log.info("User {} left room {}", userName, room.getName());
             
@@ -78,11 +107,10 @@ public class RoomLeaveHandler {
             
             sendSystemMessage(roomId, userName + "님이 퇴장하였습니다.");
             broadcastParticipantList(roomId);
-            socketIOServer.getRoomOperations(roomId)
-                    .sendEvent(USER_LEFT, Map.of(
-                            "userId", userId,
-                            "userName", userName
-                    ));
+            roomBroadcastBus.broadcast(roomId, USER_LEFT, Map.of(
+                    "userId", userId,
+                    "userName", userName
+            ));
             
         } catch (Exception e) {
             log.error("Error handling leaveRoom", e);
@@ -106,8 +134,8 @@ public class RoomLeaveHandler {
             Message savedMessage = messageRepository.save(systemMessage);
             MessageResponse response = messageResponseMapper.mapToMessageResponse(savedMessage, null);
 
-            socketIOServer.getRoomOperations(roomId)
-                    .sendEvent(MESSAGE, response);
+            roomBroadcastBus.broadcast(roomId, MESSAGE, response);
+            recentMessageCache.append(response);
 
         } catch (Exception e) {
             log.error("Error sending system message", e);
@@ -120,12 +148,8 @@ public class RoomLeaveHandler {
             return;
         }
         
-        var participantList = roomOpt.get()
-                .getParticipantIds()
+        var participantList = userCache.findAllById(roomOpt.get().getParticipantIds())
                 .stream()
-                .map(userRepository::findById)
-                .filter(Optional::isPresent)
-                .map(Optional::get)
                 .map(UserResponse::from)
                 .toList();
         
@@ -133,21 +157,10 @@ public class RoomLeaveHandler {
             return;
         }
         
-        socketIOServer.getRoomOperations(roomId)
-                .sendEvent(PARTICIPANTS_UPDATE, participantList);
+        roomBroadcastBus.broadcast(roomId, PARTICIPANTS_UPDATE, participantList);
     }
 
     private SocketUser getUserDto(SocketIOClient client) {
         return client.get("user");
     }
-
-    private String getUserId(SocketIOClient client) {
-        SocketUser user = getUserDto(client);
-        return user != null ? user.id() : null;
-    }
-
-    private String getUserName(SocketIOClient client) {
-        SocketUser user = getUserDto(client);
-        return user != null ? user.name() : null;
-    }
 }
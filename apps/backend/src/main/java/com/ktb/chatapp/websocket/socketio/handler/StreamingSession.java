@@ -1,28 +1,57 @@
 package com.ktb.chatapp.websocket.socketio.handler;
 
 import com.ktb.chatapp.model.AiType;
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * AI 스트리밍 응답 하나의 상태.
+ * 청크 내용은 StringBuilder에 이어 붙이고(청크당 분할 상환 O(청크 길이)),
+ * getContent는 마지막 추가 이후 처음 호출될 때만 문자열을 만들어 재사용한다.
+ * 방 입장 응답(activeStreams)이 다른 스레드에서 내용을 읽으므로 내용 접근은 동기화한다 (대부분 경합 없음).
+ */
 @Data
-@Builder
-@NoArgsConstructor
-@AllArgsConstructor
 @Slf4j
 public class StreamingSession {
+    // 일반적인 응답 길이(수천 자)에서 배열 재할당이 몇 번으로 끝나도록 잡은 초기 용량
+    static final int INITIAL_CAPACITY = 2048;
+
     private String messageId;
     private String roomId;
     private String userId;
     private String aiType;
     private String query;
     private long timestamp;
-    @Builder.Default
     private long lastUpdate = System.currentTimeMillis();
-    @Builder.Default
-    private String content = "";
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private final StringBuilder content = new StringBuilder(INITIAL_CAPACITY);
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private String snapshot = "";
+
+    @Builder
+    private StreamingSession(String messageId, String roomId, String userId,
+                             String aiType, String query, long timestamp) {
+        this.messageId = messageId;
+        this.roomId = roomId;
+        this.userId = userId;
+        this.aiType = aiType;
+        this.query = query;
+        this.timestamp = timestamp;
+    }
 
     public AiType aiTypeEnum() {
         if (aiType == null) return null;
@@ -38,11 +67,26 @@ public class StreamingSession {
         return aiTypeEnum;
     }
 
-    public void appendContent(String contentChunk) {
-        content += contentChunk;
+    public synchronized void appendContent(String contentChunk) {
+        content.append(contentChunk);
+        snapshot = null;
         lastUpdate = System.currentTimeMillis();
     }
-    
+
+    /**
+     * 지금까지의 전체 내용. 추가 사이에 여러 번 호출해도 복사는 한 번만 한다.
+     */
+    public synchronized String getContent() {
+        if (snapshot == null) {
+            snapshot = content.toString();
+        }
+        return snapshot;
+    }
+
+    public synchronized int contentLength() {
+        return content.length();
+    }
+
     public long generationTimeMillis() {
         return System.currentTimeMillis() - timestamp;
     }
@@ -0,0 +1,84 @@
+package com.ktb.chatapp.config;
+
+import com.ktb.chatapp.util.BannedWordChecker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BannedWordReloaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void reloadIfModified_swapsDictionaryWhenFileChanges() throws IOException {
+        Path dictionary = writeDictionary("alpha\nbravo\n", Instant.now().minusSeconds(60));
+        BannedWordChecker checker = new BannedWordChecker(Set.of("alpha", "bravo"));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        BannedWordReloader reloader = new BannedWordReloader(
+                checker, new FileSystemResource(dictionary), Duration.ZERO, registry);
+
+        assertThat(reloader.reloadIfModified()).isFalse();
+
+        writeDictionary("charlie\n", Instant.now());
+        assertThat(reloader.reloadIfModified()).isTrue();
+
+        assertThat(checker.containsBannedWord("say charlie")).isTrue();
+        assertThat(checker.containsBannedWord("say alpha")).isFalse();
+        assertThat(checker.version()).isEqualTo(2L);
+        assertThat(registry.get("banned_word.dictionary.words").gauge().value()).isEqualTo(1.0);
+        assertThat(registry.get("banned_word.dictionary.version").gauge().value()).isEqualTo(2.0);
+    }
+
+    @Test
+    void reloadIfModified_keepsPreviousDictionaryWhenNewOneIsEmpty() throws IOException {
+        Path dictionary = writeDictionary("alpha\n", Instant.now().minusSeconds(60));
+        BannedWordChecker checker = new BannedWordChecker(Set.of("alpha"));
+        BannedWordReloader reloader = new BannedWordReloader(
+                checker, new FileSystemResource(dictionary), Duration.ZERO, new SimpleMeterRegistry());
+
+        writeDictionary("   \n", Instant.now());
+
+        assertThat(reloader.reloadIfModified()).isFalse();
+        assertThat(checker.containsBannedWord("alpha")).isTrue();
+        assertThat(checker.version()).isEqualTo(1L);
+    }
+
+    @Test
+    void reloadIfModified_doesNotRetryFailedFileUntilItChangesAgain() throws IOException {
+        Path dictionary = writeDictionary("alpha\n", Instant.now().minusSeconds(60));
+        BannedWordChecker checker = new BannedWordChecker(Set.of("alpha"));
+        BannedWordReloader reloader = new BannedWordReloader(
+                checker, new FileSystemResource(dictionary), Duration.ZERO, new SimpleMeterRegistry());
+
+        Instant failedAt = Instant.now().minusSeconds(30);
+        writeDictionary("   \n", failedAt);
+        assertThat(reloader.reloadIfModified()).isFalse();
+
+        // 같은 수정 시각이면 실패한 파일로 보고 다시 읽지 않는다
+        writeDictionary("bravo\n", failedAt);
+        assertThat(reloader.reloadIfModified()).isFalse();
+        assertThat(checker.version()).isEqualTo(1L);
+
+        writeDictionary("bravo\n", Instant.now());
+        assertThat(reloader.reloadIfModified()).isTrue();
+        assertThat(checker.containsBannedWord("say bravo")).isTrue();
+    }
+
+    private Path writeDictionary(String content, Instant modifiedAt) throws IOException {
+        Path path = tempDir.resolve("banned.txt");
+        Files.writeString(path, content);
+        Files.setLastModifiedTime(path, FileTime.from(modifiedAt));
+        return path;
+    }
+}
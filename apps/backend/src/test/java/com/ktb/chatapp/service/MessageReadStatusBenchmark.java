@@ -0,0 +1,136 @@
+package com.ktb.chatapp.service;
+
+import com.ktb.chatapp.model.Message;
+import com.ktb.chatapp.model.MessageType;
+import com.ktb.chatapp.repository.MessageRepository;
+import com.ktb.chatapp.repository.MessageRepositoryImpl;
+import com.ktb.chatapp.service.readstatus.MessageReadersStore;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+import org.testcontainers.containers.MongoDBContainer;
+
+/**
+ * 읽음 처리 JMH 벤치마크 (메시지 30개 페이지 기준).
+ * 기존 경로(findAllById 후 메시지별 save)와 updateMulti 1회 경로를 비교한다.
+ * firstRead는 아직 읽지 않은 페이지, alreadyRead는 이미 읽은 페이지를 다시 읽음 처리하는 경우다.
+ *
+ * Docker가 필요하다 (Testcontainers로 MongoDB를 띄운다).
+ * 실행 방법 (test-compile 이후):
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.ktb.chatapp.service.MessageReadStatusBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MessageReadStatusBenchmark {
+
+    private static final String READER_ID = "reader-1";
+    private static final int PAGE_SIZE = 30;
+
+    @Param({"firstRead", "alreadyRead"})
+    private String scenario;
+
+    private MongoDBContainer mongoDBContainer;
+    private MongoClient mongoClient;
+    private MongoTemplate mongoTemplate;
+    private MessageRepository messageRepository;
+    private MessageReadStatusService messageReadStatusService;
+    private List<String> messageIds;
+
+    @Setup(Level.Trial)
+    public void startMongo() {
+        mongoDBContainer = new MongoDBContainer("mongo:7.0");
+        mongoDBContainer.start();
+        mongoClient = MongoClients.create(mongoDBContainer.getReplicaSetUrl());
+        mongoTemplate = new MongoTemplate(mongoClient, "read_status_benchmark");
+        messageRepository = new MongoRepositoryFactory(mongoTemplate).getRepository(
+                MessageRepository.class, RepositoryFragments.just(new MessageRepositoryImpl(mongoTemplate)));
+        messageReadStatusService = new MessageReadStatusService(
+                new MessageReadersStore(messageRepository),
+                new MessageWriteBehindQueue(mongoTemplate, new SimpleMeterRegistry(), false,
+                        1, 1, Duration.ZERO, 0, "message-dead-letter.jsonl"));
+
+        messageIds = messageRepository.saveAll(IntStream.range(0, PAGE_SIZE)
+                        .mapToObj(i -> Message.builder()
+                                .roomId("room-1")
+                                .senderId("sender")
+                                .content("benchmark message " + i)
+                                .type(MessageType.text)
+                                .timestamp(LocalDateTime.now().minusMinutes(PAGE_SIZE - i))
+                                .build())
+                        .toList())
+                .stream()
+                .map(Message::getId)
+                .toList();
+    }
+
+    @Setup(Level.Invocation)
+    public void resetReaders() {
+        if ("firstRead".equals(scenario)) {
+            mongoTemplate.updateMulti(
+                    Query.query(Criteria.where("_id").in(messageIds)),
+                    new Update().set("readers", new ArrayList<>()),
+                    Message.class);
+        } else {
+            messageReadStatusService.updateReadStatus(messageIds, READER_ID);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopMongo() {
+        mongoClient.close();
+        mongoDBContainer.stop();
+    }
+
+    @Benchmark
+    public int legacyFindAllAndSave() {
+        Message.MessageReader readerInfo = Message.MessageReader.builder()
+                .userId(READER_ID)
+                .readAt(LocalDateTime.now())
+                .build();
+        List<Message> messagesToUpdate = messageRepository.findAllById(messageIds);
+        for (Message message : messagesToUpdate) {
+            if (message.getReaders() == null) {
+                message.setReaders(new ArrayList<>());
+            }
+            boolean alreadyRead = message.getReaders().stream()
+                    .anyMatch(r -> r.getUserId().equals(READER_ID));
+            if (!alreadyRead) {
+                message.getReaders().add(readerInfo);
+            }
+            messageRepository.save(message);
+        }
+        return messagesToUpdate.size();
+    }
+
+    @Benchmark
+    public long updateMulti() {
+        return messageReadStatusService.updateReadStatus(messageIds, READER_ID);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MessageReadStatusBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
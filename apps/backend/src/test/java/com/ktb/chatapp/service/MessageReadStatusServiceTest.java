@@ -0,0 +1,78 @@
+package com.ktb.chatapp.service;
+
+import com.ktb.chatapp.config.MongoTestContainer;
+import com.ktb.chatapp.model.Message;
+import com.ktb.chatapp.model.MessageType;
+import com.ktb.chatapp.repository.MessageRepository;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Import(MongoTestContainer.class)
+@TestPropertySource(properties = {
+        "socketio.enabled=false"
+})
+@DisplayName("MessageReadStatusService 통합 테스트")
+class MessageReadStatusServiceTest {
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private MessageReadStatusService messageReadStatusService;
+
+    private List<String> messageIds;
+
+    @BeforeEach
+    void setUp() {
+        messageRepository.deleteAll();
+        messageIds = messageRepository.saveAll(IntStream.range(0, 30)
+                        .mapToObj(i -> Message.builder()
+                                .roomId("room-1")
+                                .senderId("sender")
+                                .content("message " + i)
+                                .type(MessageType.text)
+                                .timestamp(LocalDateTime.now().minusMinutes(30 - i))
+                                .build())
+                        .toList())
+                .stream()
+                .map(Message::getId)
+                .toList();
+    }
+
+    @Test
+    @DisplayName("읽지 않은 메시지만 변경하고 변경된 수를 반환한다")
+    void updateReadStatus_ModifiesOnlyUnreadMessages() {
+        long firstPass = messageReadStatusService.updateReadStatus(messageIds.subList(0, 10), "reader-1");
+        long secondPass = messageReadStatusService.updateReadStatus(messageIds, "reader-1");
+
+        assertThat(firstPass).isEqualTo(10);
+        assertThat(secondPass).isEqualTo(20);
+        assertThat(messageRepository.findAllById(messageIds))
+                .allSatisfy(message -> assertThat(message.getReaders())
+                        .extracting(Message.MessageReader::getUserId)
+                        .containsExactly("reader-1"));
+    }
+
+    @Test
+    @DisplayName("이미 모두 읽은 페이지는 문서를 변경하지 않는다")
+    void updateReadStatus_AlreadyRead_ReturnsZero() {
+        messageReadStatusService.updateReadStatus(messageIds, "reader-1");
+
+        assertThat(messageReadStatusService.updateReadStatus(messageIds, "reader-1")).isZero();
+        assertThat(messageReadStatusService.updateReadStatus(messageIds, "reader-2")).isEqualTo(30);
+        assertThat(messageRepository.findById(messageIds.getFirst()).orElseThrow().getReaders())
+                .extracting(Message.MessageReader::getUserId)
+                .containsExactly("reader-1", "reader-2");
+    }
+}
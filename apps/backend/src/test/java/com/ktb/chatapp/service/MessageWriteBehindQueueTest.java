@@ -0,0 +1,184 @@
+package com.ktb.chatapp.service;
+
+import com.ktb.chatapp.config.MongoTestContainer;
+import com.ktb.chatapp.model.Message;
+import com.ktb.chatapp.model.MessageType;
+import com.ktb.chatapp.repository.MessageRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.IntStream;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Import(MongoTestContainer.class)
+@TestPropertySource(properties = {
+        "socketio.enabled=false"
+})
+@DisplayName("MessageWriteBehindQueue 통합 테스트")
+class MessageWriteBehindQueueTest {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @TempDir
+    private Path tempDir;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private MessageWriteBehindQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        messageRepository.deleteAll();
+        if (!mongoTemplate.collectionExists(Message.class)) {
+            mongoTemplate.createCollection(Message.class);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (queue != null) {
+            queue.stop();
+        }
+        mongoTemplate.getDb().runCommand(new Document("collMod", "messages").append("validator", new Document()));
+    }
+
+    @Test
+    @DisplayName("ID를 즉시 부여하고 micro-batch로 저장한다")
+    void enqueue_AssignsIdAndPersistsInBatches() {
+        queue = newQueue(1);
+        queue.start();
+
+        List<Message> enqueued = IntStream.range(0, 50)
+                .mapToObj(i -> queue.enqueue(message("message " + i)))
+                .toList();
+
+        assertThat(enqueued).allSatisfy(message -> assertThat(message.getId()).isNotNull());
+
+        queue.stop();
+
+        assertThat(messageRepository.findAllById(enqueued.stream().map(Message::getId).toList())).hasSize(50);
+        assertThat(queue.hasPending("room-1")).isFalse();
+        assertThat(queue.findPending(enqueued.getFirst().getId())).isEmpty();
+        assertThat(meterRegistry.get("message.persist.batch.size").summary().totalAmount()).isEqualTo(50.0);
+        assertThat(meterRegistry.get("message.persist.lag").timer().count()).isEqualTo(50);
+    }
+
+    @Test
+    @DisplayName("이미 저장된 ID는 중복 키를 무시하고 성공으로 처리한다")
+    void enqueue_TreatsDuplicateKeyAsPersisted() {
+        queue = newQueue(0);
+        Message saved = messageRepository.save(message("already saved"));
+
+        Message pending = queue.enqueue(message("new"));
+        queue.enqueue(saved);
+
+        // 저장 전에도 ID로 조회할 수 있다
+        assertThat(queue.hasPending("room-1")).isTrue();
+        assertThat(queue.findPending(pending.getId()).map(Message::getContent)).contains("new");
+
+        queue.stop();
+
+        assertThat(messageRepository.count()).isEqualTo(2);
+        assertThat(meterRegistry.get("message.persist.dead_lettered").counter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("재시도 후에도 실패한 메시지는 dead-letter 파일에 남긴다")
+    void enqueue_DeadLettersAfterRetries() throws Exception {
+        mongoTemplate.getDb().runCommand(new Document("collMod", "messages")
+                .append("validator", new Document("content", new Document("$type", "string"))));
+        queue = newQueue(1);
+
+        Message valid = queue.enqueue(message("valid"));
+        Message invalid = queue.enqueue(message(null));
+        queue.stop();
+
+        assertThat(messageRepository.findById(valid.getId())).isPresent();
+        assertThat(messageRepository.findById(invalid.getId())).isEmpty();
+        assertThat(meterRegistry.get("message.persist.retries").counter().count()).isEqualTo(1.0);
+        assertThat(Files.readAllLines(tempDir.resolve("dead-letter.jsonl")))
+                .singleElement()
+                .satisfies(line -> assertThat(line).contains(invalid.getId()));
+    }
+
+    @Test
+    @DisplayName("저장 전 메시지의 리액션은 저장될 문서에 누적되고, 읽음 처리는 저장 후 적용된다")
+    void updatesBeforePersist_AreAppliedToTheStoredDocument() {
+        queue = newQueue(0);
+        Message pending = queue.enqueue(message("pending"));
+
+        queue.updatePending(pending.getId(), message -> message.addReaction("👍", "user-1"), () -> { });
+        queue.updatePending(pending.getId(), message -> message.addReaction("👍", "user-2"), () -> { });
+        boolean deferred = queue.runAfterPersist(pending.getId(), () ->
+                messageRepository.addReaderToUnreadMessages(List.of(pending.getId()), "user-1", LocalDateTime.now()));
+
+        assertThat(deferred).isTrue();
+        assertThat(queue.findPending(pending.getId()).map(message -> message.getReactions().get("👍")))
+                .contains(Set.of("user-1", "user-2"));
+
+        queue.stop();
+
+        Message stored = messageRepository.findById(pending.getId()).orElseThrow();
+        assertThat(stored.getReactions().get("👍")).containsExactlyInAnyOrder("user-1", "user-2");
+        assertThat(stored.getReaders()).extracting(Message.MessageReader::getUserId).containsExactly("user-1");
+        // 저장이 끝난 메시지는 호출자가 직접 반영한다
+        assertThat(queue.updatePending(pending.getId(), message -> { }, () -> { })).isEmpty();
+        assertThat(queue.runAfterPersist(pending.getId(), () -> { })).isFalse();
+    }
+
+    @Test
+    @DisplayName("큐가 가득 차면 기다리지 않고 거절한다")
+    void enqueue_RejectsWhenQueueIsFull() {
+        queue = newQueue(0, 1);
+        queue.enqueue(message("queued"));
+
+        Message rejected = message("rejected");
+        assertThatThrownBy(() -> queue.enqueue(rejected)).isInstanceOf(RejectedExecutionException.class);
+
+        assertThat(queue.findPending(rejected.getId())).isEmpty();
+        assertThat(meterRegistry.get("message.persist.rejected").counter().count()).isEqualTo(1.0);
+        queue.stop();
+        assertThat(messageRepository.count()).isEqualTo(1);
+    }
+
+    private MessageWriteBehindQueue newQueue(int maxRetries) {
+        return newQueue(maxRetries, 100);
+    }
+
+    private MessageWriteBehindQueue newQueue(int maxRetries, int capacity) {
+        return new MessageWriteBehindQueue(mongoTemplate, meterRegistry, true, capacity, 20,
+                Duration.ofMillis(10), maxRetries, tempDir.resolve("dead-letter.jsonl").toString());
+    }
+
+    private static Message message(String content) {
+        return Message.builder()
+                .roomId("room-1")
+                .senderId("sender")
+                .content(content)
+                .type(MessageType.text)
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+}
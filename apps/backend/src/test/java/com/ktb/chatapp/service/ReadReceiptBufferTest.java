@@ -0,0 +1,104 @@
+package com.ktb.chatapp.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReadReceiptBufferTest {
+
+    @Mock
+    private MessageReadStatusService messageReadStatusService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void enqueue_coalescesReceiptsPerRoomAndUser() {
+        ReadReceiptBuffer buffer = newBuffer(true, 1000);
+
+        buffer.enqueue("room-1", "user-1", List.of("m1", "m2"));
+        buffer.enqueue("room-1", "user-1", List.of("m2", "m3"));
+        buffer.enqueue("room-1", "user-2", List.of("m1"));
+
+        assertThat(buffer.pendingCount()).isEqualTo(4);
+        verifyNoInteractions(messageReadStatusService);
+
+        assertThat(buffer.flush()).isEqualTo(4);
+
+        verify(messageReadStatusService).updateReadStatus(List.of("m1", "m2", "m3"), "user-1");
+        verify(messageReadStatusService).updateReadStatus(List.of("m1"), "user-2");
+        assertThat(buffer.pendingCount()).isZero();
+        assertThat(meterRegistry.get("read_receipt.buffer.coalesced").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("read_receipt.buffer.flush.time").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void enqueue_flushesWhenPendingReachesThreshold() {
+        ReadReceiptBuffer buffer = newBuffer(true, 2);
+        buffer.start();
+        try {
+            buffer.enqueue("room-1", "user-1", List.of("m1", "m2"));
+
+            verify(messageReadStatusService, timeout(1000)).updateReadStatus(List.of("m1", "m2"), "user-1");
+        } finally {
+            buffer.stop();
+        }
+    }
+
+    @Test
+    void stop_drainsPendingReceipts() {
+        ReadReceiptBuffer buffer = newBuffer(true, 1000);
+        buffer.start();
+
+        buffer.enqueue("room-1", "user-1", List.of("m1"));
+        buffer.stop();
+
+        verify(messageReadStatusService).updateReadStatus(List.of("m1"), "user-1");
+        assertThat(buffer.pendingCount()).isZero();
+    }
+
+    @Test
+    void enqueue_beforeStartBuffersAndAfterStopWritesDirectly() {
+        ReadReceiptBuffer buffer = newBuffer(true, 1);
+
+        // 임계치에 닿아도 스케줄러가 없으면 다음 flush까지 보관한다
+        buffer.enqueue("room-1", "user-1", List.of("m1"));
+        assertThat(buffer.pendingCount()).isEqualTo(1);
+
+        buffer.start();
+        buffer.stop();
+        verify(messageReadStatusService).updateReadStatus(List.of("m1"), "user-1");
+
+        buffer.enqueue("room-1", "user-1", List.of("m2"));
+
+        verify(messageReadStatusService).updateReadStatus(List.of("m2"), "user-1");
+        assertThat(buffer.pendingCount()).isZero();
+    }
+
+    @Test
+    void disabledBuffer_writesSynchronously() {
+        ReadReceiptBuffer buffer = newBuffer(false, 1000);
+        buffer.start();
+
+        buffer.enqueue("room-1", "user-1", List.of("m1"));
+
+        verify(messageReadStatusService).updateReadStatus(List.of("m1"), "user-1");
+        assertThat(buffer.pendingCount()).isZero();
+        buffer.stop();
+        verify(messageReadStatusService, times(1)).updateReadStatus(anyList(), anyString());
+    }
+
+    private ReadReceiptBuffer newBuffer(boolean enabled, int maxPending) {
+        return new ReadReceiptBuffer(
+                messageReadStatusService, meterRegistry, enabled, Duration.ofHours(1), maxPending);
+    }
+}
@@ -0,0 +1,129 @@
+package com.ktb.chatapp.service;
+
+import com.ktb.chatapp.dto.MessageResponse;
+import com.ktb.chatapp.model.Message;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecentMessageCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void recent_missesUntilRoomIsSeeded() {
+        RecentMessageCache cache = new RecentMessageCache(meterRegistry, true, 5, 10, "memory", "readers");
+
+        cache.append(message("room-1", "m1", 1));
+        assertThat(cache.recent("room-1", 3)).isEmpty();
+
+        cache.seed(cache.beginSeed("room-1"), List.of(message("room-1", "m1", 1), message("room-1", "m2", 2)), false);
+
+        var recent = cache.recent("room-1", 3).orElseThrow();
+        assertThat(ids(recent.messages())).containsExactly("m1", "m2");
+        assertThat(recent.hasMore()).isFalse();
+        assertThat(counter("recent_message.cache.requests", "result", "hit")).isEqualTo(1.0);
+        assertThat(counter("recent_message.cache.requests", "result", "miss")).isEqualTo(1.0);
+    }
+
+    @Test
+    void recent_isBypassedWhenStoreSpansNodes() {
+        RecentMessageCache cache = new RecentMessageCache(meterRegistry, true, 5, 10, "redis", "readers");
+
+        cache.seed(cache.beginSeed("room-1"), List.of(message("room-1", "m1", 1)), false);
+
+        assertThat(cache.recent("room-1", 1)).isEmpty();
+        assertThat(cache.roomCount()).isZero();
+    }
+
+    @Test
+    void recent_isBypassedInWatermarkReadMode() {
+        RecentMessageCache cache = new RecentMessageCache(meterRegistry, true, 5, 10, "memory", "watermark");
+
+        cache.seed(cache.beginSeed("room-1"), List.of(message("room-1", "m1", 1)), false);
+
+        assertThat(cache.recent("room-1", 1)).isEmpty();
+        assertThat(cache.roomCount()).isZero();
+    }
+
+    @Test
+    void append_keepsNewestEntriesInOrderAndTracksOlderMessages() {
+        RecentMessageCache cache = new RecentMessageCache(meterRegistry, true, 3, 10, "memory", "readers");
+        cache.seed(cache.beginSeed("room-1"), List.of(message("room-1", "m1", 1), message("room-1", "m2", 2)), false);
+
+        cache.append(message("room-1", "m4", 4));
+        // 늦게 도착한 메시지는 timestamp 순서대로 들어간다
+        cache.append(message("room-1", "m3", 3));
+
+        var recent = cache.recent("room-1", 3).orElseThrow();
+        assertThat(ids(recent.messages())).containsExactly("m2", "m3", "m4");
+        assertThat(recent.hasMore()).isTrue();
+        assertThat(cache.recent("room-1", 2).orElseThrow().hasMore()).isTrue();
+    }
+
+    @Test
+    void seed_isRejectedWhenRoomChangedWhileLoading() {
+        RecentMessageCache cache = new RecentMessageCache(meterRegistry, true, 5, 10, "memory", "readers");
+
+        var ticket = cache.beginSeed("room-1");
+        cache.append(message("room-1", "m2", 2));
+        cache.seed(ticket, List.of(message("room-1", "m1", 1)), false);
+
+        assertThat(cache.recent("room-1", 1)).isEmpty();
+    }
+
+    @Test
+    void updates_replaceCachedEntriesWithoutMutatingServedOnes() {
+        RecentMessageCache cache = new RecentMessageCache(meterRegistry, true, 5, 10, "memory", "readers");
+        cache.seed(cache.beginSeed("room-1"), List.of(message("room-1", "m1", 1)), false);
+        MessageResponse served = cache.recent("room-1", 1).orElseThrow().messages().getFirst();
+
+        cache.updateReactions("room-1", "m1", Map.of("👍", Set.of("user-2")));
+        cache.applyRead("room-1", "user-1", List.of("m1"), LocalDateTime.now());
+        cache.applyRead("room-1", "user-1", List.of("m1"), LocalDateTime.now());
+
+        MessageResponse updated = cache.recent("room-1", 1).orElseThrow().messages().getFirst();
+        assertThat(updated.getReactions()).containsEntry("👍", Set.of("user-2"));
+        assertThat(updated.getReaders()).extracting(Message.MessageReader::getUserId).containsExactly("user-1");
+        assertThat(served.getReactions()).isEmpty();
+        assertThat(served.getReaders()).isEmpty();
+    }
+
+    @Test
+    void rooms_areEvictedLeastRecentlyUsedFirst() {
+        RecentMessageCache cache = new RecentMessageCache(meterRegistry, true, 5, 2, "memory", "readers");
+        IntStream.rangeClosed(1, 2).forEach(i ->
+                cache.seed(cache.beginSeed("room-" + i), List.of(message("room-" + i, "m" + i, i)), false));
+
+        cache.recent("room-1", 1);
+        cache.seed(cache.beginSeed("room-3"), List.of(message("room-3", "m3", 3)), false);
+
+        assertThat(cache.roomCount()).isEqualTo(2);
+        assertThat(cache.recent("room-1", 1)).isPresent();
+        assertThat(cache.recent("room-2", 1)).isEmpty();
+        assertThat(counter("recent_message.cache.evictions", "cause", "idle")).isEqualTo(1.0);
+    }
+
+    private static MessageResponse message(String roomId, String id, long timestamp) {
+        return MessageResponse.builder()
+                .id(id)
+                .roomId(roomId)
+                .content("content " + id)
+                .timestamp(timestamp)
+                .build();
+    }
+
+    private static List<String> ids(List<MessageResponse> messages) {
+        return messages.stream().map(MessageResponse::getId).toList();
+    }
+
+    private double counter(String name, String tag, String value) {
+        return meterRegistry.get(name).tag(tag, value).counter().count();
+    }
+}
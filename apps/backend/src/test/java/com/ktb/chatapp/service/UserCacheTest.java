@@ -0,0 +1,103 @@
+package com.ktb.chatapp.service;
+
+import com.ktb.chatapp.model.User;
+import com.ktb.chatapp.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void findById_servesRepeatedLookupsFromCache() {
+        UserCache cache = new UserCache(userRepository, meterRegistry, 100, Duration.ofMinutes(5));
+        when(userRepository.findById("user-1")).thenReturn(Optional.of(user("user-1")));
+
+        assertThat(cache.findById("user-1")).isPresent();
+        assertThat(cache.findById("user-1")).isPresent();
+
+        verify(userRepository, times(1)).findById("user-1");
+        assertThat(counter("user.cache.requests", "result", "hit")).isEqualTo(1.0);
+        assertThat(counter("user.cache.requests", "result", "miss")).isEqualTo(1.0);
+    }
+
+    @Test
+    void invalidate_forcesReload() {
+        UserCache cache = new UserCache(userRepository, meterRegistry, 100, Duration.ofMinutes(5));
+        when(userRepository.findById("user-1")).thenReturn(Optional.of(user("user-1")));
+
+        cache.findById("user-1");
+        cache.invalidate("user-1");
+        cache.findById("user-1");
+
+        verify(userRepository, times(2)).findById("user-1");
+        assertThat(counter("user.cache.evictions", "cause", "invalidated")).isEqualTo(1.0);
+    }
+
+    @Test
+    void expiredEntries_areReloaded() {
+        UserCache cache = new UserCache(userRepository, meterRegistry, 100, Duration.ZERO);
+        when(userRepository.findById("user-1")).thenReturn(Optional.of(user("user-1")));
+
+        cache.findById("user-1");
+        cache.findById("user-1");
+
+        verify(userRepository, times(2)).findById("user-1");
+        assertThat(counter("user.cache.evictions", "cause", "expired")).isEqualTo(1.0);
+    }
+
+    @Test
+    void leastRecentlyUsedEntry_isEvictedWhenFull() {
+        UserCache cache = new UserCache(userRepository, meterRegistry, 2, Duration.ofMinutes(5));
+        when(userRepository.findById(anyString()))
+                .thenAnswer(invocation -> Optional.of(user(invocation.getArgument(0))));
+
+        cache.findById("user-1");
+        cache.findById("user-2");
+        cache.findById("user-1");
+        cache.findById("user-3");
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(counter("user.cache.evictions", "cause", "size")).isEqualTo(1.0);
+
+        cache.findById("user-1");
+        verify(userRepository, times(1)).findById("user-1");
+    }
+
+    @Test
+    void findAllById_loadsOnlyMissingUsersInRequestOrder() {
+        UserCache cache = new UserCache(userRepository, meterRegistry, 100, Duration.ofMinutes(5));
+        when(userRepository.findById("user-2")).thenReturn(Optional.of(user("user-2")));
+        when(userRepository.findAllById(Set.of("user-1", "user-3")))
+                .thenReturn(List.of(user("user-3"), user("user-1")));
+        cache.findById("user-2");
+
+        List<User> users = cache.findAllById(List.of("user-1", "user-2", "user-3", "user-1"));
+
+        assertThat(users).extracting(User::getId).containsExactly("user-1", "user-2", "user-3");
+        verify(userRepository).findAllById(Set.of("user-1", "user-3"));
+    }
+
+    private double counter(String name, String tagKey, String tagValue) {
+        return meterRegistry.get(name).tag(tagKey, tagValue).counter().count();
+    }
+
+    private static User user(String id) {
+        return User.builder().id(id).name("name-" + id).email(id + "@example.com").build();
+    }
+}
@@ -0,0 +1,130 @@
+package com.ktb.chatapp.service.readstatus;
+
+import com.ktb.chatapp.config.MongoTestContainer;
+import com.ktb.chatapp.model.Message;
+import com.ktb.chatapp.model.MessageType;
+import com.ktb.chatapp.model.ReadWatermark;
+import com.ktb.chatapp.repository.MessageRepository;
+import com.ktb.chatapp.repository.ReadWatermarkRepository;
+import com.ktb.chatapp.service.MessageReadStatusService;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Import(MongoTestContainer.class)
+@TestPropertySource(properties = {
+        "socketio.enabled=false",
+        "chatapp.read-status.mode=watermark"
+})
+@DisplayName("읽음 워터마크 저장소 통합 테스트")
+class ReadWatermarkStoreTest {
+
+    private static final String ROOM_ID = "room-1";
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private ReadWatermarkRepository readWatermarkRepository;
+
+    @Autowired
+    private MessageReadStatusService messageReadStatusService;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private List<Message> messages;
+
+    @BeforeEach
+    void setUp() {
+        messageRepository.deleteAll();
+        readWatermarkRepository.deleteAll();
+        // Mongo Date 정밀도(ms)에 맞춰 비교가 흔들리지 않도록 잘라서 저장한다
+        LocalDateTime base = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS).minusHours(1);
+        messages = messageRepository.saveAll(IntStream.range(0, 10)
+                .mapToObj(i -> Message.builder()
+                        .roomId(ROOM_ID)
+                        .senderId("sender")
+                        .content("message " + i)
+                        .type(MessageType.text)
+                        .timestamp(base.plusMinutes(i))
+                        .build())
+                .toList());
+    }
+
+    @Test
+    @DisplayName("워터마크는 앞으로만 이동하고 새로 읽은 메시지 수를 반환한다")
+    void markAsRead_AdvancesWatermarkForward() {
+        assertThat(messageReadStatusService.updateReadStatus(ids(0, 5), "reader-1")).isEqualTo(5);
+        assertThat(messageReadStatusService.updateReadStatus(ids(3, 8), "reader-1")).isEqualTo(3);
+        assertThat(messageReadStatusService.updateReadStatus(ids(0, 2), "reader-1")).isZero();
+
+        ReadWatermark watermark = readWatermarkRepository.findByRoomId(ROOM_ID).getFirst();
+        assertThat(watermark.getUserId()).isEqualTo("reader-1");
+        assertThat(watermark.getLastReadMessageId()).isEqualTo(messages.get(7).getId());
+        assertThat(messageRepository.findById(messages.getFirst().getId()).orElseThrow().getReaders()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("조회 시 워터마크로부터 readers를 구성한다")
+    void populateReaders_DerivesReadersFromWatermarks() {
+        messageReadStatusService.updateReadStatus(ids(0, 3), "reader-1");
+        messageReadStatusService.updateReadStatus(ids(0, 7), "reader-2");
+
+        List<Message> page = messageRepository.findAllById(ids(0, 10));
+        messageReadStatusService.populateReaders(ROOM_ID, page);
+
+        assertThat(readerIds(page, 2)).containsExactlyInAnyOrder("reader-1", "reader-2");
+        assertThat(readerIds(page, 5)).containsExactly("reader-2");
+        assertThat(readerIds(page, 9)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("마이그레이션은 readers 배열에서 워터마크를 만들고 재실행해도 결과가 같다")
+    void migrate_BuildsWatermarksFromReadersArrays() {
+        LocalDateTime readAt = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        for (int i = 0; i < 4; i++) {
+            Message message = messages.get(i);
+            message.setReaders(new ArrayList<>(List.of(
+                    Message.MessageReader.builder().userId("reader-1").readAt(readAt).build())));
+            messageRepository.save(message);
+        }
+        Message lastRead = messages.get(6);
+        lastRead.setReaders(new ArrayList<>(List.of(
+                Message.MessageReader.builder().userId("reader-2").readAt(readAt).build())));
+        messageRepository.save(lastRead);
+
+        ReadWatermarkMigration migration = new ReadWatermarkMigration(mongoTemplate, readWatermarkRepository);
+
+        assertThat(migration.migrate()).isEqualTo(2);
+        assertThat(migration.migrate()).isZero();
+
+        List<ReadWatermark> watermarks = readWatermarkRepository.findByRoomId(ROOM_ID);
+        assertThat(watermarks)
+                .extracting(ReadWatermark::getUserId, ReadWatermark::getLastReadMessageId)
+                .containsExactlyInAnyOrder(
+                        org.assertj.core.groups.Tuple.tuple("reader-1", messages.get(3).getId()),
+                        org.assertj.core.groups.Tuple.tuple("reader-2", lastRead.getId()));
+    }
+
+    private List<String> ids(int fromInclusive, int toExclusive) {
+        return messages.subList(fromInclusive, toExclusive).stream().map(Message::getId).toList();
+    }
+
+    private static List<String> readerIds(List<Message> page, int index) {
+        return page.get(index).getReaders().stream().map(Message.MessageReader::getUserId).toList();
+    }
+}
@@ -0,0 +1,47 @@
+package com.ktb.chatapp.util;
+
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AhoCorasickMatcherTest {
+
+    @Test
+    void containsAny_detectsPatternReachedOnlyThroughFailureLink() {
+        // "abcd"를 따라가다 실패한 뒤 접미사 "bc"가 매칭되어야 한다
+        AhoCorasickMatcher matcher = AhoCorasickMatcher.compile(List.of("abcd", "bc"));
+        assertTrue(matcher.containsAny("xabcx"));
+        assertFalse(matcher.containsAny("xabx"));
+    }
+
+    @Test
+    void containsAny_handlesOverlappingPrefixes() {
+        AhoCorasickMatcher matcher = AhoCorasickMatcher.compile(List.of("he", "she", "hers"));
+        assertTrue(matcher.containsAny("ushers"));
+        assertTrue(matcher.containsAny("ahe"));
+        assertFalse(matcher.containsAny("hsr"));
+        assertFalse(matcher.containsAny(""));
+    }
+
+    @Test
+    void containsAny_matchesNaiveScanOnRandomInput() {
+        Random random = new Random(42);
+        List<String> patterns = List.of("ab", "bab", "aab", "bbb", "cab");
+        AhoCorasickMatcher matcher = AhoCorasickMatcher.compile(patterns);
+
+        for (int i = 0; i < 2000; i++) {
+            StringBuilder text = new StringBuilder();
+            int length = random.nextInt(12);
+            for (int j = 0; j < length; j++) {
+                text.append((char) ('a' + random.nextInt(3)));
+            }
+            String message = text.toString();
+            boolean expected = patterns.stream().anyMatch(message::contains);
+            assertEquals(expected, matcher.containsAny(message), message);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.ktb.chatapp.util;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * 금칙어 검사 JMH 벤치마크.
+ * 기존 전체 스캔(Set#stream().anyMatch(contains)), 소문자 변환 후 Aho-Corasick 매칭,
+ * 스트리밍 정규화 매칭(BannedWordChecker)을 비교한다.
+ * GC 프로파일러의 gc.alloc.rate.norm 값이 검사 1회당 할당 바이트다.
+ *
+ * 실행 방법 (test-compile 이후):
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.ktb.chatapp.util.BannedWordCheckerBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BannedWordCheckerBenchmark {
+
+    private static final Path WORD_LIST_PATH =
+            Path.of("src/main/resources/fake_banned_words_10k.txt");
+
+    @Param({"32", "512", "10000"})
+    private int messageLength;
+
+    private Set<String> legacyWords;
+    private AhoCorasickMatcher lowercaseMatcher;
+    private BannedWordChecker checker;
+    private String cleanMessage;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<String> words = Files.readAllLines(WORD_LIST_PATH).stream()
+                .map(String::trim)
+                .filter(word -> !word.isEmpty())
+                .toList();
+        legacyWords = words.stream()
+                .map(word -> word.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+        lowercaseMatcher = AhoCorasickMatcher.compile(legacyWords);
+        checker = new BannedWordChecker(new HashSet<>(words));
+
+        // 금칙어가 없는 최악의 경우(전체 스캔)를 측정한다.
+        // 대문자가 없으면 toLowerCase가 원본을 그대로 반환하므로 대문자를 섞는다.
+        StringBuilder builder = new StringBuilder(messageLength);
+        String filler = "안녕하세요 Team, 오늘 Meeting은 3시 ";
+        while (builder.length() < messageLength) {
+            builder.append(filler);
+        }
+        builder.setLength(messageLength);
+        cleanMessage = builder.toString();
+        if (checker.containsBannedWord(cleanMessage)) {
+            throw new IllegalStateException("Benchmark message must not contain banned words");
+        }
+    }
+
+    @Benchmark
+    public boolean legacyStreamScan() {
+        String normalizedMessage = cleanMessage.toLowerCase(Locale.ROOT);
+        return legacyWords.stream().anyMatch(normalizedMessage::contains);
+    }
+
+    @Benchmark
+    public boolean lowercaseThenAhoCorasick() {
+        return lowercaseMatcher.containsAny(cleanMessage.toLowerCase(Locale.ROOT));
+    }
+
+    @Benchmark
+    public boolean streamingNormalizer() {
+        return checker.containsBannedWord(cleanMessage);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BannedWordCheckerBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
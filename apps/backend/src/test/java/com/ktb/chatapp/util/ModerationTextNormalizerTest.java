@@ -0,0 +1,51 @@
+package com.ktb.chatapp.util;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ModerationTextNormalizerTest {
+
+    private final AhoCorasickMatcher matcher = AhoCorasickMatcher.compile(List.of(
+            ModerationTextNormalizer.normalize("badword"),
+            ModerationTextNormalizer.normalize("시발"),
+            ModerationTextNormalizer.normalize("ㅅㅂ")));
+
+    @Test
+    void normalize_foldsCaseWidthAndInvisibleCharacters() {
+        assertEquals("badword", ModerationTextNormalizer.normalize("BadWord"));
+        assertEquals("badword", ModerationTextNormalizer.normalize("\uFF22\uFF41\uFF44\uFF37\uFF4F\uFF52\uFF44"));
+        assertEquals("badword", ModerationTextNormalizer.normalize("b\u200Ba\u200Cd\u200Dw\u2060o\uFEFFr\u00ADd"));
+        assertEquals("a b", ModerationTextNormalizer.normalize("a\u3000b"));
+    }
+
+    @Test
+    void normalize_composesConjoiningJamoIntoSyllables() {
+        // 조합형 자모 U+1109 U+1175 → 시, U+1107 U+1161 U+11AF → 발
+        assertEquals("시발", ModerationTextNormalizer.normalize("\u1109\u1175\u1107\u1161\u11AF"));
+        assertEquals("ㅅㅂ", ModerationTextNormalizer.normalize("\u1109\u1107"));
+        // 반각 한글 자모
+        assertEquals("ㅅㅂ", ModerationTextNormalizer.normalize("\uFFB5\uFFB2"));
+    }
+
+    @Test
+    void containsAny_detectsEvasionVariants() {
+        assertTrue(ModerationTextNormalizer.containsAny(matcher, "this is a BADWORD"));
+        assertTrue(ModerationTextNormalizer.containsAny(matcher, "\uFF42\uFF41\uFF44word"));
+        assertTrue(ModerationTextNormalizer.containsAny(matcher, "bad\u200Bword"));
+        assertTrue(ModerationTextNormalizer.containsAny(matcher, "아 시\u200B발"));
+        assertTrue(ModerationTextNormalizer.containsAny(matcher, "\u1109\u1175\u1107\u1161\u11AF"));
+        assertTrue(ModerationTextNormalizer.containsAny(matcher, "\uFFB5\uFFB2"));
+        assertTrue(ModerationTextNormalizer.containsAny(matcher, "ㅅ\u3164ㅂ"));
+    }
+
+    @Test
+    void containsAny_doesNotFlagCleanText() {
+        assertFalse(ModerationTextNormalizer.containsAny(matcher, "바람이 분다"));
+        assertFalse(ModerationTextNormalizer.containsAny(matcher, "bad words are not good"));
+        assertFalse(ModerationTextNormalizer.containsAny(matcher, "😀 emoji only"));
+    }
+}
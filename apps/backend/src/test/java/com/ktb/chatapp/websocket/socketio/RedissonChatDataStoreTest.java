@@ -0,0 +1,213 @@
+package com.ktb.chatapp.websocket.socketio;
+
+import com.corundumstudio.socketio.Configuration;
+import com.corundumstudio.socketio.SocketIOServer;
+import com.corundumstudio.socketio.store.pubsub.DispatchMessage;
+import com.corundumstudio.socketio.store.pubsub.PubSubType;
+import com.ktb.chatapp.config.RedisTestContainer;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.config.Config;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.testcontainers.containers.GenericContainer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = RedisTestContainer.class, webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@DisplayName("Redisson 저장소 다중 노드 테스트")
+class RedissonChatDataStoreTest {
+
+    @Autowired
+    private GenericContainer<?> redisContainer;
+
+    private final List<RedissonClient> clients = new ArrayList<>();
+    private final List<SocketIOServer> servers = new ArrayList<>();
+    private final List<RedissonChatDataStore> stores = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        servers.forEach(SocketIOServer::stop);
+        stores.forEach(RedissonChatDataStore::close);
+        if (!clients.isEmpty()) {
+            clients.getFirst().getKeys().flushall();
+        }
+        clients.forEach(RedissonClient::shutdown);
+    }
+
+    @Test
+    @DisplayName("한 노드에 등록한 접속 사용자를 다른 노드에서 조회한다")
+    void connectedUsers_areSharedBetweenNodes() {
+        ConnectedUsers nodeA = new ConnectedUsers(newStore(newClient()));
+        ConnectedUsers nodeB = new ConnectedUsers(newStore(newClient()));
+        SocketUser user = new SocketUser("user-1", "User", "auth-1", "socket-1");
+
+        nodeA.set("user-1", user);
+
+        // 다른 노드로 접속해도 중복 로그인을 감지할 수 있다
+        assertThat(nodeB.get("user-1")).isEqualTo(user);
+
+        nodeB.del("user-1");
+        assertThat(nodeA.get("user-1")).isNull();
+    }
+
+    @Test
+    @DisplayName("노드마다 참여한 방이 하나의 집합으로 합쳐진다")
+    void userRooms_areSharedBetweenNodes() {
+        UserRooms nodeA = new UserRooms(newStore(newClient()));
+        UserRooms nodeB = new UserRooms(newStore(newClient()));
+
+        nodeA.add("user-1", "room-1");
+        nodeB.add("user-1", "room-2");
+
+        assertThat(nodeA.get("user-1")).containsExactlyInAnyOrder("room-1", "room-2");
+        assertThat(nodeB.isInRoom("user-1", "room-1")).isTrue();
+
+        nodeB.removeAllRooms("user-1");
+        assertThat(nodeA.get("user-1")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("size는 덮어쓰기를 중복으로 세지 않는다")
+    void size_countsDistinctKeys() {
+        ChatDataStore store = newStore(newClient());
+
+        store.set("key-1", "a");
+        store.set("key-1", "b");
+        store.set("key-2", "c");
+        assertThat(store.size()).isEqualTo(2);
+
+        store.delete("key-1");
+        store.delete("key-1");
+        assertThat(store.size()).isEqualTo(1);
+        assertThat(store.get("key-1", String.class)).isEmpty();
+        assertThat(store.get("key-2", String.class)).contains("c");
+    }
+
+    @Test
+    @DisplayName("값 키에 TTL을 두고, 시작 시 카운터를 실제 키 수로 다시 맞춘다")
+    void size_isReconciledWithStoredKeys() {
+        RedissonClient client = newClient();
+        ChatDataStore store = newStore(client, Duration.ofMinutes(10), Duration.ofMinutes(5));
+        store.set("key-1", "a");
+        store.set("key-2", "b");
+        assertThat(client.getBucket("chat:store:key-1").remainTimeToLive()).isPositive();
+
+        // 노드 장애로 카운터만 어긋난 상태
+        client.getAtomicLong("chat:store-size").set(42);
+        client.getBucket("chat:store:key-2").delete();
+
+        ChatDataStore restarted = newStore(client);
+        assertThat(restarted.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("접속 중인 노드가 TTL을 갱신해 오래 유지된 연결의 접속 정보와 참여 방이 남는다")
+    void ttl_isRefreshedForLongLivedConnections() throws InterruptedException {
+        RedissonClient client = newClient();
+        RedissonChatDataStore store = newStore(client, Duration.ofSeconds(1), Duration.ofMinutes(5));
+        ConnectedUsers connectedUsers = new ConnectedUsers(store);
+        UserRooms userRooms = new UserRooms(store);
+        SocketUser user = new SocketUser("user-1", "User", "auth-1", "socket-1");
+
+        connectedUsers.set("user-1", user);
+        userRooms.add("user-1", "room-1");
+        assertThat(client.getSet("chat:set:userroom:roomids:user-1").remainTimeToLive()).isPositive();
+        Thread.sleep(2500);
+
+        assertThat(connectedUsers.get("user-1")).isEqualTo(user);
+        assertThat(userRooms.get("user-1")).containsExactly("room-1");
+    }
+
+    @Test
+    @DisplayName("TTL을 갱신하던 노드가 멈추면 남은 접속 정보와 참여 방이 만료된다")
+    void ttl_expiresKeysOfStoppedNode() throws InterruptedException {
+        RedissonClient client = newClient();
+        RedissonChatDataStore crashed = newStore(client, Duration.ofSeconds(1), Duration.ofMinutes(5));
+        crashed.set("conn_users:userid:user-1", "socket-1");
+        crashed.sAdd("userroom:roomids:user-1", "room-1");
+
+        // 노드 장애: 갱신이 멈춘다
+        crashed.close();
+        Thread.sleep(1500);
+
+        assertThat(client.getBucket("chat:store:conn_users:userid:user-1").isExists()).isFalse();
+        assertThat(client.getSet("chat:set:userroom:roomids:user-1").isExists()).isFalse();
+    }
+
+    @Test
+    @DisplayName("역직렬화할 수 없는 값은 비어 있는 것으로 본다")
+    void get_returnsEmptyForUnreadableValue() {
+        RedissonClient client = newClient();
+        ChatDataStore store = newStore(client);
+        client.getBucket("chat:store:key-1", StringCodec.INSTANCE).set("{not json");
+
+        assertThat(store.get("key-1", SocketUser.class)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("한 노드의 방 브로드캐스트가 다른 노드로 중계된다")
+    void roomBroadcast_isRelayedToOtherNode() throws Exception {
+        SocketIOServer nodeA = startServer(newClient());
+        SocketIOServer nodeB = startServer(newClient());
+        BlockingQueue<DispatchMessage> relayed = new LinkedBlockingQueue<>();
+        nodeB.getConfiguration().getStoreFactory().pubSubStore()
+                .subscribe(PubSubType.DISPATCH, relayed::add, DispatchMessage.class);
+
+        nodeA.getRoomOperations("room-1").sendEvent("message", Map.of("content", "hello"));
+
+        DispatchMessage message = relayed.poll(5, TimeUnit.SECONDS);
+        assertThat(message).isNotNull();
+        assertThat(message.getRoom()).isEqualTo("room-1");
+        assertThat(message.getPacket().getName()).isEqualTo("message");
+    }
+
+    private RedissonChatDataStore newStore(RedissonClient client) {
+        return newStore(client, RedissonChatDataStore.DEFAULT_KEY_TTL, RedissonChatDataStore.DEFAULT_RECONCILE_INTERVAL);
+    }
+
+    private RedissonChatDataStore newStore(RedissonClient client, Duration keyTtl, Duration reconcileInterval) {
+        RedissonChatDataStore store = new RedissonChatDataStore(client, keyTtl, reconcileInterval);
+        stores.add(store);
+        return store;
+    }
+
+    private RedissonClient newClient() {
+        Config config = new Config();
+        config.useSingleServer()
+                .setAddress("redis://" + redisContainer.getHost() + ":" + redisContainer.getMappedPort(6379));
+        RedissonClient client = Redisson.create(config);
+        clients.add(client);
+        return client;
+    }
+
+    private SocketIOServer startServer(RedissonClient redissonClient) throws IOException {
+        Configuration config = new Configuration();
+        config.setHostname("localhost");
+        config.setPort(freePort());
+        config.setStoreFactory(new NodeLocalRedissonStoreFactory(redissonClient));
+        SocketIOServer server = new SocketIOServer(config);
+        server.start();
+        servers.add(server);
+        return server;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.ktb.chatapp.websocket.socketio;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserRoomsTest {
+
+    private final LocalChatDataStore chatDataStore = new LocalChatDataStore();
+    private final UserRooms userRooms = new UserRooms(chatDataStore);
+
+    @Test
+    void add_doesNotLoseConcurrentJoinsOfTheSameUser() throws InterruptedException {
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            IntStream.range(0, 500).forEach(i -> executor.execute(() -> userRooms.add("user-1", "room-" + i)));
+            executor.shutdown();
+            assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        }
+
+        assertThat(userRooms.get("user-1")).hasSize(500);
+    }
+
+    @Test
+    void remove_deletesTheSetWithItsLastRoom() {
+        userRooms.add("user-1", "room-1");
+        userRooms.add("user-1", "room-2");
+
+        userRooms.remove("user-1", "room-1");
+        assertThat(userRooms.isInRoom("user-1", "room-1")).isFalse();
+        assertThat(userRooms.isInRoom("user-1", "room-2")).isTrue();
+
+        userRooms.remove("user-1", "room-2");
+        assertThat(userRooms.get("user-1")).isEmpty();
+        assertThat(userRooms.isInRoom("user-1", "room-2")).isFalse();
+    }
+
+    @Test
+    void get_returnsSnapshotThatCanBeIteratedWhileLeaving() {
+        userRooms.add("user-1", "room-1");
+        userRooms.add("user-1", "room-2");
+
+        userRooms.get("user-1").forEach(roomId -> userRooms.remove("user-1", roomId));
+
+        assertThat(userRooms.get("user-1")).isEmpty();
+    }
+
+    @Test
+    void sets_areNotCountedAsStoredValues() {
+        chatDataStore.set("conn_users:userid:user-1", new SocketUser("user-1", "User", "auth", "socket"));
+        userRooms.add("user-1", "room-1");
+
+        assertThat(chatDataStore.size()).isEqualTo(1);
+
+        userRooms.removeAllRooms("user-1");
+        assertThat(userRooms.get("user-1")).isEmpty();
+    }
+}
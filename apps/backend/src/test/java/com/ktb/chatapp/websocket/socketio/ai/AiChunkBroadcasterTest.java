@@ -0,0 +1,179 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ktb.chatapp.event.AiMessageCompleteEvent;
+import com.ktb.chatapp.websocket.socketio.broadcast.RoomBroadcastBus;
+import com.ktb.chatapp.websocket.socketio.handler.StreamingSession;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.reactivestreams.Subscription;
+import org.springframework.context.ApplicationEventPublisher;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("AiChunkBroadcaster 테스트")
+class AiChunkBroadcasterTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RoomBroadcastBus roomBroadcastBus = mock(RoomBroadcastBus.class);
+
+    @Test
+    @DisplayName("시간 창 안에 도착한 청크를 하나의 프레임으로 묶는다")
+    void frames_batchesChunksWithinWindow() {
+        AiChunkBroadcaster broadcaster = new AiChunkBroadcaster(roomBroadcastBus, meterRegistry, Duration.ofMillis(40), 50);
+        ChunkData a = ChunkData.from("a");
+        ChunkData b = ChunkData.from("b");
+        ChunkData c = ChunkData.from("c");
+
+        StepVerifier.withVirtualTime(() -> broadcaster.frames(
+                        Flux.just(a, b).concatWith(Flux.just(c).delaySubscription(Duration.ofMillis(100)))))
+                .thenAwait(Duration.ofMillis(200))
+                .expectNext(List.of(a, b), List.of(c))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("FULL 형식에는 전체 내용을, DELTA 형식에는 새 내용과 순번을 보내고 주기적으로 스냅샷을 싣는다")
+    @SuppressWarnings("unchecked")
+    void handler_broadcastsFullAndDeltaPayloadsPerFrame() {
+        when(roomBroadcastBus.supportsChunkModes()).thenReturn(true);
+        when(roomBroadcastBus.hasLocalAudience("room-1", AiChunkMode.FULL)).thenReturn(true);
+        ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+        AiChunkBroadcaster broadcaster = new AiChunkBroadcaster(roomBroadcastBus, meterRegistry, Duration.ZERO, 2);
+        StreamingSession session = StreamingSession.builder()
+                .messageId("wayneAI-1")
+                .roomId("room-1")
+                .aiType("wayneAI")
+                .query("질문")
+                .timestamp(System.currentTimeMillis())
+                .build();
+        AiStreamHandler handler = new AiStreamHandler(session, broadcaster, eventPublisher);
+
+        handler.onSubscribe(mock(Subscription.class));
+        handler.onNext(List.of(ChunkData.from("안녕"), ChunkData.from("하세요")));
+        handler.onNext(List.of(ChunkData.from("!")));
+        handler.onComplete();
+
+        ArgumentCaptor<Object> full = ArgumentCaptor.forClass(Object.class);
+        verify(roomBroadcastBus, times(2)).broadcastLocal(eq("room-1"), eq("aiMessageChunk"), full.capture(), eq(AiChunkMode.FULL));
+        assertThat(full.getAllValues())
+                .extracting(payload -> ((Map<String, Object>) payload).get("fullContent"))
+                .containsExactly("안녕하세요", "안녕하세요!");
+
+        ArgumentCaptor<Object> delta = ArgumentCaptor.forClass(Object.class);
+        verify(roomBroadcastBus, times(2)).broadcast(eq("room-1"), eq("aiMessageChunk"), delta.capture(), eq(AiChunkMode.DELTA));
+        Map<String, Object> first = (Map<String, Object>) delta.getAllValues().get(0);
+        Map<String, Object> second = (Map<String, Object>) delta.getAllValues().get(1);
+        assertThat(first).containsEntry("seq", 1L).containsEntry("delta", "안녕하세요").doesNotContainKey("fullContent");
+        assertThat(second).containsEntry("seq", 2L).containsEntry("delta", "!")
+                .containsEntry("snapshot", true).containsEntry("fullContent", "안녕하세요!");
+
+        ArgumentCaptor<AiMessageCompleteEvent> completed = ArgumentCaptor.forClass(AiMessageCompleteEvent.class);
+        verify(eventPublisher).publishEvent(completed.capture());
+        assertThat(completed.getValue().getContent()).isEqualTo("안녕하세요!");
+
+        assertThat(meterRegistry.get("ai.stream.chunks").counter().count()).isEqualTo(3.0);
+        assertThat(meterRegistry.get("ai.stream.frames").counter().count()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("ai.stream.frame.rate").tag("aiType", "wayneAI").summary().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("FULL 형식 소켓이 없으면 FULL 페이로드를 만들지 않고 DELTA만 중계한다")
+    void broadcast_skipsFullPayloadWithoutFullAudience() {
+        when(roomBroadcastBus.supportsChunkModes()).thenReturn(true);
+        AiChunkBroadcaster broadcaster = new AiChunkBroadcaster(roomBroadcastBus, meterRegistry, Duration.ZERO, 50);
+        StreamingSession session = StreamingSession.builder().messageId("wayneAI-1").roomId("room-1").build();
+        session.appendContent("hello");
+
+        broadcaster.broadcast(session, "hello", 1, false, 1);
+
+        verify(roomBroadcastBus, never()).broadcastLocal(any(), any(), any(), any());
+        verify(roomBroadcastBus).broadcast(eq("room-1"), eq("aiMessageChunk"), any(Map.class), eq(AiChunkMode.DELTA));
+    }
+
+    @Test
+    @DisplayName("DELTA 형식만 있는 방에서는 스냅샷 차례와 완료 시에만 전체 내용을 만든다")
+    void handler_buildsFullContentOnlyForSnapshotsWithoutFullAudience() {
+        when(roomBroadcastBus.supportsChunkModes()).thenReturn(true);
+        AiChunkBroadcaster broadcaster = new AiChunkBroadcaster(roomBroadcastBus, meterRegistry, Duration.ZERO, 3);
+        StreamingSession session = spy(StreamingSession.builder()
+                .messageId("wayneAI-1")
+                .roomId("room-1")
+                .aiType("wayneAI")
+                .timestamp(System.currentTimeMillis())
+                .build());
+        AiStreamHandler handler = new AiStreamHandler(session, broadcaster, mock(ApplicationEventPublisher.class));
+
+        handler.onSubscribe(mock(Subscription.class));
+        IntStream.range(0, 7).forEach(i -> handler.onNext(List.of(ChunkData.from("t" + i))));
+        verify(session, times(2)).getContent();
+
+        handler.onComplete();
+        verify(session, times(3)).getContent();
+    }
+
+    @Test
+    @DisplayName("다른 노드의 DELTA 프레임으로 전체 내용을 만들어 이 노드의 FULL 형식 소켓에 보낸다")
+    @SuppressWarnings("unchecked")
+    void remoteDeltas_areRebuiltIntoFullPayloadsForLocalFullSockets() {
+        when(roomBroadcastBus.hasLocalAudience("room-1", AiChunkMode.FULL)).thenReturn(true);
+        new AiChunkBroadcaster(roomBroadcastBus, meterRegistry, Duration.ZERO, 2);
+        ArgumentCaptor<RoomBroadcastBus.RemoteEventListener> listener =
+                ArgumentCaptor.forClass(RoomBroadcastBus.RemoteEventListener.class);
+        verify(roomBroadcastBus).addRemoteListener(eq("aiMessageChunk"), listener.capture());
+
+        listener.getValue().onRemoteEvent("room-1", json("{\"messageId\":\"m-1\",\"seq\":1,\"delta\":\"안녕\"}"));
+        listener.getValue().onRemoteEvent("room-1", json("{\"messageId\":\"m-1\",\"seq\":2,\"delta\":\"하세요\"}"));
+        // 중간부터 받은 스트림은 스냅샷에서 따라잡는다
+        listener.getValue().onRemoteEvent("room-1", json("{\"messageId\":\"m-2\",\"seq\":3,\"delta\":\"b\"}"));
+        listener.getValue().onRemoteEvent("room-1", json(
+                "{\"messageId\":\"m-2\",\"seq\":4,\"delta\":\"c\",\"snapshot\":true,\"fullContent\":\"abc\"}"));
+
+        ArgumentCaptor<Object> full = ArgumentCaptor.forClass(Object.class);
+        verify(roomBroadcastBus, times(3)).broadcastLocal(eq("room-1"), eq("aiMessageChunk"), full.capture(), eq(AiChunkMode.FULL));
+        assertThat(full.getAllValues())
+                .extracting(payload -> ((Map<String, Object>) payload).get("fullContent"))
+                .containsExactly("안녕", "안녕하세요", "abc");
+    }
+
+    @Test
+    @DisplayName("형식별 전달이 불가능하면 모두에게 FULL 형식을 보낸다")
+    void broadcast_fallsBackToFullPayloadWithoutChunkModes() {
+        AiChunkBroadcaster broadcaster = new AiChunkBroadcaster(roomBroadcastBus, meterRegistry, Duration.ZERO, 2);
+        StreamingSession session = StreamingSession.builder().messageId("wayneAI-1").roomId("room-1").build();
+        session.appendContent("hello");
+
+        broadcaster.broadcast(session, "hello", 1, false, 1);
+
+        verify(roomBroadcastBus).broadcast(eq("room-1"), eq("aiMessageChunk"), any(Map.class));
+        verify(roomBroadcastBus, times(0)).broadcast(any(), any(), any(), any(AiChunkMode.class));
+    }
+
+    private static JsonNode json(String value) {
+        try {
+            return OBJECT_MAPPER.readTree(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import com.ktb.chatapp.model.AiType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AiResponseCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void get_matchesNormalizedQueryPerPersona() {
+        AiResponseCache cache = new AiResponseCache(meterRegistry, true, 100, Duration.ofMinutes(10), List.of());
+
+        cache.put(AiType.WAYNE_AI, "  자바의   특징은?  ", "답변");
+
+        assertThat(cache.get(AiType.WAYNE_AI, "자바의 특징은?")).contains("답변");
+        assertThat(cache.get(AiType.WAYNE_AI, "자바의\n특징은?")).contains("답변");
+        assertThat(cache.get(AiType.CONSULTING_AI, "자바의 특징은?")).isEmpty();
+        assertThat(counter("WAYNE_AI", "hit")).isEqualTo(2.0);
+        assertThat(counter("CONSULTING_AI", "miss")).isEqualTo(1.0);
+    }
+
+    @Test
+    void excludedPersonas_areNeitherStoredNorLookedUp() {
+        AiResponseCache cache = new AiResponseCache(meterRegistry, true, 100, Duration.ofMinutes(10), List.of("consultingAI"));
+
+        cache.put(AiType.CONSULTING_AI, "질문", "답변");
+
+        assertThat(cache.isCacheable(AiType.CONSULTING_AI)).isFalse();
+        assertThat(cache.get(AiType.CONSULTING_AI, "질문")).isEmpty();
+        assertThat(cache.size()).isZero();
+        assertThat(counter("CONSULTING_AI", "bypass")).isEqualTo(1.0);
+    }
+
+    @Test
+    void entries_areBoundedBySizeAndTtl() {
+        AiResponseCache bounded = new AiResponseCache(meterRegistry, true, 1, Duration.ofMinutes(10), List.of());
+        bounded.put(AiType.WAYNE_AI, "첫 질문", "첫 답변");
+        bounded.put(AiType.WAYNE_AI, "둘째 질문", "둘째 답변");
+
+        assertThat(bounded.get(AiType.WAYNE_AI, "첫 질문")).isEmpty();
+        assertThat(bounded.get(AiType.WAYNE_AI, "둘째 질문")).contains("둘째 답변");
+
+        AiResponseCache expiring = new AiResponseCache(meterRegistry, true, 100, Duration.ZERO, List.of());
+        expiring.put(AiType.WAYNE_AI, "질문", "답변");
+
+        assertThat(expiring.get(AiType.WAYNE_AI, "질문")).isEmpty();
+        assertThat(meterRegistry.get("ai.response.cache.evictions").tag("cause", "expired").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void replay_splitsContentIntoLinesWithoutLosingText() {
+        AiResponseCache cache = new AiResponseCache(meterRegistry, true, 100, Duration.ofMinutes(10), List.of());
+
+        StepVerifier.create(cache.replay("예시 코드:\n```java\nSystem.out.println();\n```"))
+                .expectNext("예시 코드:\n", "```java\n", "System.out.println();\n", "```")
+                .verifyComplete();
+    }
+
+    private double counter(String aiType, String result) {
+        return meterRegistry.get("ai.response.cache.requests").tag("aiType", aiType).tag("result", result).counter().count();
+    }
+}
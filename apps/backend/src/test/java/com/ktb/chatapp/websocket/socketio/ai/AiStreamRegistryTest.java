@@ -0,0 +1,132 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import com.corundumstudio.socketio.BroadcastOperations;
+import com.corundumstudio.socketio.SocketIOServer;
+import com.ktb.chatapp.dto.ActiveStreamResponse;
+import com.ktb.chatapp.event.AiMessageErrorEvent;
+import com.ktb.chatapp.websocket.socketio.broadcast.RoomBroadcastBus;
+import com.ktb.chatapp.websocket.socketio.handler.StreamingSession;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import reactor.core.publisher.Sinks;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("AiStreamRegistry 테스트")
+class AiStreamRegistryTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SocketIOServer socketIOServer = mock(SocketIOServer.class);
+    private final RoomBroadcastBus roomBroadcastBus = mock(RoomBroadcastBus.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final AiChunkBroadcaster chunkBroadcaster =
+            new AiChunkBroadcaster(roomBroadcastBus, meterRegistry, Duration.ZERO, 50);
+    private final AiStreamRegistry registry = new AiStreamRegistry(socketIOServer, roomBroadcastBus, meterRegistry);
+
+    @Test
+    @DisplayName("진행 중인 스트림의 현재 내용을 방 입장 응답 형식으로 돌려준다")
+    void activeStreams_reportsCurrentContent() {
+        AiStreamHandler handler = handler("room-1", "user-1");
+        registry.register(handler);
+        handler.onNext(List.of(ChunkData.from("안녕"), ChunkData.from("하세요")));
+
+        List<ActiveStreamResponse> streams = registry.activeStreams("room-1");
+
+        assertThat(streams).singleElement().satisfies(stream -> {
+            assertThat(stream.getId()).isEqualTo("wayneAI-user-1");
+            assertThat(stream.getContent()).isEqualTo("안녕하세요");
+            assertThat(stream.isStreaming()).isTrue();
+        });
+        assertThat(registry.activeStreams("room-2")).isEmpty();
+
+        registry.unregister(handler);
+        assertThat(registry.activeStreams("room-1")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("요청자의 퇴장이나 연결 종료 시 그 사용자의 스트림만 구독을 끊고 오류 이벤트를 보낸다")
+    void cancel_stopsOnlyTheRequestersStreams() {
+        AtomicBoolean upstreamCancelled = new AtomicBoolean();
+        Sinks.Many<List<ChunkData>> upstream = Sinks.many().unicast().onBackpressureBuffer();
+        AiStreamHandler mine = handler("room-1", "user-1");
+        AiStreamHandler others = handler("room-1", "user-2");
+        upstream.asFlux().doOnCancel(() -> upstreamCancelled.set(true)).subscribe(mine);
+        registry.register(mine);
+        registry.register(others);
+
+        registry.cancel("room-1", "user-1", AiStreamRegistry.REASON_LEAVE);
+        // 이미 취소된 스트림의 완료 신호는 무시한다
+        mine.onComplete();
+
+        assertThat(upstreamCancelled).isTrue();
+        assertThat(registry.size()).isEqualTo(1);
+        verify(eventPublisher, times(1)).publishEvent(any(AiMessageErrorEvent.class));
+
+        registry.cancelUser("user-2", AiStreamRegistry.REASON_DISCONNECT);
+
+        assertThat(registry.size()).isZero();
+        assertThat(meterRegistry.get("ai.stream.cancelled").tag("reason", "leave").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("ai.stream.cancelled").tag("reason", "disconnect").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("이 노드의 방에 소켓이 남지 않으면 스트림을 취소하되, 다중 노드 저장소에서는 취소하지 않는다")
+    void cancelIfUnwatched_requiresEmptyLocalRoom() {
+        BroadcastOperations room = mock(BroadcastOperations.class);
+        when(socketIOServer.getRoomOperations("room-1")).thenReturn(room);
+        when(room.getClients()).thenReturn(List.of());
+        registry.register(handler("room-1", "user-1"));
+
+        when(roomBroadcastBus.spansNodes()).thenReturn(true);
+        registry.cancelIfUnwatched("room-1");
+        assertThat(registry.size()).isEqualTo(1);
+
+        when(roomBroadcastBus.spansNodes()).thenReturn(false);
+        registry.cancelIfUnwatched("room-1");
+        assertThat(registry.size()).isZero();
+        assertThat(meterRegistry.get("ai.stream.cancelled").tag("reason", "unwatched").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("대기열에서 취소된 스트림은 구독 즉시 끊고, 취소 뒤 도착한 청크는 보내지 않는다")
+    void cancel_beforeSubscriptionStopsTheStreamWithoutFrames() {
+        AtomicBoolean upstreamCancelled = new AtomicBoolean();
+        Sinks.Many<List<ChunkData>> upstream = Sinks.many().unicast().onBackpressureBuffer();
+        AiStreamHandler queued = handler("room-1", "user-1");
+        registry.register(queued);
+
+        registry.cancel("room-1", "user-1", AiStreamRegistry.REASON_LEAVE);
+        upstream.asFlux().doOnCancel(() -> upstreamCancelled.set(true)).subscribe(queued);
+        queued.onNext(List.of(ChunkData.from("늦은 청크")));
+        queued.reject("대기 시간 초과");
+
+        assertThat(queued.isTerminated()).isTrue();
+        assertThat(upstreamCancelled).isTrue();
+        assertThat(queued.session().getContent()).isEmpty();
+        verify(roomBroadcastBus, never()).broadcast(any(), any(), any(), any());
+        verify(eventPublisher, times(1)).publishEvent(any(AiMessageErrorEvent.class));
+    }
+
+    private AiStreamHandler handler(String roomId, String userId) {
+        StreamingSession session = StreamingSession.builder()
+                .messageId("wayneAI-" + userId)
+                .roomId(roomId)
+                .userId(userId)
+                .aiType("wayneAI")
+                .query("질문")
+                .timestamp(System.currentTimeMillis())
+                .build();
+        return new AiStreamHandler(session, chunkBroadcaster, eventPublisher);
+    }
+}
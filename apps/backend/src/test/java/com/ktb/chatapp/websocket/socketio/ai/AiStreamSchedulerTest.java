@@ -0,0 +1,115 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("AiStreamScheduler 테스트")
+class AiStreamSchedulerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<String> started = Collections.synchronizedList(new ArrayList<>());
+    private final Map<String, Runnable> releases = Collections.synchronizedMap(new HashMap<>());
+    private final Map<String, Integer> positions = Collections.synchronizedMap(new HashMap<>());
+    private AiStreamScheduler scheduler;
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    @DisplayName("방별 상한을 넘는 요청은 대기열에 넣고 순번을 알린다")
+    void submit_queuesBeyondPerRoomLimit() {
+        scheduler = new AiStreamScheduler(meterRegistry, 10, 2, 100, Duration.ofSeconds(30));
+
+        submit("room-1", "a");
+        submit("room-1", "b");
+        submit("room-1", "c");
+        submit("room-1", "d");
+        submit("room-2", "x");
+
+        assertThat(started).containsExactly("a", "b", "x");
+        assertThat(positions).containsEntry("a", 0).containsEntry("c", 1).containsEntry("d", 2).containsEntry("x", 0);
+        assertThat(scheduler.activeStreams()).isEqualTo(3);
+        assertThat(scheduler.queuedStreams()).isEqualTo(2);
+
+        releases.get("a").run();
+        // release는 한 번만 반영된다
+        releases.get("a").run();
+
+        assertThat(started).containsExactly("a", "b", "x", "c");
+        assertThat(scheduler.activeStreams()).isEqualTo(3);
+        assertThat(meterRegistry.get("ai.scheduler.wait").timer().count()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("전체 상한이 찼을 때 빈 슬롯은 방을 번갈아 가며 배분한다")
+    void release_dispatchesRoundRobinAcrossRooms() {
+        scheduler = new AiStreamScheduler(meterRegistry, 1, 10, 100, Duration.ofSeconds(30));
+
+        submit("room-0", "running");
+        submit("room-1", "a1");
+        submit("room-1", "a2");
+        submit("room-1", "a3");
+        submit("room-2", "b1");
+
+        releases.get("running").run();
+        releases.get("a1").run();
+        releases.get("b1").run();
+        releases.get("a2").run();
+
+        assertThat(started).containsExactly("running", "a1", "b1", "a2", "a3");
+        assertThat(scheduler.queuedStreams()).isZero();
+    }
+
+    @Test
+    @DisplayName("대기열이 가득 차거나 max-wait를 넘기면 거절한다")
+    void submit_rejectsWhenQueueFullOrExpired() throws InterruptedException {
+        scheduler = new AiStreamScheduler(meterRegistry, 1, 1, 1, Duration.ofMillis(50));
+        CountDownLatch expired = new CountDownLatch(1);
+        List<String> rejected = Collections.synchronizedList(new ArrayList<>());
+
+        submit("room-1", "running");
+        scheduler.submit("room-1", position -> positions.put("waiting", position),
+                release -> started.add("waiting"), () -> {
+                    rejected.add("waiting");
+                    expired.countDown();
+                });
+        scheduler.submit("room-2", position -> positions.put("overflow", position),
+                release -> started.add("overflow"), () -> rejected.add("overflow"));
+
+        assertThat(rejected).containsExactly("overflow");
+        assertThat(positions).doesNotContainKey("overflow");
+        assertThat(expired.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(rejected).containsExactly("overflow", "waiting");
+        assertThat(scheduler.queuedStreams()).isZero();
+
+        releases.get("running").run();
+        assertThat(started).containsExactly("running");
+        assertThat(meterRegistry.get("ai.scheduler.rejected").tag("reason", "queue_full").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("ai.scheduler.rejected").tag("reason", "timeout").counter().count()).isEqualTo(1.0);
+    }
+
+    private void submit(String roomId, String name) {
+        scheduler.submit(roomId,
+                position -> positions.put(name, position),
+                release -> {
+                    started.add(name);
+                    releases.put(name, release);
+                },
+                () -> {
+                });
+    }
+}
@@ -0,0 +1,69 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import java.time.Duration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.Prompt;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("StubChatModel 테스트")
+class StubChatModelTest {
+
+    private static final Prompt PROMPT = new Prompt("질문");
+
+    @Test
+    @DisplayName("응답을 공백 앞에서 나눈 토큰을 설정한 지연 간격으로 스트리밍한다")
+    void stream_emitsTokensAtConfiguredDelays() {
+        StubChatModel model = new StubChatModel("안녕하세요 반갑습니다\n```java\n```\n", 2,
+                Duration.ofMillis(300), Duration.ofMillis(30), Duration.ZERO, 0, 42);
+
+        StepVerifier.withVirtualTime(() -> text(model.stream(PROMPT)))
+                .expectSubscription()
+                .expectNoEvent(Duration.ofMillis(299))
+                .thenAwait(Duration.ofMillis(1))
+                .expectNext("안녕하세요")
+                .expectNoEvent(Duration.ofMillis(29))
+                .thenAwait(Duration.ofMillis(1))
+                .expectNext(" 반갑습니다")
+                .thenAwait(Duration.ofMillis(30 * 6))
+                .expectNext("\n```java", "\n```", "\n안녕하세요", " 반갑습니다", "\n```java", "\n```")
+                .verifyComplete();
+
+        assertThat(model.tokenCount()).isEqualTo(8);
+        assertThat(model.call(PROMPT).getResult().getOutput().getText())
+                .isEqualTo("안녕하세요 반갑습니다\n```java\n```\n안녕하세요 반갑습니다\n```java\n```");
+    }
+
+    @Test
+    @DisplayName("error-rate에 따라 스트림 중간에 실패하고, 같은 seed에서는 같은 위치에서 실패한다")
+    void stream_failsAtReproduciblePosition() {
+        StubChatModel failing = new StubChatModel("a b c d e f g h", 1,
+                Duration.ZERO, Duration.ZERO, Duration.ZERO, 1.0, 7);
+        StubChatModel sameSeed = new StubChatModel("a b c d e f g h", 1,
+                Duration.ZERO, Duration.ZERO, Duration.ZERO, 1.0, 7);
+
+        Long emitted = text(failing.stream(PROMPT)).onErrorComplete().count().block();
+
+        assertThat(emitted).isLessThan(8L);
+        assertThat(text(sameSeed.stream(PROMPT)).onErrorComplete().count().block()).isEqualTo(emitted);
+        StepVerifier.create(text(failing.stream(PROMPT)))
+                .thenConsumeWhile(token -> true)
+                .expectErrorMatches(error -> error instanceof IllegalStateException
+                        && error.getMessage().startsWith("Stub model failure at token"))
+                .verify();
+
+        StubChatModel reliable = new StubChatModel("a b c d e f g h", 1,
+                Duration.ZERO, Duration.ZERO, Duration.ZERO, 0, 7);
+        StepVerifier.create(text(reliable.stream(PROMPT)))
+                .expectNextCount(8)
+                .verifyComplete();
+    }
+
+    private static Flux<String> text(Flux<ChatResponse> responses) {
+        return responses.map(response -> response.getResult().getOutput().getText());
+    }
+}
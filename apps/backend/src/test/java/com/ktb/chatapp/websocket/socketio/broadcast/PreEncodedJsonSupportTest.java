@@ -0,0 +1,62 @@
+package com.ktb.chatapp.websocket.socketio.broadcast;
+
+import com.corundumstudio.socketio.protocol.JacksonJsonSupport;
+import com.corundumstudio.socketio.protocol.JsonSupport;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.ktb.chatapp.dto.MessageResponse;
+import com.ktb.chatapp.dto.UserResponse;
+import com.ktb.chatapp.model.Message;
+import com.ktb.chatapp.model.MessageType;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.Unpooled;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PreEncodedJsonSupportTest {
+
+    private final PreEncodedJsonSupport jsonSupport = new PreEncodedJsonSupport(new JavaTimeModule());
+
+    @Test
+    void writeValue_writesPreEncodedPayloadExactlyAsJacksonWould() throws Exception {
+        MessageResponse message = MessageResponse.builder()
+                .id("message-1")
+                .roomId("room-1")
+                .content("hello")
+                .type(MessageType.text)
+                .sender(UserResponse.builder().id("user-1").name("tester").build())
+                .reactions(Map.of("👍", Set.of("user-2")))
+                .readers(List.of(Message.MessageReader.builder().userId("user-2").readAt(LocalDateTime.of(2025, 1, 1, 9, 0)).build()))
+                .timestamp(1_700_000_000_000L)
+                .build();
+
+        String expected = write(new JacksonJsonSupport(new JavaTimeModule()), List.of("message", message));
+        String preEncoded = write(jsonSupport, List.of("message", jsonSupport.encode(message)));
+
+        assertThat(preEncoded).isEqualTo(expected);
+    }
+
+    @Test
+    void writeValue_delegatesValuesWithoutPreEncodedPayload() throws Exception {
+        List<Object> packet = List.of("messagesRead", Map.of("userId", "user-1"));
+
+        assertThat(write(jsonSupport, packet))
+                .isEqualTo(write(new JacksonJsonSupport(new JavaTimeModule()), packet));
+    }
+
+    private static String write(JsonSupport support, Object value) throws Exception {
+        ByteBuf buf = Unpooled.buffer();
+        try {
+            support.writeValue(new ByteBufOutputStream(buf), value);
+            return buf.toString(StandardCharsets.UTF_8);
+        } finally {
+            buf.release();
+        }
+    }
+}
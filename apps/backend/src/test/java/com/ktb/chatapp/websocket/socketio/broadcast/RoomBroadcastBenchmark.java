@@ -0,0 +1,113 @@
+package com.ktb.chatapp.websocket.socketio.broadcast;
+
+import com.corundumstudio.socketio.protocol.JacksonJsonSupport;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.ktb.chatapp.dto.MessageResponse;
+import com.ktb.chatapp.dto.UserResponse;
+import com.ktb.chatapp.model.MessageType;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.PooledByteBufAllocator;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * 방 브로드캐스트 JMH 벤치마크 (로컬 수신자 1,000명).
+ * netty-socketio가 수신자 채널마다 수행하는 패킷 인코딩([이벤트명, 페이로드] JSON 쓰기)을 재현해
+ * 수신자마다 Jackson으로 직렬화하는 기존 경로와 한 번 인코딩한 EncodedPayload를 복사하는 경로를 비교한다.
+ *
+ * OperationsPerInvocation이 수신자 수이므로 결과와 gc.alloc.rate.norm은 수신자 1명 기준이다.
+ * 실행 방법 (test-compile 이후):
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.ktb.chatapp.websocket.socketio.broadcast.RoomBroadcastBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RoomBroadcastBenchmark {
+
+    private static final int RECIPIENTS = 1_000;
+    private static final String EVENT = "message";
+
+    private final JacksonJsonSupport jacksonJsonSupport = new JacksonJsonSupport(new JavaTimeModule());
+    private final PreEncodedJsonSupport preEncodedJsonSupport = new PreEncodedJsonSupport(new JavaTimeModule());
+
+    private MessageResponse message;
+    private List<ByteBuf> channelBuffers;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put("clientId", "client-1");
+        message = MessageResponse.builder()
+                .id("6650f1c2a1b2c3d4e5f60789")
+                .roomId("6650f1c2a1b2c3d4e5f60001")
+                .content("벤치마크 메시지 내용입니다. ".repeat(8))
+                .type(MessageType.text)
+                .sender(UserResponse.builder()
+                        .id("6650f1c2a1b2c3d4e5f60002")
+                        .name("tester")
+                        .email("tester@example.com")
+                        .profileImage("")
+                        .build())
+                .timestamp(System.currentTimeMillis())
+                .reactions(new HashMap<>())
+                .readers(new ArrayList<>())
+                .metadata(metadata)
+                .build();
+
+        channelBuffers = new ArrayList<>(RECIPIENTS);
+        for (int i = 0; i < RECIPIENTS; i++) {
+            channelBuffers.add(PooledByteBufAllocator.DEFAULT.directBuffer(1024));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        channelBuffers.forEach(ByteBuf::release);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECIPIENTS)
+    public int serializePerRecipient() throws IOException {
+        int written = 0;
+        for (ByteBuf buf : channelBuffers) {
+            buf.clear();
+            jacksonJsonSupport.writeValue(new ByteBufOutputStream(buf), List.of(EVENT, message));
+            written += buf.readableBytes();
+        }
+        return written;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECIPIENTS)
+    public int encodeOnce() throws IOException {
+        EncodedPayload payload = preEncodedJsonSupport.encode(message);
+        int written = 0;
+        for (ByteBuf buf : channelBuffers) {
+            buf.clear();
+            preEncodedJsonSupport.writeValue(new ByteBufOutputStream(buf), List.of(EVENT, payload));
+            written += buf.readableBytes();
+        }
+        return written;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RoomBroadcastBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,274 @@
+package com.ktb.chatapp.websocket.socketio.broadcast;
+
+import com.corundumstudio.socketio.BroadcastOperations;
+import com.corundumstudio.socketio.Configuration;
+import com.corundumstudio.socketio.SocketIOClient;
+import com.corundumstudio.socketio.SocketIOServer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ktb.chatapp.config.RedisTestContainer;
+import com.ktb.chatapp.websocket.socketio.ai.AiChunkMode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.config.Config;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.testcontainers.containers.GenericContainer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@Slf4j
+@SpringBootTest(classes = RedisTestContainer.class, webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@DisplayName("RoomBroadcastBus 다중 노드 테스트")
+class RoomBroadcastBusTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @Autowired
+    private GenericContainer<?> redisContainer;
+
+    private final List<RedissonClient> clients = new ArrayList<>();
+    private final List<RoomBroadcastBus> buses = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        buses.forEach(RoomBroadcastBus::stop);
+        clients.forEach(RedissonClient::shutdown);
+    }
+
+    @Test
+    @DisplayName("한 노드의 브로드캐스트를 두 노드의 로컬 소켓이 모두 받는다")
+    void broadcast_reachesLocalAndRemoteSockets() {
+        SocketIOClient localSocket = mock(SocketIOClient.class);
+        SocketIOClient remoteSocket = mock(SocketIOClient.class);
+        RoomBroadcastBus nodeA = newBus(serverWith("room-1", localSocket), Duration.ofMillis(5), new SimpleMeterRegistry());
+        newBus(serverWith("room-1", remoteSocket), Duration.ofMillis(5), new SimpleMeterRegistry());
+
+        Map<String, Object> payload = Map.of("content", "hello", "sender", Map.of("_id", "user-1"));
+        nodeA.broadcast("room-1", "message", payload);
+
+        ArgumentCaptor<Object> local = ArgumentCaptor.forClass(Object.class);
+        verify(localSocket).sendEvent(eq("message"), local.capture());
+        ArgumentCaptor<Object> relayed = ArgumentCaptor.forClass(Object.class);
+        verify(remoteSocket, timeout(5000)).sendEvent(eq("message"), relayed.capture());
+
+        // 두 노드 모두 같은 인코딩 결과를 받는다
+        assertThat(json(relayed.getValue())).isEqualTo(json(local.getValue()));
+        assertThat(json(relayed.getValue()).get("content").asText()).isEqualTo("hello");
+        assertThat(json(relayed.getValue()).at("/sender/_id").asText()).isEqualTo("user-1");
+    }
+
+    @Test
+    @DisplayName("같은 방의 작은 이벤트는 하나의 프레임으로 모아 순서대로 전달한다")
+    void broadcast_coalescesSmallEventsOfOneRoomInOrder() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        SocketIOClient remoteSocket = mock(SocketIOClient.class);
+        RoomBroadcastBus nodeA = newBus(serverWith("room-1"), Duration.ofMillis(100), meterRegistry);
+        newBus(serverWith("room-1", remoteSocket), Duration.ofMillis(100), new SimpleMeterRegistry());
+
+        IntStream.range(0, 20).forEach(i -> nodeA.broadcast("room-1", "messagesRead", Map.of("seq", i)));
+
+        ArgumentCaptor<Object> relayed = ArgumentCaptor.forClass(Object.class);
+        verify(remoteSocket, timeout(5000).times(20)).sendEvent(eq("messagesRead"), relayed.capture());
+        assertThat(relayed.getAllValues())
+                .extracting(value -> json(value).get("seq").asInt())
+                .isSorted();
+        assertThat(meterRegistry.get("socketio.broadcast.frames").tag("direction", "published").counter().count())
+                .isLessThan(20.0);
+    }
+
+    @Test
+    @DisplayName("발행을 마친 방의 배치는 제거하고, 다음 이벤트는 새 배치로 순서대로 전달한다")
+    void broadcast_removesIdleBatchesAfterFlush() throws InterruptedException {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        SocketIOClient remoteSocket = mock(SocketIOClient.class);
+        SocketIOServer server = serverWith("room-1");
+        IntStream.range(0, 50).forEach(i -> stubRoom(server, "user:" + i));
+        RoomBroadcastBus nodeA = newBus(server, Duration.ofMillis(5), meterRegistry);
+        newBus(serverWith("room-1", remoteSocket), Duration.ofMillis(5), new SimpleMeterRegistry());
+
+        IntStream.range(0, 50).forEach(i -> nodeA.broadcast("user:" + i, "roomCreated", Map.of("seq", i)));
+        nodeA.broadcast("room-1", "messagesRead", Map.of("seq", 0));
+        verify(remoteSocket, timeout(5000)).sendEvent(eq("messagesRead"), any());
+        awaitGauge(meterRegistry, "socketio.broadcast.batches", 0);
+
+        nodeA.broadcast("room-1", "messagesRead", Map.of("seq", 1));
+        ArgumentCaptor<Object> relayed = ArgumentCaptor.forClass(Object.class);
+        verify(remoteSocket, timeout(5000).times(2)).sendEvent(eq("messagesRead"), relayed.capture());
+        assertThat(relayed.getAllValues()).extracting(value -> json(value).get("seq").asInt()).containsExactly(0, 1);
+        awaitGauge(meterRegistry, "socketio.broadcast.batches", 0);
+    }
+
+    @Test
+    @DisplayName("큰 이벤트는 linger를 기다리지 않고 발행한다")
+    void broadcast_publishesLargeEventsImmediately() {
+        SocketIOClient remoteSocket = mock(SocketIOClient.class);
+        RoomBroadcastBus nodeA = newBus(serverWith("room-1"), Duration.ofSeconds(30), new SimpleMeterRegistry());
+        newBus(serverWith("room-1", remoteSocket), Duration.ofSeconds(30), new SimpleMeterRegistry());
+
+        nodeA.broadcast("room-1", "message", Map.of("content", "x".repeat(2048)));
+
+        verify(remoteSocket, timeout(5000)).sendEvent(eq("message"), any(Object.class));
+    }
+
+    @Test
+    @DisplayName("형식을 지정한 브로드캐스트는 그 형식을 협상한 소켓에만 전달한다")
+    void broadcast_filtersByNegotiatedChunkMode() {
+        SocketIOClient localFull = mock(SocketIOClient.class);
+        SocketIOClient remoteFull = mock(SocketIOClient.class);
+        SocketIOClient remoteDelta = mock(SocketIOClient.class);
+        when(remoteDelta.get(AiChunkMode.CLIENT_KEY)).thenReturn(AiChunkMode.DELTA);
+        RoomBroadcastBus nodeA = newBus(serverWith("room-1", localFull), Duration.ofMillis(5), new SimpleMeterRegistry());
+        newBus(serverWith("room-1", remoteFull, remoteDelta), Duration.ofMillis(5), new SimpleMeterRegistry());
+
+        nodeA.broadcast("room-1", "aiMessageChunk", Map.of("fullContent", "hello"), AiChunkMode.FULL);
+        nodeA.broadcast("room-1", "aiMessageChunk", Map.of("seq", 1, "delta", "hello"), AiChunkMode.DELTA);
+
+        ArgumentCaptor<Object> full = ArgumentCaptor.forClass(Object.class);
+        verify(remoteFull, timeout(5000)).sendEvent(eq("aiMessageChunk"), full.capture());
+        ArgumentCaptor<Object> delta = ArgumentCaptor.forClass(Object.class);
+        verify(remoteDelta, timeout(5000)).sendEvent(eq("aiMessageChunk"), delta.capture());
+        verify(localFull).sendEvent(eq("aiMessageChunk"), any(Object.class));
+
+        assertThat(json(full.getValue()).has("fullContent")).isTrue();
+        assertThat(json(delta.getValue()).get("delta").asText()).isEqualTo("hello");
+        assertThat(json(delta.getValue()).has("fullContent")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Redis 없이도 형식별로 로컬 소켓에 전달한다")
+    void broadcast_filtersByChunkModeWithoutBus() {
+        SocketIOClient fullSocket = mock(SocketIOClient.class);
+        SocketIOClient deltaSocket = mock(SocketIOClient.class);
+        when(deltaSocket.get(AiChunkMode.CLIENT_KEY)).thenReturn(AiChunkMode.DELTA);
+        RoomBroadcastBus bus = new RoomBroadcastBus(serverWith("room-1", fullSocket, deltaSocket),
+                new PreEncodedJsonSupport(), null, new SimpleMeterRegistry(), true, 1, Duration.ZERO, 0, 0);
+
+        bus.broadcast("room-1", "aiMessageChunk", Map.of("seq", 1, "delta", "hi"), AiChunkMode.DELTA);
+
+        assertThat(bus.supportsChunkModes()).isTrue();
+        verify(deltaSocket).sendEvent(eq("aiMessageChunk"), any(Object.class));
+        verify(fullSocket, never()).sendEvent(anyString(), any(Object.class));
+    }
+
+    @Test
+    @DisplayName("다중 노드 중계 처리량")
+    void broadcast_throughputAcrossNodes() throws InterruptedException {
+        int rooms = 100;
+        int eventsPerRoom = 200;
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        CountDownLatch received = new CountDownLatch(rooms * eventsPerRoom);
+        SocketIOClient remoteSocket = countingSocket(received);
+        RoomBroadcastBus nodeA = newBus(serverWithEveryRoom(), Duration.ofMillis(5), meterRegistry);
+        newBus(serverWithEveryRoom(remoteSocket), Duration.ofMillis(5), new SimpleMeterRegistry());
+
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < eventsPerRoom; i++) {
+            for (int room = 0; room < rooms; room++) {
+                nodeA.broadcast("room-" + room, "messagesRead", Map.of("userId", "user-" + i, "messageIds", List.of("m-" + i)));
+            }
+        }
+        assertThat(received.await(30, TimeUnit.SECONDS)).isTrue();
+        double seconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+
+        double frames = meterRegistry.get("socketio.broadcast.frames").tag("direction", "published").counter().count();
+        log.info("Relayed {} events in {} frames across nodes: {} events/s, {} events/frame",
+                rooms * eventsPerRoom, (long) frames,
+                Math.round(rooms * eventsPerRoom / seconds), String.format("%.1f", rooms * eventsPerRoom / frames));
+        assertThat(frames).isLessThan(rooms * eventsPerRoom);
+    }
+
+    private static void awaitGauge(SimpleMeterRegistry meterRegistry, String name, double expected)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get(name).gauge().value() != expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(meterRegistry.get(name).gauge().value()).isEqualTo(expected);
+    }
+
+    private static JsonNode json(Object payload) {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ((EncodedPayload) payload).writeTo(out);
+            return OBJECT_MAPPER.readTree(out.toByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private RoomBroadcastBus newBus(SocketIOServer server, Duration linger, SimpleMeterRegistry meterRegistry) {
+        Config config = new Config();
+        config.useSingleServer()
+                .setAddress("redis://" + redisContainer.getHost() + ":" + redisContainer.getMappedPort(6379));
+        RedissonClient redissonClient = Redisson.create(config);
+        clients.add(redissonClient);
+
+        RoomBroadcastBus bus = new RoomBroadcastBus(server, new PreEncodedJsonSupport(), redissonClient, meterRegistry, true, 4, linger, 1024, 65536);
+        bus.start();
+        buses.add(bus);
+        return bus;
+    }
+
+    private static SocketIOServer serverWith(String roomId, SocketIOClient... sockets) {
+        SocketIOServer server = mock(SocketIOServer.class);
+        stubRoom(server, roomId, sockets);
+        return server;
+    }
+
+    // 처리량 측정용 대역. Mockito 목은 호출마다 스택을 기록하고 스텁을 대조해 측정값을 지배한다
+    private static SocketIOServer serverWithEveryRoom(SocketIOClient... sockets) {
+        List<SocketIOClient> clients = List.of(sockets);
+        BroadcastOperations roomOperations = (BroadcastOperations) Proxy.newProxyInstance(
+                BroadcastOperations.class.getClassLoader(), new Class<?>[] {BroadcastOperations.class},
+                (proxy, method, args) -> "getClients".equals(method.getName()) ? clients : null);
+        return new SocketIOServer(new Configuration()) {
+            @Override
+            public BroadcastOperations getRoomOperations(String... rooms) {
+                return roomOperations;
+            }
+        };
+    }
+
+    private static SocketIOClient countingSocket(CountDownLatch received) {
+        return (SocketIOClient) Proxy.newProxyInstance(
+                SocketIOClient.class.getClassLoader(), new Class<?>[] {SocketIOClient.class},
+                (proxy, method, args) -> {
+                    if ("sendEvent".equals(method.getName())) {
+                        received.countDown();
+                    }
+                    return null;
+                });
+    }
+
+    private static void stubRoom(SocketIOServer server, String roomId, SocketIOClient... sockets) {
+        BroadcastOperations roomOperations = mock(BroadcastOperations.class);
+        when(roomOperations.getClients()).thenReturn(List.of(sockets));
+        when(server.getRoomOperations(roomId)).thenReturn(roomOperations);
+    }
+}
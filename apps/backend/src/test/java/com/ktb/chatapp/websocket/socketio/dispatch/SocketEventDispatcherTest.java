@@ -0,0 +1,223 @@
+package com.ktb.chatapp.websocket.socketio.dispatch;
+
+import com.corundumstudio.socketio.SocketIOClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SocketEventDispatcherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private SocketEventDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void dispatch_runsEventsOfOneClientInArrivalOrderOffTheCallerThread() throws InterruptedException {
+        dispatcher = new SocketEventDispatcher(meterRegistry, true, 16, 100);
+        SocketIOClient client = client();
+        List<Integer> executed = new CopyOnWriteArrayList<>();
+        List<Boolean> virtual = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(100);
+
+        for (int i = 0; i < 100; i++) {
+            int sequence = i;
+            dispatcher.dispatch(client, "chatMessage", () -> {
+                executed.add(sequence);
+                virtual.add(Thread.currentThread().isVirtual());
+                done.countDown();
+            });
+        }
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(executed).isSorted().hasSize(100);
+        assertThat(virtual).containsOnly(true);
+        assertThat(meterRegistry.get("socketio.dispatch.eventloop.time").tag("mode", "virtual").timer().count())
+                .isEqualTo(100);
+    }
+
+    @Test
+    void dispatch_doesNotBlockOtherClientsBehindASlowHandler() throws InterruptedException {
+        dispatcher = new SocketEventDispatcher(meterRegistry, true, 16, 100);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch otherClientDone = new CountDownLatch(1);
+
+        dispatcher.dispatch(client(), "joinRoom", () -> awaitQuietly(release));
+        dispatcher.dispatch(client(), "joinRoom", otherClientDone::countDown);
+
+        assertThat(otherClientDone.await(5, TimeUnit.SECONDS)).isTrue();
+        release.countDown();
+    }
+
+    @Test
+    void dispatchToRoom_serializesEventsOfOneRoomAcrossClients() throws InterruptedException {
+        dispatcher = new SocketEventDispatcher(meterRegistry, true, 16, 1000);
+        List<Integer> executed = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(200);
+        int[] running = new int[1];
+        List<Integer> maxRunning = new CopyOnWriteArrayList<>();
+
+        for (int i = 0; i < 200; i++) {
+            int sequence = i;
+            dispatcher.dispatchToRoom(client(), "messageReaction", () -> "room-1", roomId -> {
+                synchronized (running) {
+                    maxRunning.add(++running[0]);
+                }
+                executed.add(sequence);
+                synchronized (running) {
+                    running[0]--;
+                }
+                done.countDown();
+            });
+        }
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(executed).hasSize(200);
+        assertThat(maxRunning).containsOnly(1);
+    }
+
+    @Test
+    void dispatchToRoom_runsOtherRoomsWhileOneRoomIsBusy() throws InterruptedException {
+        dispatcher = new SocketEventDispatcher(meterRegistry, true, 16, 100);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch otherRoomDone = new CountDownLatch(1);
+        String busyRoom = "room-a";
+        String otherRoom = roomOnOtherLane(busyRoom, 16);
+
+        dispatcher.dispatchToRoom(client(), "chatMessage", () -> busyRoom, roomId -> awaitQuietly(release));
+        dispatcher.dispatchToRoom(client(), "chatMessage", () -> otherRoom, roomId -> otherRoomDone.countDown());
+
+        assertThat(otherRoomDone.await(5, TimeUnit.SECONDS)).isTrue();
+        release.countDown();
+    }
+
+    @Test
+    void dispatchToRoom_holdsLaterEventsOfTheSameClientUntilTheRoomTaskFinishes() throws InterruptedException {
+        dispatcher = new SocketEventDispatcher(meterRegistry, true, 16, 100);
+        SocketIOClient client = client();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        List<String> executed = new CopyOnWriteArrayList<>();
+
+        dispatcher.dispatchToRoom(client, "chatMessage", () -> "room-1", roomId -> {
+            awaitQuietly(release);
+            executed.add("chatMessage");
+        });
+        dispatcher.dispatch(client, "leaveRoom", () -> {
+            executed.add("leaveRoom");
+            done.countDown();
+        });
+
+        assertThat(done.await(200, TimeUnit.MILLISECONDS)).isFalse();
+        release.countDown();
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(executed).containsExactly("chatMessage", "leaveRoom");
+    }
+
+    @Test
+    void dispatchToRoom_rejectsWithErrorEventWhenLaneIsFull() throws InterruptedException {
+        dispatcher = new SocketEventDispatcher(meterRegistry, true, 1, 1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        SocketIOClient rejected = client();
+
+        dispatcher.dispatchToRoom(client(), "chatMessage", () -> "room-1", roomId -> {
+            started.countDown();
+            awaitQuietly(release);
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        dispatcher.dispatchToRoom(rejected, "chatMessage", () -> "room-1", roomId -> { });
+
+        verify(rejected, timeout(5000)).sendEvent(eq("error"), eq(Map.of(
+                "code", "SERVER_BUSY",
+                "message", "요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해주세요.")));
+        assertThat(meterRegistry.get("socketio.dispatch.room_lanes.rejected").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("socketio.dispatch.room_lanes.max_depth").gauge().value()).isEqualTo(1.0);
+        release.countDown();
+    }
+
+    @Test
+    void dispatchFinal_runsAfterQueuedEventsAndReleasesTheLane() throws InterruptedException {
+        dispatcher = new SocketEventDispatcher(meterRegistry, true, 16, 100);
+        SocketIOClient client = client();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        List<String> executed = new CopyOnWriteArrayList<>();
+
+        dispatcher.dispatch(client, "joinRoom", () -> {
+            awaitQuietly(release);
+            executed.add("joinRoom");
+        });
+        dispatcher.dispatchFinal(client, "disconnect", () -> {
+            executed.add("disconnect");
+            done.countDown();
+        });
+        assertThat(meterRegistry.get("socketio.dispatch.lanes").gauge().value()).isEqualTo(1.0);
+        release.countDown();
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(executed).containsExactly("joinRoom", "disconnect");
+        awaitLanesReleased();
+        assertThat(meterRegistry.get("socketio.dispatch.lanes").gauge().value()).isZero();
+    }
+
+    @Test
+    void disabledDispatcher_runsInline() {
+        dispatcher = new SocketEventDispatcher(meterRegistry, false, 16, 100);
+        Thread caller = Thread.currentThread();
+        List<Thread> executedOn = new CopyOnWriteArrayList<>();
+
+        dispatcher.dispatch(client(), "chatMessage", () -> executedOn.add(Thread.currentThread()));
+
+        assertThat(executedOn).containsExactly(caller);
+        assertThat(meterRegistry.get("socketio.dispatch.eventloop.time").tag("mode", "inline").timer().count())
+                .isEqualTo(1);
+    }
+
+    private static SocketIOClient client() {
+        SocketIOClient client = mock(SocketIOClient.class);
+        when(client.getSessionId()).thenReturn(UUID.randomUUID());
+        return client;
+    }
+
+    private static String roomOnOtherLane(String roomId, int stripes) {
+        int lane = Math.floorMod(roomId.hashCode(), stripes);
+        for (int i = 0; ; i++) {
+            String candidate = "room-" + i;
+            if (Math.floorMod(candidate.hashCode(), stripes) != lane) {
+                return candidate;
+            }
+        }
+    }
+
+    private void awaitLanesReleased() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("socketio.dispatch.lanes").gauge().value() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,9 +1,14 @@
 package com.ktb.chatapp.websocket.socketio.handler;
 
+import com.corundumstudio.socketio.BroadcastOperations;
 import com.corundumstudio.socketio.SocketIOClient;
 import com.corundumstudio.socketio.SocketIOServer;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.ktb.chatapp.dto.ChatMessageRequest;
+import com.ktb.chatapp.model.File;
+import com.ktb.chatapp.model.Message;
 import com.ktb.chatapp.model.Room;
+import com.ktb.chatapp.model.Session;
 import com.ktb.chatapp.model.User;
 import com.ktb.chatapp.repository.FileRepository;
 import com.ktb.chatapp.repository.MessageRepository;
@@ -13,11 +18,20 @@ import com.ktb.chatapp.service.RateLimitCheckResult;
 import com.ktb.chatapp.service.RateLimitService;
 import com.ktb.chatapp.service.SessionService;
 import com.ktb.chatapp.service.SessionValidationResult;
+import com.ktb.chatapp.service.MessageWriteBehindQueue;
+import com.ktb.chatapp.service.RecentMessageCache;
+import com.ktb.chatapp.service.UserCache;
+import com.ktb.chatapp.service.session.SessionStore;
 import com.ktb.chatapp.util.BannedWordChecker;
 import com.ktb.chatapp.websocket.socketio.SocketUser;
 import com.ktb.chatapp.websocket.socketio.ai.AiService;
+import com.ktb.chatapp.websocket.socketio.broadcast.PreEncodedJsonSupport;
+import com.ktb.chatapp.websocket.socketio.broadcast.RoomBroadcastBus;
+import com.ktb.chatapp.websocket.socketio.dispatch.SocketEventDispatcher;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
@@ -29,6 +43,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.ERROR;
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.MESSAGE;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -47,22 +62,28 @@ class ChatMessageHandlerTest {
     @Mock private RateLimitService rateLimitService;
     private MeterRegistry meterRegistry = new SimpleMeterRegistry();
 
+    private UserCache userCache;
     private ChatMessageHandler handler;
 
     @BeforeEach
     void setUp() {
+        userCache = new UserCache(userRepository, meterRegistry, 100, Duration.ofMinutes(5));
         handler =
                 new ChatMessageHandler(
-                        socketIOServer,
+                        new RoomBroadcastBus(socketIOServer, new PreEncodedJsonSupport(new JavaTimeModule()), null, meterRegistry, false, 1, Duration.ZERO, 0, 0),
                         messageRepository,
                         roomRepository,
-                        userRepository,
+                        userCache,
                         fileRepository,
                         aiService,
                         sessionService,
                         bannedWordChecker,
                         rateLimitService,
-                        meterRegistry);
+                        meterRegistry,
+                        new RecentMessageCache(meterRegistry, true, 50, 100, "memory", "readers"),
+                        new MessageWriteBehindQueue(
+                                null, meterRegistry, false, 10, 10, Duration.ofMillis(20), 0, "message-dead-letter.jsonl"),
+                        new SocketEventDispatcher(meterRegistry, false, 1, 1));
     }
 
     @Test
@@ -72,11 +93,11 @@ class ChatMessageHandlerTest {
         when(client.get("user")).thenReturn(socketUser);
 
         SessionValidationResult validResult = SessionValidationResult.valid(null);
-        when(sessionService.validateSession(socketUser.id(), socketUser.authSessionId()))
+        when(sessionService.validateSession(eq(socketUser.id()), eq(socketUser.authSessionId()), any()))
                 .thenReturn(validResult);
 
         RateLimitCheckResult allowedResult = RateLimitCheckResult.allowed(10000, 9999, 60, System.currentTimeMillis() / 1000 + 60, 60);
-        when(rateLimitService.checkRateLimit(eq(socketUser.id()), anyInt(), any()))
+        when(rateLimitService.checkRateLimit(eq(socketUser.id()), anyInt(), any(), any()))
                 .thenReturn(allowedResult);
 
         User user = new User();
@@ -106,4 +127,85 @@ class ChatMessageHandlerTest {
         verifyNoInteractions(messageRepository);
         verify(socketIOServer, never()).getRoomOperations(any());
     }
+
+    @Test
+    void handleChatMessage_fetchesEachEntityOncePerEvent() {
+        // 이전에는 세션 조회 2회(검증/활동 갱신), 파일 조회 2회(검증/응답 생성)가 발생했다
+        SessionStore sessionStore = mock(SessionStore.class);
+        ChatMessageHandler lookupHandler =
+                new ChatMessageHandler(
+                        new RoomBroadcastBus(socketIOServer, new PreEncodedJsonSupport(new JavaTimeModule()), null, meterRegistry, false, 1, Duration.ZERO, 0, 0),
+                        messageRepository,
+                        roomRepository,
+                        userCache,
+                        fileRepository,
+                        aiService,
+                        new SessionService(sessionStore),
+                        bannedWordChecker,
+                        rateLimitService,
+                        meterRegistry,
+                        new RecentMessageCache(meterRegistry, true, 50, 100, "memory", "readers"),
+                        new MessageWriteBehindQueue(
+                                null, meterRegistry, false, 10, 10, Duration.ofMillis(20), 0, "message-dead-letter.jsonl"),
+                        new SocketEventDispatcher(meterRegistry, false, 1, 1));
+
+        SocketIOClient client = mock(SocketIOClient.class);
+        SocketUser socketUser = new SocketUser("user-1", "tester", "session-1", "socket-1");
+        when(client.get("user")).thenReturn(socketUser);
+
+        Session session = Session.builder()
+                .userId("user-1")
+                .sessionId("session-1")
+                .lastActivity(Instant.now().toEpochMilli())
+                .expiresAt(Instant.now().plusSeconds(60))
+                .build();
+        when(sessionStore.findByUserId("user-1")).thenReturn(Optional.of(session));
+        when(sessionStore.save(any(Session.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        RateLimitCheckResult allowedResult = RateLimitCheckResult.allowed(10000, 9999, 60, System.currentTimeMillis() / 1000 + 60, 60);
+        when(rateLimitService.checkRateLimit(eq(socketUser.id()), anyInt(), any(), any()))
+                .thenReturn(allowedResult);
+
+        User user = new User();
+        user.setId("user-1");
+        when(userRepository.findById("user-1")).thenReturn(Optional.of(user));
+
+        Room room = new Room();
+        room.setId("room-1");
+        room.setParticipantIds(new HashSet<>(java.util.List.of("user-1")));
+        when(roomRepository.findById("room-1")).thenReturn(Optional.of(room));
+
+        File file = File.builder()
+                .id("file-1")
+                .originalname("report.pdf")
+                .mimetype("application/pdf")
+                .size(1024)
+                .user("user-1")
+                .build();
+        when(fileRepository.findById("file-1")).thenReturn(Optional.of(file));
+        when(messageRepository.save(any(Message.class))).thenAnswer(invocation -> {
+            Message saved = invocation.getArgument(0);
+            saved.setId("message-1");
+            return saved;
+        });
+        BroadcastOperations roomOperations = mock(BroadcastOperations.class);
+        when(socketIOServer.getRoomOperations("room-1")).thenReturn(roomOperations);
+
+        ChatMessageRequest request =
+                ChatMessageRequest.builder()
+                        .room("room-1")
+                        .type("file")
+                        .content("")
+                        .fileData(Map.of("_id", "file-1"))
+                        .build();
+
+        lookupHandler.handleChatMessage(client, request);
+
+        verify(roomOperations).sendEvent(eq(MESSAGE), any(Object.class));
+        verify(sessionStore, times(1)).findByUserId("user-1");
+        verify(userRepository, times(1)).findById("user-1");
+        verify(roomRepository, times(1)).findById("room-1");
+        verify(fileRepository, times(1)).findById("file-1");
+        verify(client, never()).sendEvent(eq(ERROR), any(Object.class));
+    }
 }
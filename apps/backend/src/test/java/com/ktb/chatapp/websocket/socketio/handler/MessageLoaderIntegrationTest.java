@@ -10,8 +10,17 @@ import com.ktb.chatapp.repository.FileRepository;
 import com.ktb.chatapp.repository.MessageRepository;
 import com.ktb.chatapp.repository.UserRepository;
 import com.ktb.chatapp.service.MessageReadStatusService;
+import com.ktb.chatapp.service.MessageWriteBehindQueue;
+import com.ktb.chatapp.service.RecentMessageCache;
+import com.ktb.chatapp.service.UserCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import net.datafaker.Faker;
 import org.junit.jupiter.api.AfterEach;
@@ -27,7 +36,7 @@ import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doReturn;
 
 @SpringBootTest
 @Import(MongoTestContainer.class)
@@ -46,6 +55,9 @@ class MessageLoaderIntegrationTest {
     @Autowired
     private FileRepository fileRepository;
 
+    @Autowired
+    private MessageWriteBehindQueue messageWriteBehindQueue;
+
     @MockitoSpyBean
     private MessageReadStatusService messageReadStatusService;
 
@@ -63,9 +75,11 @@ class MessageLoaderIntegrationTest {
         // MessageLoader 인스턴스 생성
         messageLoader = new MessageLoader(
                 messageRepository,
-                userRepository,
+                new UserCache(userRepository, new SimpleMeterRegistry(), 100, Duration.ofMinutes(5)),
                 new MessageResponseMapper(fileRepository),
-                messageReadStatusService
+                messageReadStatusService,
+                new RecentMessageCache(new SimpleMeterRegistry(), true, 50, 100, "memory", "readers"),
+                messageWriteBehindQueue
         );
 
         // 테스트 사용자 생성 및 저장
@@ -77,7 +91,7 @@ class MessageLoaderIntegrationTest {
         userRepository.save(testUser);
 
         // MessageReadStatusService mock 설정
-        doNothing().when(messageReadStatusService).updateReadStatus(anyList(), anyString());
+        doReturn(0L).when(messageReadStatusService).updateReadStatus(anyList(), anyString());
     }
 
     @AfterEach
@@ -178,14 +192,50 @@ class MessageLoaderIntegrationTest {
         assertThat(response.isHasMore()).isFalse();
     }
 
+    @Test
+    @DisplayName("timestamp가 같은 메시지도 커서로 누락/중복 없이 순차 로드")
+    void loadMessages_withCursor_shouldNotSkipOrDuplicateEqualTimestamps() {
+        // Given: 같은 timestamp를 가진 70개 메시지
+        LocalDateTime sameTime = LocalDateTime.now().minusMinutes(1).truncatedTo(java.time.temporal.ChronoUnit.MILLIS);
+        Set<String> savedIds = IntStream.range(0, 70)
+                .mapToObj(i -> {
+                    Message message = createMessage();
+                    message.setTimestamp(sameTime);
+                    return messageRepository.save(message).getId();
+                })
+                .collect(Collectors.toSet());
+
+        // When: nextCursor를 따라 끝까지 로드
+        List<String> loadedIds = new ArrayList<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        String cursor = null;
+        FetchMessagesResponse response;
+        do {
+            response = messageLoader.loadMessages(new FetchMessagesRequest(roomId, 30, null, cursor), userId);
+            pageSizes.add(response.getMessages().size());
+            response.getMessages().forEach(m -> loadedIds.add(m.getId()));
+            cursor = response.getNextCursor();
+        } while (response.isHasMore());
+
+        // Then
+        assertThat(pageSizes).containsExactly(30, 30, 10);
+        assertThat(loadedIds).doesNotHaveDuplicates();
+        assertThat(new HashSet<>(loadedIds)).isEqualTo(savedIds);
+        assertThat(cursor).isNull();
+    }
+
     private Message createAndSaveMessage() {
+        return messageRepository.save(createMessage());
+    }
+
+    private Message createMessage() {
         Message message = new Message();
         message.setRoomId(roomId);
         message.setSenderId(userId);
         message.setContent(faker.lorem().sentence(10));
         message.setTimestamp(LocalDateTime.now());
         message.setIsDeleted(false);
-        return messageRepository.save(message);
+        return message;
     }
 
     private void verifyMessageOrder(FetchMessagesResponse response) {
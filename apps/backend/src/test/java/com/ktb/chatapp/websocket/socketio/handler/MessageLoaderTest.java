@@ -2,12 +2,19 @@ package com.ktb.chatapp.websocket.socketio.handler;
 
 import com.ktb.chatapp.dto.FetchMessagesRequest;
 import com.ktb.chatapp.dto.FetchMessagesResponse;
+import com.ktb.chatapp.dto.MessageCursor;
+import com.ktb.chatapp.dto.MessageResponse;
+import com.ktb.chatapp.model.File;
 import com.ktb.chatapp.model.Message;
 import com.ktb.chatapp.model.User;
 import com.ktb.chatapp.repository.FileRepository;
 import com.ktb.chatapp.repository.MessageRepository;
 import com.ktb.chatapp.repository.UserRepository;
 import com.ktb.chatapp.service.MessageReadStatusService;
+import com.ktb.chatapp.service.MessageWriteBehindQueue;
+import com.ktb.chatapp.service.RecentMessageCache;
+import com.ktb.chatapp.service.UserCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import net.datafaker.Faker;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.BeforeEach;
@@ -19,12 +26,15 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.*;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
@@ -59,9 +69,12 @@ class MessageLoaderTest {
         
         messageLoader = new MessageLoader(
                 messageRepository,
-                userRepository,
+                new UserCache(userRepository, new SimpleMeterRegistry(), 100, Duration.ofMinutes(5)),
                 new MessageResponseMapper(fileRepository),
-                messageReadStatusService
+                messageReadStatusService,
+                new RecentMessageCache(new SimpleMeterRegistry(), true, 50, 100, "memory", "readers"),
+                new MessageWriteBehindQueue(
+                        null, new SimpleMeterRegistry(), false, 10, 10, Duration.ofMillis(20), 0, "message-dead-letter.jsonl")
         );
         
         var testUser = User.builder()
@@ -81,7 +94,7 @@ class MessageLoaderTest {
         
         lenient().when(userRepository.findAllById(anySet()))
                 .thenReturn(List.of(testUser));
-        lenient().doNothing().when(messageReadStatusService).updateReadStatus(anyList(), anyString());
+        lenient().when(messageReadStatusService.updateReadStatus(anyList(), anyString())).thenReturn(0L);
     }
     
     private Message createMessage(String id, LocalDateTime timestamp) {
@@ -98,15 +111,15 @@ class MessageLoaderTest {
     @Test
     @DisplayName("loadMessages: 내림차순 조회 후 오름차순 재정렬")
     void loadMessages_shouldReturnAscendingOrderAfterReversing() {
-        // Given: testMessages[0~29] (50시간 전 ~ 21시간 전) - 오름차순 상태
-        List<Message> first30Messages = testMessages.subList(0, 30);
+        // Given: testMessages[0~30] (50시간 전 ~ 20시간 전) - limit+1개, 오름차순 상태
+        List<Message> first31Messages = testMessages.subList(0, 31);
         
         // DB는 DESC 정렬로 반환한다고 가정 (최신 것 먼저)
-        // [21시간 전, 22시간 전, ..., 50시간 전]
-        var messagePage = getMessagePage(first30Messages);
+        // [20시간 전, 21시간 전, ..., 50시간 전]
+        var messagePage = getMessageRows(first31Messages);
         
-        when(messageRepository.findByRoomIdAndIsDeletedAndTimestampBefore(
-                eq(roomId), eq(false), any(LocalDateTime.class), any(Pageable.class)))
+        when(messageRepository.findRecentBefore(
+                eq(roomId), any(LocalDateTime.class), any(Limit.class)))
                 .thenReturn(messagePage);
         
         // When: 메시지 로드
@@ -118,16 +131,12 @@ class MessageLoaderTest {
         assertThat(result.isHasMore()).isTrue();
         
         // 시간순 정렬 확인 (오름차순: 오래된 것 → 최신 것)
-        // [50시간 전, 49시간 전, ..., 21시간 전]
+        // 초과분(가장 오래된 50시간 전)은 제외: [49시간 전, ..., 20시간 전]
         verifyAscending(result);
     }
     
-    private static @NotNull Page<Message> getMessagePage(List<Message> first30Messages) {
-        List<Message> messages = new ArrayList<>(first30Messages.reversed());
-        
-        Pageable pageable = PageRequest.of(0, 30, Sort.by("timestamp").descending());
-        Page<Message> messagePage = new PageImpl<>(messages, pageable, 50);
-        return messagePage;
+    private static @NotNull List<Message> getMessageRows(List<Message> ascendingMessages) {
+        return new ArrayList<>(ascendingMessages.reversed());
     }
     
     @Test
@@ -138,10 +147,10 @@ class MessageLoaderTest {
         
         // DB는 DESC 정렬로 반환 (최신 것부터)
         // [1시간 전, 2시간 전, ..., 30시간 전]
-        Page<Message> messagePage = getMessagePage(last30Messages);
+        List<Message> messagePage = getMessageRows(last30Messages);
         
-        when(messageRepository.findByRoomIdAndIsDeletedAndTimestampBefore(
-                eq(roomId), eq(false), any(LocalDateTime.class), any(Pageable.class)))
+        when(messageRepository.findRecentBefore(
+                eq(roomId), any(LocalDateTime.class), any(Limit.class)))
                 .thenReturn(messagePage);
         
         // When: 초기 메시지 로드
@@ -164,11 +173,109 @@ class MessageLoaderTest {
         }
     }
     
+    @Test
+    @DisplayName("loadMessages: 발신자와 파일은 페이지당 한 번씩 일괄 조회")
+    void loadMessages_shouldResolveSendersAndFilesInBulk() {
+        List<Message> page = testMessages.subList(20, 50);
+        page.forEach(message -> message.setFileId("file-" + message.getId()));
+        var files = page.stream()
+                .map(message -> File.builder()
+                        .id(message.getFileId())
+                        .filename(message.getFileId() + ".png")
+                        .originalname("image.png")
+                        .mimetype("image/png")
+                        .size(1024)
+                        .user(userId)
+                        .build())
+                .toList();
+
+        when(messageRepository.findRecentBefore(
+                eq(roomId), any(LocalDateTime.class), any(Limit.class)))
+                .thenReturn(getMessageRows(page));
+        when(fileRepository.findAllById(anySet())).thenReturn(files);
+
+        FetchMessagesRequest req = new FetchMessagesRequest(roomId, 30, null);
+        FetchMessagesResponse result = messageLoader.loadMessages(req, userId);
+
+        assertThat(result.getMessages()).hasSize(30);
+        assertThat(result.getMessages()).allSatisfy(response -> {
+            assertThat(response.getSender()).isNotNull();
+            assertThat(response.getFile()).isNotNull();
+        });
+        verify(userRepository, times(1)).findAllById(anySet());
+        verify(userRepository, never()).findById(anyString());
+        verify(fileRepository, times(1)).findAllById(anySet());
+        verify(fileRepository, never()).findById(anyString());
+    }
+    
+    @Test
+    @DisplayName("loadMessages: nextCursor로 이어서 조회하면 (timestamp, _id) seek 쿼리 사용")
+    void loadMessages_shouldSeekFromNextCursor() {
+        // 최신 31개(limit+1) 반환 → 30개 응답 + 커서는 응답 중 가장 오래된 메시지
+        when(messageRepository.findRecentBefore(
+                eq(roomId), any(LocalDateTime.class), any(Limit.class)))
+                .thenReturn(getMessageRows(testMessages.subList(19, 50)));
+        
+        FetchMessagesResponse first = messageLoader.loadMessages(new FetchMessagesRequest(roomId, 30, null), userId);
+        
+        Message oldestLoaded = testMessages.get(20);
+        assertThat(first.isHasMore()).isTrue();
+        assertThat(first.getNextCursor()).isEqualTo(MessageCursor.from(oldestLoaded).encode());
+        
+        when(messageRepository.findPageBeforeCursor(
+                eq(roomId),
+                eq(oldestLoaded.getTimestamp().truncatedTo(ChronoUnit.MILLIS)),
+                eq(oldestLoaded.getId()),
+                any(Limit.class)))
+                .thenReturn(getMessageRows(testMessages.subList(0, 20)));
+        
+        FetchMessagesResponse second = messageLoader.loadMessages(
+                new FetchMessagesRequest(roomId, 30, null, first.getNextCursor()), userId);
+        
+        assertThat(second.getMessages()).hasSize(20);
+        assertThat(second.isHasMore()).isFalse();
+        assertThat(second.getNextCursor()).isNull();
+        verifyAscending(second);
+    }
+    
+    @Test
+    @DisplayName("loadMessages: 잘못된 커서는 예외")
+    void loadMessages_shouldRejectMalformedCursor() {
+        FetchMessagesRequest req = new FetchMessagesRequest(roomId, 30, null, "not-a-cursor");
+        
+        assertThatThrownBy(() -> messageLoader.loadMessages(req, userId))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(messageRepository);
+    }
+    
+    @Test
+    @DisplayName("loadMessages: 두 번째 첫 페이지 조회는 최근 메시지 버퍼에서 응답")
+    void loadMessages_shouldServeRepeatedFirstPageFromRecentBuffer() {
+        when(messageRepository.findRecentBefore(
+                eq(roomId), any(LocalDateTime.class), any(Limit.class)))
+                .thenReturn(getMessageRows(testMessages.subList(19, 50)));
+        
+        FetchMessagesResponse first = messageLoader.loadMessages(new FetchMessagesRequest(roomId, 30, null), userId);
+        FetchMessagesResponse second = messageLoader.loadMessages(new FetchMessagesRequest(roomId, 30, null), userId);
+        
+        verify(messageRepository, times(1)).findRecentBefore(any(), any(), any());
+        verify(messageReadStatusService, times(2)).updateReadStatus(anyList(), eq(userId));
+        assertThat(second.getMessages())
+                .extracting(MessageResponse::getId)
+                .containsExactlyElementsOf(first.getMessages().stream().map(MessageResponse::getId).toList());
+        assertThat(second.isHasMore()).isTrue();
+        assertThat(second.getNextCursor()).isEqualTo(first.getNextCursor());
+        // 버퍼에는 첫 조회의 읽음 처리가 반영되어 있다
+        assertThat(second.getMessages().getFirst().getReaders())
+                .extracting(Message.MessageReader::getUserId)
+                .containsExactly(userId);
+    }
+    
     @Test
     @DisplayName("loadInitialMessages: 에러 시 빈 응답")
     void loadInitialMessages_shouldReturnEmptyOnError() {
-        when(messageRepository.findByRoomIdAndIsDeletedAndTimestampBefore(
-                any(), anyBoolean(), any(LocalDateTime.class), any(Pageable.class)))
+        when(messageRepository.findRecentBefore(
+                any(), any(LocalDateTime.class), any(Limit.class)))
                 .thenThrow(new RuntimeException("DB error"));
         
         FetchMessagesRequest req = new FetchMessagesRequest(roomId, 30, null);
@@ -0,0 +1,98 @@
+package com.ktb.chatapp.websocket.socketio.handler;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * AI 스트리밍 응답 누적 JMH 벤치마크 (응답당 4,000토큰, 동시 스트림 50개).
+ * 스트림마다 스레드 하나가 응답 하나를 처음부터 끝까지 누적하며,
+ * 기존 문자열 연결(content += chunk)과 StreamingSession의 StringBuilder 누적을 비교한다.
+ *
+ * - concatPerToken: 기존 구현. 토큰마다 지금까지의 내용 전체를 복사한다.
+ * - appendOnly: delta 형식만 받는 방. 완료 시점에만 전체 내용을 만든다.
+ * - appendWithSnapshots: delta 형식 스냅샷 간격(50청크)마다 전체 내용을 만든다.
+ * - appendWithFullContentPerToken: full 형식 클라이언트가 있는 방. 토큰마다 전체 내용을 만든다.
+ *
+ * 결과는 응답 1개 기준이며, GC 프로파일러의 gc.alloc.rate.norm 값이 응답 1개당 할당 바이트다.
+ * 실행 방법 (test-compile 이후):
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.ktb.chatapp.websocket.socketio.handler.StreamingSessionBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(StreamingSessionBenchmark.STREAMS)
+@Fork(1)
+public class StreamingSessionBenchmark {
+
+    static final int STREAMS = 50;
+    private static final int TOKENS = 4_000;
+    private static final int SNAPSHOT_INTERVAL = 50;
+
+    private String[] tokens;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // 모델 토큰과 비슷하게 1~6자 길이의 한글/영문/공백 조각을 섞는다
+        String[] vocabulary = {" 자바", "는", " 객체", "지향", " language", " with", " ", "\n", "```", "입니다.", " JVM", " 위에서"};
+        tokens = new String[TOKENS];
+        for (int i = 0; i < TOKENS; i++) {
+            tokens[i] = vocabulary[(i * 7 + i / 13) % vocabulary.length];
+        }
+    }
+
+    @Benchmark
+    public String concatPerToken() {
+        String content = "";
+        for (String token : tokens) {
+            content += token;
+        }
+        return content;
+    }
+
+    @Benchmark
+    public String appendOnly() {
+        StreamingSession session = StreamingSession.builder().messageId("wayneAI-1").build();
+        for (String token : tokens) {
+            session.appendContent(token);
+        }
+        return session.getContent();
+    }
+
+    @Benchmark
+    public int appendWithSnapshots() {
+        StreamingSession session = StreamingSession.builder().messageId("wayneAI-1").build();
+        int snapshotChars = 0;
+        for (int i = 1; i <= TOKENS; i++) {
+            session.appendContent(tokens[i - 1]);
+            if (i % SNAPSHOT_INTERVAL == 0) {
+                snapshotChars += session.getContent().length();
+            }
+        }
+        return snapshotChars + session.getContent().length();
+    }
+
+    @Benchmark
+    public int appendWithFullContentPerToken() {
+        StreamingSession session = StreamingSession.builder().messageId("wayneAI-1").build();
+        int snapshotChars = 0;
+        for (String token : tokens) {
+            session.appendContent(token);
+            snapshotChars += session.getContent().length();
+        }
+        return snapshotChars;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(StreamingSessionBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
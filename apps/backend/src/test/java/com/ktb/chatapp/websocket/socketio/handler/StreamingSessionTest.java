@@ -0,0 +1,37 @@
+package com.ktb.chatapp.websocket.socketio.handler;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("StreamingSession 테스트")
+class StreamingSessionTest {
+
+    @Test
+    @DisplayName("청크를 순서대로 누적한다")
+    void appendContent_accumulatesChunksInOrder() {
+        StreamingSession session = StreamingSession.builder().messageId("wayneAI-1").build();
+
+        assertThat(session.getContent()).isEmpty();
+
+        session.appendContent("안녕");
+        session.appendContent("하세요");
+
+        assertThat(session.getContent()).isEqualTo("안녕하세요");
+        assertThat(session.contentLength()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("추가가 없으면 같은 스냅샷을 재사용하고, 추가 후에는 새로 만든다")
+    void getContent_reusesSnapshotUntilNextAppend() {
+        StreamingSession session = StreamingSession.builder().messageId("wayneAI-1").build();
+        session.appendContent("a".repeat(StreamingSession.INITIAL_CAPACITY + 1));
+
+        String first = session.getContent();
+        assertThat(session.getContent()).isSameAs(first);
+
+        session.appendContent("b");
+        assertThat(session.getContent()).isNotSameAs(first).endsWith("ab");
+    }
+}